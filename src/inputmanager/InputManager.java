@@ -6,7 +6,12 @@ import interpreter.controller.Controller;
 import interpreter.model.exceptions.TypecheckException;
 import interpreter.model.statements.Statement;
 
+import java.nio.file.Path;
+import java.util.List;
+
 public interface InputManager {
     Controller program(String source, int counter) throws TokenizerException, ParseException, TypecheckException;
+    Controller program(Path file, int counter) throws TokenizerException, ParseException, TypecheckException;
     Controller program(Statement source, int counter)throws TypecheckException;
+    List<ProgramLoadResult> programs(List<String> sources, int firstCounter);
 }
@@ -0,0 +1,7 @@
+package inputmanager;
+
+public enum ParsingMode {
+    PREFIX_RECURSIVE_DESCENT,
+    PRATT,
+    TYPED_PRATT
+}
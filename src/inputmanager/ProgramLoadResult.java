@@ -0,0 +1,9 @@
+package inputmanager;
+
+import interpreter.controller.Controller;
+
+public record ProgramLoadResult(String source, Controller controller, Exception error) {
+    public boolean isSuccessful() {
+        return error == null;
+    }
+}
@@ -1,48 +1,194 @@
 package inputmanager;
 
+import inputmanager.cache.ProgramCache;
 import inputmanager.parser.ParseException;
-import inputmanager.parser.Parser;
+import inputmanager.parser.PrattParser;
 import inputmanager.parser.RecursiveDescentParser;
+import inputmanager.serialization.ProgramReader;
+import inputmanager.tokenizer.FiniteAutomatonTokenizer;
+import inputmanager.tokenizer.StreamingTokenSource;
 import inputmanager.tokenizer.Tokenizer;
 import inputmanager.tokenizer.TokenizerException;
-import inputmanager.tokenizer.TripleStackTokenizer;
 import interpreter.controller.Controller;
 import interpreter.controller.ControllerImplementation;
+import interpreter.controller.ExecutionEngine;
+import interpreter.controller.Scheduling;
+import interpreter.model.exceptions.StatementException;
 import interpreter.model.exceptions.TypecheckException;
 import interpreter.model.programstate.ProgramState;
 import interpreter.model.programstate.ProgramStateImplementation;
 import interpreter.model.statements.Statement;
-import interpreter.model.symboltable.SymbolTableHashMap;
+import interpreter.model.symboltable.PersistentSymbolTable;
+import interpreter.optimizer.Optimizer;
 import interpreter.repository.Repository;
 import interpreter.repository.RepositoryVector;
 
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
 public class StringAndStatementInputManager implements InputManager {
-    static final Tokenizer tokenizer = new TripleStackTokenizer();
-    static final Parser parser = new RecursiveDescentParser();
+    static final Tokenizer tokenizer = new FiniteAutomatonTokenizer();
+    private final ParsingMode mode;
+    private final ProgramCache cache;
+    private final ForkJoinPool pool;
+    private final Optimizer optimizer;
+    private final int quantum;
+    private final Scheduling scheduling;
 
     public StringAndStatementInputManager() {
+        this(ParsingMode.PRATT);
+    }
+
+    public StringAndStatementInputManager(ParsingMode mode) {
+        this(mode, new ProgramCache());
+    }
+
+    public StringAndStatementInputManager(ParsingMode mode, ProgramCache cache) {
+        this(mode, cache, ForkJoinPool.commonPool());
+    }
+
+    public StringAndStatementInputManager(ParsingMode mode, ProgramCache cache, ForkJoinPool pool) {
+        this(mode, cache, pool, new Optimizer());
+    }
+
+    public StringAndStatementInputManager(ParsingMode mode, ProgramCache cache, ForkJoinPool pool, Optimizer optimizer) {
+        this(mode, cache, pool, optimizer, ControllerImplementation.DEFAULT_QUANTUM);
+    }
+
+    /// The controllers this makes run their programs a quantum of steps at a time, see ControllerImplementation
+    public StringAndStatementInputManager(ParsingMode mode, ProgramCache cache, ForkJoinPool pool, Optimizer optimizer, int quantum) {
+        this(mode, cache, pool, optimizer, quantum, Scheduling.LOCKSTEP);
+    }
+
+    public StringAndStatementInputManager(ParsingMode mode, ProgramCache cache, ForkJoinPool pool, Optimizer optimizer, int quantum, Scheduling scheduling) {
+        this.mode = mode;
+        this.cache = cache;
+        this.pool = pool;
+        this.optimizer = optimizer;
+        this.quantum = quantum;
+        this.scheduling = scheduling;
+    }
+
+    public ProgramCache getCache() {
+        return cache;
     }
 
     public Statement parse(String source) throws TokenizerException, ParseException {
-        return parser.program(tokenizer.tokenize(source));
+        return switch (mode) {
+            case PREFIX_RECURSIVE_DESCENT -> new RecursiveDescentParser().program(tokenizer.tokenize(source));
+            case PRATT, TYPED_PRATT -> new PrattParser().program(new StreamingTokenSource(new StringReader(source)));
+        };
+    }
+
+    public Statement parse(Path file) throws TokenizerException, ParseException {
+        try (StreamingTokenSource tokens = StreamingTokenSource.fromMappedFile(file)) {
+            return switch (mode) {
+                case PREFIX_RECURSIVE_DESCENT -> new RecursiveDescentParser().program(tokenizer.tokenize(tokens));
+                case PRATT, TYPED_PRATT -> new PrattParser().program(tokens);
+            };
+        } catch (IOException e) {
+            throw new TokenizerException("Could not read program source -- %s".formatted(e.getMessage()));
+        }
+    }
+
+    private Statement typechecked(String source) throws TokenizerException, ParseException, TypecheckException {
+        if (mode == ParsingMode.TYPED_PRATT)
+            return optimized(new PrattParser().typedProgram(new StreamingTokenSource(new StringReader(source)), new PersistentSymbolTable<>()));
+        Statement program = parse(source);
+        program.typecheck(new PersistentSymbolTable<>());
+        return optimized(program);
+    }
+
+    private Statement typechecked(Path file) throws TokenizerException, ParseException, TypecheckException {
+        if (mode != ParsingMode.TYPED_PRATT) {
+            Statement program = parse(file);
+            program.typecheck(new PersistentSymbolTable<>());
+            return optimized(program);
+        }
+        try (StreamingTokenSource tokens = StreamingTokenSource.fromMappedFile(file)) {
+            return optimized(new PrattParser().typedProgram(tokens, new PersistentSymbolTable<>()));
+        } catch (IOException e) {
+            throw new TokenizerException("Could not read program source -- %s".formatted(e.getMessage()));
+        }
+    }
+
+    private Statement optimized(Statement program) throws TypecheckException {
+        return optimizer.optimize(program).program();
+    }
+
+    public Statement load(Path compiledFile) throws IOException {
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(compiledFile))) {
+            return ProgramReader.read(input);
+        }
+    }
+
+    private Statement cached(String source) throws TokenizerException, ParseException, TypecheckException {
+        String key = ProgramCache.key(source);
+        Statement program = cache.get(key);
+        if (program == null) {
+            program = typechecked(source);
+            cache.put(key, program);
+        }
+        return program;
     }
 
     @Override
     public Controller program(String source, int counter) throws TokenizerException, ParseException, TypecheckException {
-        Statement program;
-        program = parse(source);
-        program.typecheck(new SymbolTableHashMap<>());
-        ProgramState programState = new ProgramStateImplementation(program);
-        Repository repository = new RepositoryVector("logs/log%d.txt".formatted(counter));
-        return new ControllerImplementation(programState, repository);
+        return controller(cached(source), counter);
+    }
+
+    public Controller program(String source, int counter, ExecutionEngine engine) throws TokenizerException, ParseException, TypecheckException, StatementException {
+        return controller(engine.load(cached(source)), counter);
+    }
+
+    @Override
+    public Controller program(Path file, int counter) throws TokenizerException, ParseException, TypecheckException {
+        return controller(typechecked(file), counter);
     }
 
     @Override
     public Controller program(Statement source, int counter) throws TypecheckException {
-        source.typecheck(new SymbolTableHashMap<>());
-        ProgramState programState = new ProgramStateImplementation(source);
+        source.typecheck(new PersistentSymbolTable<>());
+        return controller(optimized(source), counter);
+    }
+
+    public Controller program(Statement source, int counter, ExecutionEngine engine) throws TypecheckException, StatementException {
+        source.typecheck(new PersistentSymbolTable<>());
+        return controller(engine.load(optimized(source)), counter);
+    }
+
+    @Override
+    public List<ProgramLoadResult> programs(List<String> sources, int firstCounter) {
+        List<ForkJoinTask<ProgramLoadResult>> tasks = new ArrayList<>(sources.size());
+        for (int index = 0; index < sources.size(); index++) {
+            String source = sources.get(index);
+            int counter = firstCounter + index;
+            tasks.add(pool.submit(() -> {
+                try {
+                    return new ProgramLoadResult(source, program(source, counter), null);
+                } catch (TokenizerException | ParseException | TypecheckException | RuntimeException e) {
+                    /// Unchecked failures, such as an integer literal out of range, fail only their own program
+                    return new ProgramLoadResult(source, null, e);
+                }
+            }));
+        }
+        return tasks.stream().map(ForkJoinTask::join).toList();
+    }
+
+    private Controller controller(Statement program, int counter) {
+        return controller(new ProgramStateImplementation(program), counter);
+    }
+
+    private Controller controller(ProgramState programState, int counter) {
         Repository repository = new RepositoryVector("logs/log%d.txt".formatted(counter));
-        return new ControllerImplementation(programState, repository);
+        return new ControllerImplementation(programState, repository, quantum, scheduling);
     }
 }
-
@@ -0,0 +1,42 @@
+package inputmanager.cache;
+
+import inputmanager.serialization.ProgramReader;
+import inputmanager.serialization.ProgramWriter;
+import interpreter.model.statements.Statement;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+public class DiskProgramStore implements ProgramStore {
+    private static final String EXTENSION = ".ast";
+    private final Path directory;
+
+    public DiskProgramStore(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    @Override
+    public Statement load(String key) throws IOException {
+        Path file = directory.resolve(key + EXTENSION);
+        if (!Files.exists(file))
+            return null;
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(file))) {
+            return ProgramReader.read(input);
+        }
+    }
+
+    @Override
+    public void store(String key, Statement program) throws IOException {
+        Path temporary = Files.createTempFile(directory, key, ".tmp");
+        try {
+            try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(temporary))) {
+                ProgramWriter.write(program, output);
+            }
+            Files.move(temporary, directory.resolve(key + EXTENSION), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+}
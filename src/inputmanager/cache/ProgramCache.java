@@ -0,0 +1,118 @@
+package inputmanager.cache;
+
+import interpreter.model.statements.Statement;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class ProgramCache {
+    public static final int DEFAULT_CAPACITY = 64;
+    private final Map<String, Statement> entries;
+    private final ProgramStore store;
+    private long hits = 0, storeHits = 0, misses = 0, evictions = 0, storeFailures = 0;
+
+    public ProgramCache() {
+        this(DEFAULT_CAPACITY, null);
+    }
+
+    public ProgramCache(int capacity) {
+        this(capacity, null);
+    }
+
+    public ProgramCache(int capacity, ProgramStore store) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Cache capacity must be positive -- " + capacity);
+        this.store = store;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Statement> eldest) {
+                if (size() <= capacity)
+                    return false;
+                ++evictions;
+                return true;
+            }
+        };
+    }
+
+    public static String key(String source) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(source.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available -- " + e.getMessage());
+        }
+    }
+
+    public synchronized Statement get(String key) {
+        Statement program = entries.get(key);
+        if (program != null) {
+            ++hits;
+            return program;
+        }
+        if (store != null) {
+            try {
+                program = store.load(key);
+            } catch (IOException e) {
+                /// An unreadable store entry is treated like a missing one; the caller rebuilds and overwrites it
+                program = null;
+            }
+            if (program != null) {
+                ++storeHits;
+                entries.put(key, program);
+                return program;
+            }
+        }
+        ++misses;
+        return null;
+    }
+
+    public synchronized void put(String key, Statement program) {
+        entries.put(key, program);
+        if (store == null)
+            return;
+        try {
+            store.store(key, program);
+        } catch (IOException e) {
+            /// The program stays cached in memory; only later runs miss it in the store
+            ++storeFailures;
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getStoreHits() {
+        return storeHits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized long getStoreFailures() {
+        return storeFailures;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "hits=%d store_hits=%d misses=%d evictions=%d store_failures=%d size=%d".formatted(hits, storeHits, misses, evictions, storeFailures, entries.size());
+    }
+}
@@ -0,0 +1,11 @@
+package inputmanager.cache;
+
+import interpreter.model.statements.Statement;
+
+import java.io.IOException;
+
+public interface ProgramStore {
+    Statement load(String key) throws IOException;
+
+    void store(String key, Statement program) throws IOException;
+}
@@ -1,8 +1,9 @@
 package inputmanager.parser;
 
-import inputmanager.tokenstack.TokenStack;
+import inputmanager.tokenizer.TokenizerException;
+import inputmanager.tokenstack.TokenSource;
 import interpreter.model.statements.Statement;
 
 public interface Parser {
-    Statement program(TokenStack tokens) throws ParseException;
+    Statement program(TokenSource tokens) throws ParseException, TokenizerException;
 }
@@ -0,0 +1,324 @@
+package inputmanager.parser;
+
+import inputmanager.tokenizer.Token;
+import inputmanager.tokenizer.TokenType;
+import inputmanager.tokenizer.TokenizerException;
+import inputmanager.tokenstack.TokenSource;
+import interpreter.model.exceptions.TypecheckException;
+import interpreter.model.expressions.*;
+import interpreter.model.operands.Operand;
+import interpreter.model.statements.*;
+import interpreter.model.statements.filestatements.CloseFileStatement;
+import interpreter.model.statements.filestatements.OpenReadFileStatement;
+import interpreter.model.statements.filestatements.ReadFileStatement;
+import interpreter.model.statements.memorystatements.HeapAllocationStatement;
+import interpreter.model.statements.memorystatements.HeapWriteStatement;
+import interpreter.model.symboltable.SymbolTable;
+import interpreter.model.type.*;
+import interpreter.model.values.BoolValue;
+import interpreter.model.values.IntValue;
+import interpreter.model.values.StringValue;
+import interpreter.model.values.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+public class PrattParser implements Parser {
+    TokenSource tokens;
+    Token lookahead;
+    SymbolTable<String, Type> environment;
+
+    private interface Scoped {
+        Statement parse() throws ParseException, TokenizerException, TypecheckException;
+    }
+
+    private void next() throws TokenizerException {
+        this.lookahead = tokens.isEmpty() ? null : tokens.pop();
+    }
+
+    private boolean at(TokenType type) {
+        return this.lookahead != null && this.lookahead.type() == type;
+    }
+
+    private void expect(TokenType type) throws ParseException, TokenizerException {
+        if (!at(type))
+            throw new ParseException("Expected %s -- found %s".formatted(type, describeLookahead()));
+        next();
+    }
+
+    private String describeLookahead() {
+        return this.lookahead == null ? "end of program" : this.lookahead.sequence() + " " + this.lookahead.type();
+    }
+
+    public Statement program(TokenSource tokens) throws ParseException, TokenizerException {
+        try {
+            return typedProgram(tokens, null);
+        } catch (TypecheckException e) {
+            /// Unreachable: nothing is typechecked without an environment
+            throw new ParseException(e.getMessage());
+        }
+    }
+
+    public Statement typedProgram(TokenSource tokens, SymbolTable<String, Type> environment) throws ParseException, TokenizerException, TypecheckException {
+        this.tokens = tokens;
+        this.environment = environment;
+        next();
+        Statement program = sequence();
+        if (this.lookahead != null)
+            throw new ParseException("Unexpected token after the end of the program -- " + describeLookahead());
+        return program;
+    }
+
+    private Statement typed(Statement statement) throws TypecheckException {
+        if (this.environment != null)
+            this.environment = statement.typecheck(this.environment);
+        return statement;
+    }
+
+    /// Operands are typed before the node built from them, so only the node itself is checked
+    private Expression typed(Expression expression) throws TypecheckException {
+        if (this.environment != null)
+            expression.typecheckNode(this.environment);
+        return expression;
+    }
+
+    private Statement scoped(Scoped body) throws ParseException, TokenizerException, TypecheckException {
+        SymbolTable<String, Type> enclosing = this.environment;
+        if (enclosing != null)
+            this.environment = enclosing.deepCopy();
+        try {
+            return body.parse();
+        } finally {
+            this.environment = enclosing;
+        }
+    }
+
+    private Statement sequence() throws ParseException, TokenizerException, TypecheckException {
+        Statement first = statement();
+        if (!at(TokenType.KEYWORD_COMPOUND))
+            return first;
+        List<Statement> statements = new ArrayList<>();
+        statements.add(first);
+        while (at(TokenType.KEYWORD_COMPOUND)) {
+            next();
+            statements.add(at(TokenType.CLOSED_PARENTHESIS) ? new NoOperationStatement() : statement());
+        }
+        return new SequenceStatement(statements);
+    }
+
+    private Statement statement() throws ParseException, TokenizerException, TypecheckException {
+        if (this.lookahead == null)
+            return new NoOperationStatement();
+        switch (this.lookahead.type()) {
+            case OPEN_PARENTHESIS -> {
+                next();
+                Statement inner = sequence();
+                expect(TokenType.CLOSED_PARENTHESIS);
+                return inner;
+            }
+            case EMPTY_STATEMENT -> {
+                next();
+                return new NoOperationStatement();
+            }
+            case TYPE_BOOL, TYPE_INT, TYPE_STR, TYPE_REF -> {
+                return typed(new VariableDeclarationStatement(type(), identifier()));
+            }
+            case IDENTIFIER -> {
+                String id = identifier();
+                expect(TokenType.ASSIGNMENT_OP);
+                return typed(new AssignStatement(id, deferredExpression()));
+            }
+            case KEYWORD_PRINT -> {
+                next();
+                return typed(new PrintStatement(parenthesizedExpression()));
+            }
+            case KEYWORD_WHILE -> {
+                next();
+                Expression condition = parenthesizedExpression();
+                if (this.environment != null)
+                    WhileStatement.typecheckCondition(condition, this.environment);
+                return new WhileStatement(condition, scoped(this::statement));
+            }
+            case KEYWORD_FORK -> {
+                next();
+                return new ForkStatement(scoped(this::statement));
+            }
+            case KEYWORD_IF -> {
+                next();
+                Expression condition = parenthesizedExpression();
+                if (this.environment != null)
+                    IfStatement.typecheckCondition(condition, this.environment);
+                return ifStatement(condition);
+            }
+            case KEYWORD_HEAP_ALLOC -> {
+                next();
+                expect(TokenType.OPEN_PARENTHESIS);
+                String id = identifier();
+                expect(TokenType.COMMA);
+                Expression expression = deferredExpression();
+                expect(TokenType.CLOSED_PARENTHESIS);
+                return typed(new HeapAllocationStatement(id, expression));
+            }
+            case KEYWORD_HEAP_WRITE -> {
+                next();
+                expect(TokenType.OPEN_PARENTHESIS);
+                String id = identifier();
+                expect(TokenType.COMMA);
+                Expression expression = deferredExpression();
+                expect(TokenType.CLOSED_PARENTHESIS);
+                return typed(new HeapWriteStatement(id, expression));
+            }
+            case KEYWORD_OPEN_FILE -> {
+                next();
+                return typed(new OpenReadFileStatement(parenthesizedExpression()));
+            }
+            case KEYWORD_READ_FILE -> {
+                next();
+                expect(TokenType.OPEN_PARENTHESIS);
+                Expression file = expression();
+                expect(TokenType.COMMA);
+                String id = identifier();
+                expect(TokenType.CLOSED_PARENTHESIS);
+                return typed(new ReadFileStatement(file, id));
+            }
+            case KEYWORD_CLOSE_FILE -> {
+                next();
+                return typed(new CloseFileStatement(parenthesizedExpression()));
+            }
+            default -> throw new ParseException("Invalid token for Statement -- " + describeLookahead());
+        }
+    }
+
+    private Statement ifStatement(Expression condition) throws ParseException, TokenizerException, TypecheckException {
+        Statement positive;
+        if (at(TokenType.OPEN_PARENTHESIS)) {
+            next();
+            positive = scoped(this::sequence);
+            if (at(TokenType.KEYWORD_BRANCH)) {
+                next();
+                Statement negative = scoped(this::statement);
+                expect(TokenType.CLOSED_PARENTHESIS);
+                return new IfStatement(condition, positive, negative);
+            }
+            expect(TokenType.CLOSED_PARENTHESIS);
+        } else positive = scoped(this::statement);
+        if (at(TokenType.KEYWORD_BRANCH)) {
+            next();
+            return new IfStatement(condition, positive, scoped(this::statement));
+        }
+        return new IfStatement(condition, positive, new NoOperationStatement());
+    }
+
+    private String identifier() throws ParseException, TokenizerException {
+        if (!at(TokenType.IDENTIFIER))
+            throw new ParseException("Expected an identifier -- found " + describeLookahead());
+        String id = this.lookahead.sequence();
+        next();
+        return id;
+    }
+
+    private Expression parenthesizedExpression() throws ParseException, TokenizerException, TypecheckException {
+        expect(TokenType.OPEN_PARENTHESIS);
+        Expression expression = expression();
+        expect(TokenType.CLOSED_PARENTHESIS);
+        return expression;
+    }
+
+    /// Statements that check their target variable before their expression type the expression themselves, so the
+    /// first reported error is the same as with a separate typecheck
+    private Expression deferredExpression() throws ParseException, TokenizerException, TypecheckException {
+        SymbolTable<String, Type> enclosing = this.environment;
+        this.environment = null;
+        try {
+            return expression();
+        } finally {
+            this.environment = enclosing;
+        }
+    }
+
+    private Expression expression() throws ParseException, TokenizerException, TypecheckException {
+        return expression(TokenType.CONDITIONAL_OP.precedence());
+    }
+
+    private Expression expression(int minimumPrecedence) throws ParseException, TokenizerException, TypecheckException {
+        Expression left = operand();
+        while (this.lookahead != null && this.lookahead.type().precedence() >= minimumPrecedence) {
+            Token operator = this.lookahead;
+            next();
+            Expression right = expression(operator.type().precedence());
+            left = typed(switch (operator.type()) {
+                case EXP_OP, MUL_DIV_OP, ADD_SUB_OP -> new ArithmeticExpression(operand(operator), left, right);
+                case RELATIONAL_OP -> new RelationalExpression(operand(operator), left, right);
+                case LOGICAL_OP, CONDITIONAL_OP -> new LogicExpression(operand(operator), left, right);
+                default -> throw new ParseException("Invalid operator inside an expression -- " + operator.sequence());
+            });
+        }
+        return left;
+    }
+
+    private Expression operand() throws ParseException, TokenizerException, TypecheckException {
+        if (this.lookahead == null)
+            throw new ParseException("Invalid token for Expression -- end of program");
+        switch (this.lookahead.type()) {
+            case OPEN_PARENTHESIS -> {
+                return parenthesizedExpression();
+            }
+            case KEYWORD_HEAP_READ -> {
+                next();
+                return typed(new HeapReadExpression(operand()));
+            }
+            case CONST_BOOLEAN, CONST_INTEGER, CONST_STRING -> {
+                return typed(new ValueExpression(value()));
+            }
+            case IDENTIFIER -> {
+                return typed(new VariableExpression(identifier()));
+            }
+            default -> throw new ParseException("Invalid token for Expression -- " + this.lookahead.sequence());
+        }
+    }
+
+    private Type type() throws ParseException, TokenizerException {
+        Token previousToken = this.lookahead;
+        next();
+        return switch (previousToken.type()) {
+            case TYPE_INT -> IntType.get();
+            case TYPE_BOOL -> BoolType.get();
+            case TYPE_STR -> StringType.get();
+            case TYPE_REF -> ReferenceType.get(type());
+            default -> throw new ParseException("Invalid type -- " + previousToken.type() + " " + previousToken.sequence());
+        };
+    }
+
+    private Value value() throws ParseException, TokenizerException {
+        Token previousToken = this.lookahead;
+        next();
+        return switch (previousToken.type()) {
+            case CONST_BOOLEAN -> BoolValue.of(Objects.equals(previousToken.sequence(), "true"));
+            case CONST_INTEGER -> IntValue.of(Integer.parseInt(previousToken.sequence()));
+            case CONST_STRING -> new StringValue(previousToken.sequence());
+            default -> throw new ParseException("Invalid constant");
+        };
+    }
+
+    private static Operand operand(Token operator) throws ParseException {
+        return switch (operator.sequence()) {
+            case "+" -> Operand.ADD;
+            case "-" -> Operand.SUB;
+            case "*" -> Operand.MUL;
+            case "/" -> Operand.DIV;
+            case "^" -> Operand.EXP;
+            case "&" -> Operand.AND;
+            case "|" -> Operand.OR;
+            case "&&" -> Operand.CONDITIONAL_AND;
+            case "||" -> Operand.CONDITIONAL_OR;
+            case "==" -> Operand.EQUAL;
+            case "!=" -> Operand.NOT_EQUAL;
+            case "<" -> Operand.LOWER;
+            case ">" -> Operand.GREATER;
+            case "<=" -> Operand.LOWER_OR_EQUAL;
+            case ">=" -> Operand.GREATER_OR_EQUAL;
+            default -> throw new ParseException("Invalid operand -- %s".formatted(operator.sequence()));
+        };
+    }
+}
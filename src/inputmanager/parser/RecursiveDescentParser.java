@@ -2,7 +2,8 @@ package inputmanager.parser;
 
 import inputmanager.tokenizer.Token;
 import inputmanager.tokenizer.TokenType;
-import inputmanager.tokenstack.TokenStack;
+import inputmanager.tokenizer.TokenizerException;
+import inputmanager.tokenstack.TokenSource;
 import interpreter.model.expressions.*;
 import interpreter.model.operands.Operand;
 import interpreter.model.statements.*;
@@ -17,34 +18,38 @@ import interpreter.model.values.IntValue;
 import interpreter.model.values.StringValue;
 import interpreter.model.values.Value;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 public class RecursiveDescentParser implements Parser {
-    TokenStack tokens;
+    TokenSource tokens;
     Token lookahead;
 
-    private void next() {
+    private void next() throws TokenizerException {
         if (tokens.isEmpty())
             this.lookahead = null;
         else this.lookahead = tokens.pop();
     }
 
-    public Statement program(TokenStack tokens) throws ParseException {
+    public Statement program(TokenSource tokens) throws ParseException, TokenizerException {
         this.tokens = tokens;
         this.lookahead = this.tokens.pop();
         return statement();
     }
 
-    private Statement statement() throws ParseException {
+    private Statement statement() throws ParseException, TokenizerException {
         if (this.lookahead == null)
             return new NoOperationStatement();
         switch (this.lookahead.type()) {
             case KEYWORD_COMPOUND -> {
-                next();
-                return new CompoundStatement(
-                        statement(),
-                        statement()
-                );
+                List<Statement> statements = new ArrayList<>();
+                while (this.lookahead != null && this.lookahead.type() == TokenType.KEYWORD_COMPOUND) {
+                    next();
+                    statements.add(statement());
+                }
+                statements.add(statement());
+                return new SequenceStatement(statements);
             }
             case KEYWORD_HEAP_ALLOC -> {
                 next();
@@ -104,13 +109,13 @@ public class RecursiveDescentParser implements Parser {
         }
     }
 
-    private String identifier() {
+    private String identifier() throws TokenizerException {
         String id = this.lookahead.sequence();
         next();
         return id;
     }
 
-    private Expression expression() throws ParseException {
+    private Expression expression() throws ParseException, TokenizerException {
         switch (this.lookahead.type()) {
             case EXP_OP, MUL_DIV_OP, ADD_SUB_OP -> {
                 return new ArithmeticExpression(arithmeticOperand(), expression(), expression());
@@ -119,7 +124,7 @@ public class RecursiveDescentParser implements Parser {
                 next();
                 return new HeapReadExpression(expression());
             }
-            case LOGICAL_OP -> {
+            case LOGICAL_OP, CONDITIONAL_OP -> {
                 return new LogicExpression(logicalOperand(), expression(), expression());
             }
             case RELATIONAL_OP -> {
@@ -135,7 +140,7 @@ public class RecursiveDescentParser implements Parser {
         }
     }
 
-    private Type type() throws ParseException {
+    private Type type() throws ParseException, TokenizerException {
         Token prev = this.lookahead;
         next();
         return switch (prev.type()) {
@@ -147,18 +152,18 @@ public class RecursiveDescentParser implements Parser {
         };
     }
 
-    private Value value() throws ParseException {
+    private Value value() throws ParseException, TokenizerException {
         Token previousToken = this.lookahead;
         next();
         return switch (previousToken.type()) {
-            case CONST_BOOLEAN -> new BoolValue(Objects.equals(previousToken.sequence(), "true"));
-            case CONST_INTEGER -> new IntValue(Integer.parseInt(previousToken.sequence()));
+            case CONST_BOOLEAN -> BoolValue.of(Objects.equals(previousToken.sequence(), "true"));
+            case CONST_INTEGER -> IntValue.of(Integer.parseInt(previousToken.sequence()));
             case CONST_STRING -> new StringValue(previousToken.sequence());
             default -> throw new ParseException("Invalid constant");
         };
     }
 
-    private Operand relationalOperand() throws ParseException {
+    private Operand relationalOperand() throws ParseException, TokenizerException {
         Token previousToken = this.lookahead;
         next();
         return switch (previousToken.sequence()) {
@@ -172,7 +177,7 @@ public class RecursiveDescentParser implements Parser {
         };
     }
 
-    private Operand arithmeticOperand() throws ParseException {
+    private Operand arithmeticOperand() throws ParseException, TokenizerException {
         Token previousToken = this.lookahead;
         next();
         return switch (previousToken.sequence()) {
@@ -186,12 +191,14 @@ public class RecursiveDescentParser implements Parser {
         };
     }
 
-    private Operand logicalOperand() throws ParseException {
+    private Operand logicalOperand() throws ParseException, TokenizerException {
         Token previousToken = this.lookahead;
         next();
         return switch (previousToken.sequence()) {
             case "&" -> Operand.AND;
             case "|" -> Operand.OR;
+            case "&&" -> Operand.CONDITIONAL_AND;
+            case "||" -> Operand.CONDITIONAL_OR;
             default -> throw new ParseException("Invalid operand for logexp");
         };
     }
@@ -0,0 +1,42 @@
+package inputmanager.serialization;
+
+final class ProgramFormat {
+    static final int MAGIC = 0x53504C42;
+    /// 2 added the operands CONDITIONAL_AND and CONDITIONAL_OR
+    static final short VERSION = 2;
+
+    static final byte STATEMENT_NO_OPERATION = 0x00,
+            STATEMENT_SEQUENCE = 0x01,
+            STATEMENT_COMPOUND = 0x02,
+            STATEMENT_DECLARATION = 0x03,
+            STATEMENT_ASSIGN = 0x04,
+            STATEMENT_PRINT = 0x05,
+            STATEMENT_IF = 0x06,
+            STATEMENT_WHILE = 0x07,
+            STATEMENT_FORK = 0x08,
+            STATEMENT_HEAP_ALLOCATION = 0x09,
+            STATEMENT_HEAP_WRITE = 0x0A,
+            STATEMENT_OPEN_FILE = 0x0B,
+            STATEMENT_READ_FILE = 0x0C,
+            STATEMENT_CLOSE_FILE = 0x0D;
+
+    static final byte EXPRESSION_VALUE = 0x20,
+            EXPRESSION_VARIABLE = 0x21,
+            EXPRESSION_ARITHMETIC = 0x22,
+            EXPRESSION_RELATIONAL = 0x23,
+            EXPRESSION_LOGIC = 0x24,
+            EXPRESSION_HEAP_READ = 0x25;
+
+    static final byte VALUE_INT = 0x40,
+            VALUE_BOOL = 0x41,
+            VALUE_STRING = 0x42,
+            VALUE_REFERENCE = 0x43;
+
+    static final byte TYPE_INT = 0x60,
+            TYPE_BOOL = 0x61,
+            TYPE_STRING = 0x62,
+            TYPE_REFERENCE = 0x63;
+
+    private ProgramFormat() {
+    }
+}
@@ -0,0 +1,9 @@
+package inputmanager.serialization;
+
+import java.io.IOException;
+
+public class ProgramFormatException extends IOException {
+    public ProgramFormatException(String message) {
+        super(message);
+    }
+}
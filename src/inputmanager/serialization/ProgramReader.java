@@ -0,0 +1,199 @@
+package inputmanager.serialization;
+
+import interpreter.model.exceptions.TypecheckException;
+import interpreter.model.expressions.*;
+import interpreter.model.operands.Operand;
+import interpreter.model.statements.*;
+import interpreter.model.statements.filestatements.CloseFileStatement;
+import interpreter.model.statements.filestatements.OpenReadFileStatement;
+import interpreter.model.statements.filestatements.ReadFileStatement;
+import interpreter.model.statements.memorystatements.HeapAllocationStatement;
+import interpreter.model.statements.memorystatements.HeapWriteStatement;
+import interpreter.model.symboltable.PersistentSymbolTable;
+import interpreter.model.type.*;
+import interpreter.model.values.*;
+import interpreter.optimizer.Optimization;
+import interpreter.optimizer.Optimizer;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static inputmanager.serialization.ProgramFormat.*;
+
+public class ProgramReader {
+    private static final Operand[] operands = Operand.values();
+    private final DataInputStream input;
+    private final List<String> strings = new ArrayList<>();
+
+    private ProgramReader(InputStream input) {
+        this.input = new DataInputStream(input);
+    }
+
+    /// The format keeps neither static types nor fused statements, so the tree read back is typechecked and fused again,
+    /// to run like the one that was written
+    public static Statement read(InputStream input) throws IOException {
+        ProgramReader reader = new ProgramReader(input);
+        try {
+            if (reader.input.readInt() != MAGIC)
+                throw new ProgramFormatException("Not a compiled program");
+            short version = reader.input.readShort();
+            if (version != VERSION)
+                throw new ProgramFormatException("Unsupported compiled program version -- %d (expected %d)".formatted(version, VERSION));
+            return typechecked(reader.statement());
+        } catch (EOFException e) {
+            throw new ProgramFormatException("Truncated compiled program");
+        }
+    }
+
+    private static Statement typechecked(Statement program) throws ProgramFormatException {
+        try {
+            program.typecheck(new PersistentSymbolTable<>());
+            return new Optimizer(EnumSet.of(Optimization.STATEMENT_FUSION)).optimize(program).program();
+        } catch (TypecheckException e) {
+            throw new ProgramFormatException("Compiled program does not typecheck -- " + e.getMessage());
+        }
+    }
+
+    public static Statement fromBytes(byte[] bytes) throws IOException {
+        return read(new ByteArrayInputStream(bytes));
+    }
+
+    private Statement statement() throws IOException {
+        byte tag = input.readByte();
+        return switch (tag) {
+            case STATEMENT_NO_OPERATION -> new NoOperationStatement();
+            case STATEMENT_SEQUENCE -> {
+                int count = length();
+                List<Statement> statements = new ArrayList<>(count);
+                for (int index = 0; index < count; index++)
+                    statements.add(statement());
+                yield new SequenceStatement(statements);
+            }
+            case STATEMENT_COMPOUND -> {
+                Statement first = statement();
+                yield new CompoundStatement(first, statement());
+            }
+            case STATEMENT_DECLARATION -> {
+                Type type = type();
+                yield new VariableDeclarationStatement(type, string());
+            }
+            case STATEMENT_ASSIGN -> {
+                String identifier = string();
+                yield new AssignStatement(identifier, expression());
+            }
+            case STATEMENT_PRINT -> new PrintStatement(expression());
+            case STATEMENT_IF -> {
+                Expression condition = expression();
+                Statement positive = statement();
+                yield new IfStatement(condition, positive, statement());
+            }
+            case STATEMENT_WHILE -> {
+                Expression condition = expression();
+                yield new WhileStatement(condition, statement());
+            }
+            case STATEMENT_FORK -> new ForkStatement(statement());
+            case STATEMENT_HEAP_ALLOCATION -> {
+                String identifier = string();
+                yield new HeapAllocationStatement(identifier, expression());
+            }
+            case STATEMENT_HEAP_WRITE -> {
+                String identifier = string();
+                yield new HeapWriteStatement(identifier, expression());
+            }
+            case STATEMENT_OPEN_FILE -> new OpenReadFileStatement(expression());
+            case STATEMENT_READ_FILE -> {
+                Expression file = expression();
+                yield new ReadFileStatement(file, string());
+            }
+            case STATEMENT_CLOSE_FILE -> new CloseFileStatement(expression());
+            default -> throw new ProgramFormatException("Unknown statement tag -- " + tag);
+        };
+    }
+
+    private Expression expression() throws IOException {
+        byte tag = input.readByte();
+        return switch (tag) {
+            case EXPRESSION_VALUE -> new ValueExpression(value());
+            case EXPRESSION_VARIABLE -> new VariableExpression(string());
+            case EXPRESSION_ARITHMETIC -> {
+                Operand operand = operand();
+                Expression first = expression();
+                yield new ArithmeticExpression(operand, first, expression());
+            }
+            case EXPRESSION_RELATIONAL -> {
+                Operand operand = operand();
+                Expression first = expression();
+                yield new RelationalExpression(operand, first, expression());
+            }
+            case EXPRESSION_LOGIC -> {
+                Operand operand = operand();
+                Expression first = expression();
+                yield new LogicExpression(operand, first, expression());
+            }
+            case EXPRESSION_HEAP_READ -> new HeapReadExpression(expression());
+            default -> throw new ProgramFormatException("Unknown expression tag -- " + tag);
+        };
+    }
+
+    private Value value() throws IOException {
+        byte tag = input.readByte();
+        return switch (tag) {
+            case VALUE_INT -> {
+                int encoded = length();
+                yield IntValue.of((encoded >>> 1) ^ -(encoded & 1));
+            }
+            case VALUE_BOOL -> BoolValue.of(input.readBoolean());
+            case VALUE_STRING -> new StringValue(string());
+            case VALUE_REFERENCE -> {
+                int address = length();
+                yield new ReferenceValue(address, type());
+            }
+            default -> throw new ProgramFormatException("Unknown value tag -- " + tag);
+        };
+    }
+
+    private Type type() throws IOException {
+        byte tag = input.readByte();
+        return switch (tag) {
+            case TYPE_INT -> IntType.get();
+            case TYPE_BOOL -> BoolType.get();
+            case TYPE_STRING -> StringType.get();
+            case TYPE_REFERENCE -> ReferenceType.get(type());
+            default -> throw new ProgramFormatException("Unknown type tag -- " + tag);
+        };
+    }
+
+    private Operand operand() throws IOException {
+        int ordinal = input.readUnsignedByte();
+        if (ordinal >= operands.length)
+            throw new ProgramFormatException("Unknown operand -- " + ordinal);
+        return operands[ordinal];
+    }
+
+    private String string() throws IOException {
+        int index = length();
+        if (index < strings.size())
+            return strings.get(index);
+        if (index != strings.size())
+            throw new ProgramFormatException("Invalid string reference -- " + index);
+        byte[] encoded = new byte[length()];
+        input.readFully(encoded);
+        String string = new String(encoded, StandardCharsets.UTF_8);
+        strings.add(string);
+        return string;
+    }
+
+    private int length() throws IOException {
+        int length = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int current = input.readUnsignedByte();
+            length |= (current & 0x7F) << shift;
+            if ((current & 0x80) == 0)
+                return length;
+        }
+        throw new ProgramFormatException("Malformed length");
+    }
+}
@@ -0,0 +1,207 @@
+package inputmanager.serialization;
+
+import interpreter.model.expressions.*;
+import interpreter.model.expressions.closures.ClosureExpression;
+import interpreter.model.statements.*;
+import interpreter.model.statements.filestatements.CloseFileStatement;
+import interpreter.model.statements.filestatements.OpenReadFileStatement;
+import interpreter.model.statements.filestatements.ReadFileStatement;
+import interpreter.model.statements.memorystatements.HeapAllocationStatement;
+import interpreter.model.statements.memorystatements.HeapWriteStatement;
+import interpreter.model.type.*;
+import interpreter.model.values.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static inputmanager.serialization.ProgramFormat.*;
+
+public class ProgramWriter {
+    private final DataOutputStream output;
+    private final Map<String, Integer> strings = new HashMap<>();
+
+    private ProgramWriter(OutputStream output) {
+        this.output = new DataOutputStream(output);
+    }
+
+    public static void write(Statement program, OutputStream output) throws IOException {
+        ProgramWriter writer = new ProgramWriter(output);
+        writer.output.writeInt(MAGIC);
+        writer.output.writeShort(VERSION);
+        writer.statement(program);
+        writer.output.flush();
+    }
+
+    public static byte[] toBytes(Statement program) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        write(program, bytes);
+        return bytes.toByteArray();
+    }
+
+    private void statement(Statement statement) throws IOException {
+        switch (statement) {
+            case NoOperationStatement ignored -> output.writeByte(STATEMENT_NO_OPERATION);
+            case SequenceStatement sequence -> {
+                List<Statement> statements = sequence.getStatements();
+                output.writeByte(STATEMENT_SEQUENCE);
+                length(statements.size());
+                for (Statement child : statements)
+                    statement(child);
+            }
+            case CompoundStatement compound -> {
+                output.writeByte(STATEMENT_COMPOUND);
+                statement(compound.getFirstStatement());
+                statement(compound.getSecondStatement());
+            }
+            case VariableDeclarationStatement declaration -> {
+                output.writeByte(STATEMENT_DECLARATION);
+                type(declaration.getType());
+                string(declaration.getIdentifier());
+            }
+            case AssignStatement assignment -> {
+                output.writeByte(STATEMENT_ASSIGN);
+                string(assignment.getVariableIdentifier());
+                expression(assignment.getExpressionAssignedToVar());
+            }
+            case PrintStatement print -> {
+                output.writeByte(STATEMENT_PRINT);
+                expression(print.getExpressionToPrint());
+            }
+            case IfStatement conditional -> {
+                output.writeByte(STATEMENT_IF);
+                expression(conditional.getCondition());
+                statement(conditional.getBranchPositive());
+                statement(conditional.getBranchNegative());
+            }
+            case WhileStatement loop -> {
+                output.writeByte(STATEMENT_WHILE);
+                expression(loop.getCondition());
+                statement(loop.getBody());
+            }
+            case ForkStatement fork -> {
+                output.writeByte(STATEMENT_FORK);
+                statement(fork.getTargetStatement());
+            }
+            case HeapAllocationStatement allocation -> {
+                output.writeByte(STATEMENT_HEAP_ALLOCATION);
+                string(allocation.getIdentifier());
+                expression(allocation.getExpression());
+            }
+            case HeapWriteStatement heapWrite -> {
+                output.writeByte(STATEMENT_HEAP_WRITE);
+                string(heapWrite.getIdentifier());
+                expression(heapWrite.getValueExpr());
+            }
+            case OpenReadFileStatement open -> {
+                output.writeByte(STATEMENT_OPEN_FILE);
+                expression(open.getFilenameExpression());
+            }
+            case ReadFileStatement read -> {
+                output.writeByte(STATEMENT_READ_FILE);
+                expression(read.getFilenameExpression());
+                string(read.getIdentifier());
+            }
+            case CloseFileStatement close -> {
+                output.writeByte(STATEMENT_CLOSE_FILE);
+                expression(close.getFilenameExpression());
+            }
+            default -> throw new ProgramFormatException("Cannot serialize statement -- " + statement.getClass().getSimpleName());
+        }
+    }
+
+    private void expression(Expression expression) throws IOException {
+        switch (expression) {
+            case ClosureExpression compiled -> expression(compiled.getOriginal());
+            case ValueExpression constant -> {
+                output.writeByte(EXPRESSION_VALUE);
+                value(constant.getValue());
+            }
+            case VariableExpression variable -> {
+                output.writeByte(EXPRESSION_VARIABLE);
+                string(variable.getIdentifier());
+            }
+            case ArithmeticExpression arithmetic -> {
+                output.writeByte(EXPRESSION_ARITHMETIC);
+                output.writeByte(arithmetic.getOperand().ordinal());
+                expression(arithmetic.getFirstExpression());
+                expression(arithmetic.getSecondExpression());
+            }
+            case RelationalExpression relational -> {
+                output.writeByte(EXPRESSION_RELATIONAL);
+                output.writeByte(relational.getOperand().ordinal());
+                expression(relational.getFirstExpression());
+                expression(relational.getSecondExpression());
+            }
+            case LogicExpression logic -> {
+                output.writeByte(EXPRESSION_LOGIC);
+                output.writeByte(logic.getOperand().ordinal());
+                expression(logic.getFirstExpression());
+                expression(logic.getSecondExpression());
+            }
+            case HeapReadExpression heapRead -> {
+                output.writeByte(EXPRESSION_HEAP_READ);
+                expression(heapRead.getOffsetSpecificationExpression());
+            }
+            default -> throw new ProgramFormatException("Cannot serialize expression -- " + expression.getClass().getSimpleName());
+        }
+    }
+
+    private void value(Value value) throws IOException {
+        switch (value) {
+            case IntValue integer -> {
+                output.writeByte(VALUE_INT);
+                length((integer.getValue() << 1) ^ (integer.getValue() >> 31));
+            }
+            case BoolValue bool -> {
+                output.writeByte(VALUE_BOOL);
+                output.writeBoolean(bool.getValue());
+            }
+            case StringValue string -> {
+                output.writeByte(VALUE_STRING);
+                string(string.getValue());
+            }
+            case ReferenceValue reference -> {
+                output.writeByte(VALUE_REFERENCE);
+                length(reference.getAddress());
+                type(reference.getLocationType());
+            }
+            default -> throw new ProgramFormatException("Cannot serialize value -- " + value.getClass().getSimpleName());
+        }
+    }
+
+    private void type(Type type) throws IOException {
+        switch (type) {
+            case IntType ignored -> output.writeByte(TYPE_INT);
+            case BoolType ignored -> output.writeByte(TYPE_BOOL);
+            case StringType ignored -> output.writeByte(TYPE_STRING);
+            case ReferenceType reference -> {
+                output.writeByte(TYPE_REFERENCE);
+                type(reference.getInner());
+            }
+        }
+    }
+
+    private void string(String string) throws IOException {
+        Integer index = strings.get(string);
+        if (index != null) {
+            length(index);
+            return;
+        }
+        length(strings.size());
+        strings.put(string, strings.size());
+        byte[] encoded = string.getBytes(StandardCharsets.UTF_8);
+        length(encoded.length);
+        output.write(encoded);
+    }
+
+    private void length(int length) throws IOException {
+        while ((length & ~0x7F) != 0) {
+            output.writeByte((length & 0x7F) | 0x80);
+            length >>>= 7;
+        }
+        output.writeByte(length);
+    }
+}
@@ -0,0 +1,52 @@
+package inputmanager.tokenizer;
+
+import inputmanager.tokenstack.TokenStack;
+
+public class FiniteAutomatonTokenizer extends TripleStackTokenizer {
+
+    public FiniteAutomatonTokenizer() {
+    }
+
+    private static int skipWhitespace(String source, int position) {
+        while (position < source.length() && TransitionTable.isWhitespace(source.charAt(position)))
+            ++position;
+        return position;
+    }
+
+    @Override
+    protected TokenStack createTokenSequence(String source) throws TokenizerException {
+        TokenStack tokenStack = new TokenStack();
+        int position = skipWhitespace(source, 0);
+        if (position == source.length()) {
+            tokenStack.push(new Token(TokenType.EMPTY_STATEMENT, ""));
+            return tokenStack;
+        }
+        while (position < source.length()) {
+            int state = TransitionTable.START, cursor = position, end = position;
+            TokenType accepted = null;
+            while (cursor < source.length()) {
+                state = TransitionTable.next(state, source.charAt(cursor));
+                if (state == TransitionTable.REJECT)
+                    break;
+                ++cursor;
+                TokenType candidate = TransitionTable.accepted(state);
+                if (candidate != null) {
+                    accepted = candidate;
+                    end = cursor;
+                }
+            }
+            if (accepted == null) {
+                throw new TokenizerException("Unknown symbol in string : " + source.substring(position).strip());
+            }
+            String lexeme = source.substring(position, end);
+            TokenType token = TransitionTable.resolve(accepted, lexeme);
+            if (tokenizationConditionForEmptyStatement(tokenStack, token))
+                tokenStack.push(new Token(TokenType.EMPTY_STATEMENT, "NOTHING HERE"));
+            tokenStack.push(new Token(token, lexeme));
+            position = skipWhitespace(source, end);
+        }
+        if (tokenStack.top().type() == TokenType.KEYWORD_COMPOUND)
+            tokenStack.push(new Token(TokenType.EMPTY_STATEMENT, "NOTHING HERE"));
+        return tokenStack;
+    }
+}
@@ -0,0 +1,168 @@
+package inputmanager.tokenizer;
+
+import inputmanager.tokenstack.TokenSource;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class StreamingTokenSource implements TokenSource, Closeable {
+    private static final int BUFFER_SIZE = 8192;
+    private static final String INSERTED_EMPTY_STATEMENT = "NOTHING HERE";
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position = 0, limit = 0;
+    private boolean endOfInput = false;
+    private final StringBuilder lexeme = new StringBuilder();
+
+    private Token lookahead = null;
+    private Token deferred = null;
+    private TokenType previous = null;
+    private boolean exhausted = false;
+
+    public StreamingTokenSource(Reader reader) {
+        this.reader = reader;
+    }
+
+    public static StreamingTokenSource fromMappedFile(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new StreamingTokenSource(new MappedFileReader(mapping));
+        }
+    }
+
+    @Override
+    public boolean isEmpty() throws TokenizerException {
+        return top() == null;
+    }
+
+    @Override
+    public Token top() throws TokenizerException {
+        if (lookahead == null && !exhausted) {
+            lookahead = produce();
+            exhausted = lookahead == null;
+        }
+        return lookahead;
+    }
+
+    @Override
+    public Token pop() throws TokenizerException {
+        Token token = top();
+        lookahead = null;
+        return token;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private Token produce() throws TokenizerException {
+        Token token;
+        if (deferred != null) {
+            token = deferred;
+            deferred = null;
+        } else {
+            token = scan();
+            if (token == null) {
+                if (previous == null)
+                    token = new Token(TokenType.EMPTY_STATEMENT, "");
+                else if (previous == TokenType.KEYWORD_COMPOUND)
+                    token = new Token(TokenType.EMPTY_STATEMENT, INSERTED_EMPTY_STATEMENT);
+                else return null;
+            } else if ((previous == TokenType.OPEN_PARENTHESIS && token.type() == TokenType.CLOSED_PARENTHESIS)
+                       || (previous == TokenType.KEYWORD_COMPOUND && token.type() == TokenType.KEYWORD_COMPOUND)) {
+                deferred = token;
+                token = new Token(TokenType.EMPTY_STATEMENT, INSERTED_EMPTY_STATEMENT);
+            }
+        }
+        previous = token.type();
+        return token;
+    }
+
+    private int peekCharacter() throws TokenizerException {
+        if (position == limit) {
+            if (endOfInput)
+                return -1;
+            try {
+                int read;
+                do {
+                    read = reader.read(buffer, 0, buffer.length);
+                } while (read == 0);
+                if (read < 0) {
+                    endOfInput = true;
+                    return -1;
+                }
+                position = 0;
+                limit = read;
+            } catch (IOException e) {
+                throw new TokenizerException("Could not read program source -- " + e.getMessage());
+            }
+        }
+        return buffer[position];
+    }
+
+    private Token scan() throws TokenizerException {
+        int current;
+        while ((current = peekCharacter()) != -1 && TransitionTable.isWhitespace((char) current))
+            ++position;
+        if (current == -1)
+            return null;
+        lexeme.setLength(0);
+        int state = TransitionTable.START, acceptedLength = 0;
+        TokenType accepted = null;
+        while ((current = peekCharacter()) != -1) {
+            state = TransitionTable.next(state, (char) current);
+            if (state == TransitionTable.REJECT)
+                break;
+            lexeme.append((char) current);
+            ++position;
+            TokenType candidate = TransitionTable.accepted(state);
+            if (candidate != null) {
+                accepted = candidate;
+                acceptedLength = lexeme.length();
+            }
+        }
+        /// The table never moves from an accepting state to a non-accepting one, so a rejected lexeme never needs to be
+        /// pushed back into the stream
+        if (accepted == null || acceptedLength != lexeme.length()) {
+            throw new TokenizerException("Unknown symbol in string : " + lexeme);
+        }
+        String sequence = lexeme.toString();
+        return new Token(TransitionTable.resolve(accepted, sequence), sequence);
+    }
+
+    private static class MappedFileReader extends Reader {
+        private final ByteBuffer source;
+        private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder();
+
+        MappedFileReader(ByteBuffer source) {
+            this.source = source;
+        }
+
+        @Override
+        public int read(char[] destination, int offset, int length) throws IOException {
+            if (!source.hasRemaining())
+                return -1;
+            CharBuffer target = CharBuffer.wrap(destination, offset, length);
+            CoderResult result = decoder.decode(source, target, true);
+            if (result.isError())
+                result.throwException();
+            return target.position() - offset;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
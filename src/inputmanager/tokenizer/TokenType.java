@@ -21,6 +21,7 @@ public enum TokenType {
     ADD_SUB_OP,
     ASSIGNMENT_OP,
     RELATIONAL_OP,
+    CONDITIONAL_OP,
     LOGICAL_OP,
     OPEN_PARENTHESIS,
     CLOSED_PARENTHESIS,
@@ -55,6 +56,7 @@ public enum TokenType {
             case ADD_SUB_OP -> "plus_or_minus";
             case RELATIONAL_OP -> "relational_operand";
             case LOGICAL_OP -> "logical_operand";
+            case CONDITIONAL_OP -> "conditional_operand";
             case ASSIGNMENT_OP -> "assign_operand";
             case OPEN_PARENTHESIS -> "(";
             case CLOSED_PARENTHESIS -> ")";
@@ -90,6 +92,7 @@ public enum TokenType {
             case ADD_SUB_OP -> "^((\\+)|(-))";
             case RELATIONAL_OP -> "^((==)|(!=)|(<=)|(<)|(>=)|(>))";
             case LOGICAL_OP -> "^(\\&|\\|)";
+            case CONDITIONAL_OP -> "^((\\&\\&)|(\\|\\|))";
             case ASSIGNMENT_OP -> "^(<-)";
             case OPEN_PARENTHESIS -> "^(\\()";
             case CLOSED_PARENTHESIS -> "^(\\))";
@@ -103,13 +106,14 @@ public enum TokenType {
         };
     }
 
-    private int precedence() {
+    public int precedence() {
         return switch (this) {
-            case EXP_OP -> 5;
-            case MUL_DIV_OP -> 4;
-            case ADD_SUB_OP -> 3;
-            case RELATIONAL_OP -> 2;
-            case LOGICAL_OP -> 1;
+            case EXP_OP -> 6;
+            case MUL_DIV_OP -> 5;
+            case ADD_SUB_OP -> 4;
+            case RELATIONAL_OP -> 3;
+            case LOGICAL_OP -> 2;
+            case CONDITIONAL_OP -> 1;
             case ASSIGNMENT_OP -> 0;
             default -> -1;
         };
@@ -1,7 +1,10 @@
 package inputmanager.tokenizer;
 
+import inputmanager.tokenstack.TokenSource;
 import inputmanager.tokenstack.TokenStack;
 
 public interface Tokenizer {
     TokenStack tokenize(String source) throws TokenizerException;
+
+    TokenStack tokenize(TokenSource infixTokens) throws TokenizerException;
 }
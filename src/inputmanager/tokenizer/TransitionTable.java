@@ -0,0 +1,195 @@
+package inputmanager.tokenizer;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+final class TransitionTable {
+    static final int START = 0;
+    static final int REJECT = -1;
+
+    private static final int LETTER = 0,
+            ZERO = 1,
+            NONZERO_DIGIT = 2,
+            MINUS = 3,
+            PLUS = 4,
+            STAR = 5,
+            SLASH = 6,
+            CARET = 7,
+            LESS = 8,
+            GREATER = 9,
+            EQUALS = 10,
+            BANG = 11,
+            AMPERSAND = 12,
+            PIPE = 13,
+            OPEN = 14,
+            CLOSED = 15,
+            SEMICOLON = 16,
+            COMMA = 17,
+            QUOTE = 18,
+            AT = 19,
+            WHITESPACE = 20,
+            OTHER = 21,
+            CLASS_COUNT = 22;
+
+    private static final int IN_WORD = 1,
+            IN_ZERO = 2,
+            IN_NUMBER = 3,
+            IN_MINUS = 4,
+            IN_PLUS = 5,
+            IN_MUL_DIV = 6,
+            IN_CARET = 7,
+            IN_LESS = 8,
+            IN_GREATER = 9,
+            IN_EQUALS = 10,
+            IN_BANG = 11,
+            IN_RELATIONAL = 12,
+            IN_ASSIGNMENT = 13,
+            IN_AMPERSAND = 14,
+            IN_OPEN = 15,
+            IN_CLOSED = 16,
+            IN_COMPOUND = 17,
+            IN_COMMA = 18,
+            IN_STRING = 19,
+            IN_STRING_END = 20,
+            IN_AT = 21,
+            IN_PIPE = 22,
+            IN_CONDITIONAL = 23,
+            STATE_COUNT = 24;
+
+    private static final byte[] asciiClasses = new byte[128];
+    private static final int[][] transitions = new int[STATE_COUNT][CLASS_COUNT];
+    private static final TokenType[] accepted = new TokenType[STATE_COUNT];
+    private static final Map<String, TokenType> keywords = new HashMap<>();
+
+    static {
+        Arrays.fill(asciiClasses, (byte) OTHER);
+        for (char c = 'a'; c <= 'z'; c++) asciiClasses[c] = LETTER;
+        for (char c = 'A'; c <= 'Z'; c++) asciiClasses[c] = LETTER;
+        asciiClasses['_'] = LETTER;
+        asciiClasses['0'] = ZERO;
+        for (char c = '1'; c <= '9'; c++) asciiClasses[c] = NONZERO_DIGIT;
+        asciiClasses['-'] = MINUS;
+        asciiClasses['+'] = PLUS;
+        asciiClasses['*'] = STAR;
+        asciiClasses['/'] = SLASH;
+        asciiClasses['^'] = CARET;
+        asciiClasses['<'] = LESS;
+        asciiClasses['>'] = GREATER;
+        asciiClasses['='] = EQUALS;
+        asciiClasses['!'] = BANG;
+        asciiClasses['&'] = AMPERSAND;
+        asciiClasses['|'] = PIPE;
+        asciiClasses['('] = OPEN;
+        asciiClasses[')'] = CLOSED;
+        asciiClasses[';'] = SEMICOLON;
+        asciiClasses[','] = COMMA;
+        asciiClasses['"'] = QUOTE;
+        asciiClasses['@'] = AT;
+        for (char c = 0; c < 128; c++)
+            if (Character.isWhitespace(c)) asciiClasses[c] = WHITESPACE;
+
+        for (int[] row : transitions) Arrays.fill(row, REJECT);
+        int[] start = transitions[START];
+        start[LETTER] = IN_WORD;
+        start[ZERO] = IN_ZERO;
+        start[NONZERO_DIGIT] = IN_NUMBER;
+        start[MINUS] = IN_MINUS;
+        start[PLUS] = IN_PLUS;
+        start[STAR] = IN_MUL_DIV;
+        start[SLASH] = IN_MUL_DIV;
+        start[CARET] = IN_CARET;
+        start[LESS] = IN_LESS;
+        start[GREATER] = IN_GREATER;
+        start[EQUALS] = IN_EQUALS;
+        start[BANG] = IN_BANG;
+        start[AMPERSAND] = IN_AMPERSAND;
+        start[PIPE] = IN_PIPE;
+        start[OPEN] = IN_OPEN;
+        start[CLOSED] = IN_CLOSED;
+        start[SEMICOLON] = IN_COMPOUND;
+        start[COMMA] = IN_COMMA;
+        start[QUOTE] = IN_STRING;
+        start[AT] = IN_AT;
+        transitions[IN_WORD][LETTER] = IN_WORD;
+        transitions[IN_WORD][ZERO] = IN_WORD;
+        transitions[IN_WORD][NONZERO_DIGIT] = IN_WORD;
+        transitions[IN_NUMBER][ZERO] = IN_NUMBER;
+        transitions[IN_NUMBER][NONZERO_DIGIT] = IN_NUMBER;
+        transitions[IN_MINUS][ZERO] = IN_ZERO;
+        transitions[IN_MINUS][NONZERO_DIGIT] = IN_NUMBER;
+        transitions[IN_LESS][MINUS] = IN_ASSIGNMENT;
+        transitions[IN_LESS][EQUALS] = IN_RELATIONAL;
+        transitions[IN_GREATER][EQUALS] = IN_RELATIONAL;
+        transitions[IN_EQUALS][EQUALS] = IN_RELATIONAL;
+        transitions[IN_BANG][EQUALS] = IN_RELATIONAL;
+        transitions[IN_AMPERSAND][AMPERSAND] = IN_CONDITIONAL;
+        transitions[IN_PIPE][PIPE] = IN_CONDITIONAL;
+        Arrays.fill(transitions[IN_STRING], IN_STRING);
+        transitions[IN_STRING][QUOTE] = IN_STRING_END;
+
+        accepted[IN_WORD] = TokenType.IDENTIFIER;
+        accepted[IN_ZERO] = TokenType.CONST_INTEGER;
+        accepted[IN_NUMBER] = TokenType.CONST_INTEGER;
+        accepted[IN_MINUS] = TokenType.ADD_SUB_OP;
+        accepted[IN_PLUS] = TokenType.ADD_SUB_OP;
+        accepted[IN_MUL_DIV] = TokenType.MUL_DIV_OP;
+        accepted[IN_CARET] = TokenType.EXP_OP;
+        accepted[IN_LESS] = TokenType.RELATIONAL_OP;
+        accepted[IN_GREATER] = TokenType.RELATIONAL_OP;
+        accepted[IN_RELATIONAL] = TokenType.RELATIONAL_OP;
+        accepted[IN_ASSIGNMENT] = TokenType.ASSIGNMENT_OP;
+        accepted[IN_AMPERSAND] = TokenType.LOGICAL_OP;
+        accepted[IN_PIPE] = TokenType.LOGICAL_OP;
+        accepted[IN_CONDITIONAL] = TokenType.CONDITIONAL_OP;
+        accepted[IN_OPEN] = TokenType.OPEN_PARENTHESIS;
+        accepted[IN_CLOSED] = TokenType.CLOSED_PARENTHESIS;
+        accepted[IN_COMPOUND] = TokenType.KEYWORD_COMPOUND;
+        accepted[IN_COMMA] = TokenType.COMMA;
+        accepted[IN_STRING_END] = TokenType.CONST_STRING;
+        accepted[IN_AT] = TokenType.EMPTY_STATEMENT;
+
+        keywords.put("bool", TokenType.TYPE_BOOL);
+        keywords.put("int", TokenType.TYPE_INT);
+        keywords.put("str", TokenType.TYPE_STR);
+        keywords.put("ref", TokenType.TYPE_REF);
+        keywords.put("true", TokenType.CONST_BOOLEAN);
+        keywords.put("false", TokenType.CONST_BOOLEAN);
+        keywords.put("if", TokenType.KEYWORD_IF);
+        keywords.put("else", TokenType.KEYWORD_BRANCH);
+        keywords.put("print", TokenType.KEYWORD_PRINT);
+        keywords.put("while", TokenType.KEYWORD_WHILE);
+        keywords.put("fork", TokenType.KEYWORD_FORK);
+        keywords.put("heap_alloc", TokenType.KEYWORD_HEAP_ALLOC);
+        keywords.put("heap_read", TokenType.KEYWORD_HEAP_READ);
+        keywords.put("heap_write", TokenType.KEYWORD_HEAP_WRITE);
+        keywords.put("fopen", TokenType.KEYWORD_OPEN_FILE);
+        keywords.put("fread", TokenType.KEYWORD_READ_FILE);
+        keywords.put("fclose", TokenType.KEYWORD_CLOSE_FILE);
+    }
+
+    private TransitionTable() {
+    }
+
+    static boolean isWhitespace(char c) {
+        return c < 128 ? asciiClasses[c] == WHITESPACE : Character.isWhitespace(c);
+    }
+
+    static int next(int state, char c) {
+        int characterClass;
+        if (c < 128)
+            characterClass = asciiClasses[c];
+        else characterClass = Character.isWhitespace(c) ? WHITESPACE : OTHER;
+        return transitions[state][characterClass];
+    }
+
+    static TokenType accepted(int state) {
+        return accepted[state];
+    }
+
+    static TokenType resolve(TokenType type, String lexeme) {
+        if (type != TokenType.IDENTIFIER)
+            return type;
+        return keywords.getOrDefault(lexeme, type);
+    }
+}
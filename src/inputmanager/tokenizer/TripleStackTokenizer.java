@@ -1,5 +1,6 @@
 package inputmanager.tokenizer;
 
+import inputmanager.tokenstack.TokenSource;
 import inputmanager.tokenstack.TokenStack;
 
 import java.util.*;
@@ -18,6 +19,13 @@ public class TripleStackTokenizer implements Tokenizer {
         return transformSequenceToPrefix(createTokenSequence(source));
     }
 
+    public TokenStack tokenize(TokenSource infixTokens) throws TokenizerException {
+        TokenStack tokenStack = new TokenStack();
+        while (!infixTokens.isEmpty())
+            tokenStack.push(infixTokens.pop());
+        return transformSequenceToPrefix(tokenStack);
+    }
+
     static private Map<TokenType, Pattern> precompileRegularExps() {
         Map<TokenType, Pattern> map = new HashMap<>();
         for (TokenType token : TripleStackTokenizer.tokenTypes) {
@@ -26,7 +34,7 @@ public class TripleStackTokenizer implements Tokenizer {
         return map;
     }
 
-    private static boolean tokenizationConditionForEmptyStatement(TokenStack tokens, TokenType current) {
+    static boolean tokenizationConditionForEmptyStatement(TokenStack tokens, TokenType current) {
         return !tokens.isEmpty() && ((
                                              tokens.top().type() == TokenType.OPEN_PARENTHESIS
                                              &&
@@ -38,7 +46,7 @@ public class TripleStackTokenizer implements Tokenizer {
                                      ));
     }
 
-    private TokenStack createTokenSequence(String src) throws TokenizerException {
+    protected TokenStack createTokenSequence(String src) throws TokenizerException {
         TokenStack tokenStack = new TokenStack();
         StringBuilder source = new StringBuilder(src.strip());
         tokenStack.clear();
@@ -141,7 +149,8 @@ public class TripleStackTokenizer implements Tokenizer {
                         ADD_SUB_OP,
                         ASSIGNMENT_OP,
                         RELATIONAL_OP,
-                        LOGICAL_OP -> transformSequenceToPrefixOperationToken(current, auxStack, resultStack);
+                        LOGICAL_OP,
+                        CONDITIONAL_OP -> transformSequenceToPrefixOperationToken(current, auxStack, resultStack);
             }
         }
         while (!auxStack.isEmpty()) {
@@ -0,0 +1,12 @@
+package inputmanager.tokenstack;
+
+import inputmanager.tokenizer.Token;
+import inputmanager.tokenizer.TokenizerException;
+
+public interface TokenSource {
+    boolean isEmpty() throws TokenizerException;
+
+    Token top() throws TokenizerException;
+
+    Token pop() throws TokenizerException;
+}
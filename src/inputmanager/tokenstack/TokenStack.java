@@ -5,7 +5,7 @@ import inputmanager.tokenizer.Token;
 import java.util.ArrayDeque;
 import java.util.EmptyStackException;
 
-public class TokenStack implements Stack<Token> {
+public class TokenStack implements Stack<Token>, TokenSource {
     final ArrayDeque<Token> storage;
 
     public TokenStack() {
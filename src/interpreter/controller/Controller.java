@@ -9,6 +9,9 @@ public interface Controller {
 
     void takeOneStepForAll(List<ProgramState> inputList);
 
+    /// Every program takes up to quantum steps at once, see ProgramState.takeSteps
+    void takeStepsForAll(List<ProgramState> inputList, int quantum);
+
     String takeAllSteps();
 
     List<ProgramState> removeCompletedPrograms(List<ProgramState> input);
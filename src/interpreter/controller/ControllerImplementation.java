@@ -15,16 +15,38 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class ControllerImplementation implements Controller {
+    public static final int DEFAULT_QUANTUM = 1;
     private final Repository repository;
+    /// Steps each program takes per round of takeAllSteps. Garbage is collected and the programs are logged between
+    /// rounds only, so with a quantum above 1 an allocation may get a different address than when stepping one by one
+    private final int quantum;
+    private final Scheduling scheduling;
     private ExecutorService executor;
 
     public ControllerImplementation(ProgramState programState, Repository repository) {
+        this(programState, repository, DEFAULT_QUANTUM);
+    }
+
+    public ControllerImplementation(ProgramState programState, Repository repository, int quantum) {
+        this(programState, repository, quantum, Scheduling.LOCKSTEP);
+    }
+
+    public ControllerImplementation(ProgramState programState, Repository repository, int quantum, Scheduling scheduling) {
+        if (quantum < 1)
+            throw new IllegalArgumentException("The quantum must be at least 1 -- %d".formatted(quantum));
         this.repository = repository;
+        this.quantum = quantum;
+        this.scheduling = scheduling;
         this.repository.add(programState);
     }
 
     @Override
     public void takeOneStepForAll(List<ProgramState> inputList) {
+        takeStepsForAll(inputList, 1);
+    }
+
+    @Override
+    public void takeStepsForAll(List<ProgramState> inputList, int quantum) {
         inputList.forEach(program -> {
             try {
                 repository.logProgramStateExecution(program);
@@ -34,7 +56,7 @@ public class ControllerImplementation implements Controller {
         });
         List<Callable<ProgramState>> callList = inputList
                 .stream()
-                .map(program -> (Callable<ProgramState>) (program::takeOneStep)) /// How to handle excepts here?
+                .map(program -> (Callable<ProgramState>) (() -> program.takeSteps(quantum))) /// How to handle excepts here?
                 .toList();
         List<ProgramState> newList;
         try {
@@ -68,11 +90,17 @@ public class ControllerImplementation implements Controller {
 
     @Override
     public String takeAllSteps() {
+        if (scheduling == Scheduling.WORK_STEALING) {
+            ProgramState main = repository.getProgramList().getFirst();
+            repository.setProgramList(Collections.synchronizedList(removeCompletedPrograms(repository.getProgramList())));
+            new WorkStealingScheduler(this, quantum).run();
+            return main.getOutputList().toString();
+        }
         executor = Executors.newFixedThreadPool(2);
         List<ProgramState> programs = removeCompletedPrograms(repository.getProgramList());
         while (!programs.isEmpty()) {
             collectGarbage();
-            takeOneStepForAll(programs);
+            takeStepsForAll(programs, quantum);
             programs = removeCompletedPrograms(programs);
         }
         executor.shutdownNow();
@@ -0,0 +1,44 @@
+package interpreter.controller;
+
+import interpreter.model.exceptions.StatementException;
+import interpreter.model.expressions.closures.ClosureCompiler;
+import interpreter.model.programstate.ProgramState;
+import interpreter.model.programstate.ProgramStateImplementation;
+import interpreter.model.statements.Statement;
+import interpreter.model.symboltable.SlotResolver;
+import interpreter.model.symboltable.SymbolTableArray;
+import interpreter.model.symboltable.SymbolTableHashMap;
+import interpreter.vm.BytecodeCompiler;
+import interpreter.vm.CompiledProgram;
+import interpreter.vm.HotLoopStatement;
+import interpreter.vm.JvmCompiler;
+import interpreter.vm.VirtualMachineProgramState;
+
+public enum ExecutionEngine {
+    TREE_WALKER,
+    SLOT_RESOLVED,
+    CLOSURE_COMPILED,
+    REGISTER_VM,
+    JVM_BYTECODE,
+    TIERED;
+
+    public ProgramState load(Statement program) throws StatementException {
+        return load(program, SymbolTableHashMap.DEFAULT_MAX_SCOPE);
+    }
+
+    /// Loads the program with a bound on how deeply its ifs and whiles may nest at run time
+    public ProgramState load(Statement program, int maxScope) throws StatementException {
+        return switch (this) {
+            case TREE_WALKER -> new ProgramStateImplementation(program, new SymbolTableHashMap<>(maxScope));
+            case SLOT_RESOLVED -> new ProgramStateImplementation(program, new SymbolTableArray(SlotResolver.resolve(program), maxScope));
+            case CLOSURE_COMPILED -> new ProgramStateImplementation(ClosureCompiler.compile(program), new SymbolTableHashMap<>(maxScope));
+            case REGISTER_VM -> new VirtualMachineProgramState(BytecodeCompiler.compile(program), maxScope);
+            case JVM_BYTECODE -> {
+                CompiledProgram compiled = BytecodeCompiler.compile(program);
+                JvmCompiler.install(compiled);
+                yield new VirtualMachineProgramState(compiled, maxScope);
+            }
+            case TIERED -> new ProgramStateImplementation(HotLoopStatement.instrument(program), new SymbolTableHashMap<>(maxScope));
+        };
+    }
+}
@@ -0,0 +1,10 @@
+package interpreter.controller;
+
+/// How takeAllSteps runs the threads of a program
+public enum Scheduling {
+    /// Rounds in which every thread takes one quantum, with garbage collected and all threads logged between rounds;
+    /// a slow thread holds up the round
+    LOCKSTEP,
+    /// Every thread runs as its own task on a work-stealing pool sized to the machine, see WorkStealingScheduler
+    WORK_STEALING
+}
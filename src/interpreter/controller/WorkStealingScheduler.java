@@ -0,0 +1,134 @@
+package interpreter.controller;
+
+import interpreter.model.heaptable.HeapHashTable;
+import interpreter.model.programstate.ProgramState;
+import interpreter.repository.RepositoryException;
+
+import java.io.Serial;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/// Runs every thread of a program as an independent task, with no barrier between them. A turn takes one quantum of
+/// steps, enqueues the thread a step forked, if any, and then enqueues the thread's next turn; the pool runs its queues
+/// first in first out, so threads take turns even when there are more of them than cores, and idle workers steal turns.
+/// Garbage is collected stop-the-world between turns, once the heap holds twice what the last collection kept, but no
+/// later than when it is half full, so that threads do not run out of heap that lockstep would have freed.
+final class WorkStealingScheduler {
+    private static final int MIN_COLLECTION_THRESHOLD = 64;
+    private final Controller controller;
+    private final int quantum;
+    /// Turns hold the read lock, collections the write lock, so a collection sees every thread between two turns
+    private final ReadWriteLock collection = new ReentrantReadWriteLock();
+    /// The number of unfinished threads; a fork is counted before the thread that made it can finish, so it only
+    /// reaches zero once every thread has, and then releases the caller of run
+    private final AtomicInteger running = new AtomicInteger();
+    private final CountDownLatch allFinished = new CountDownLatch(1);
+    private volatile int collectionThreshold = MIN_COLLECTION_THRESHOLD;
+
+    WorkStealingScheduler(Controller controller, int quantum) {
+        this.controller = controller;
+        this.quantum = quantum;
+    }
+
+    /// Runs the threads in the controller's program list to completion. The list must start out with unfinished threads
+    /// only and be safe to change from several threads; it holds the unfinished ones throughout
+    void run() {
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors(),
+                ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+        try {
+            controller.collectGarbage();
+            List<ProgramState> programs = List.copyOf(controller.programs());
+            if (programs.isEmpty())
+                return;
+            running.set(programs.size());
+            for (ProgramState program : programs)
+                pool.execute(new Turn(program));
+            allFinished.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /// Turns are never serialized; RecursiveAction only makes them Serializable
+    private final class Turn extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+        private final transient ProgramState program;
+
+        Turn(ProgramState program) {
+            this.program = program;
+        }
+
+        @Override
+        protected void compute() {
+            boolean finished = true;
+            try {
+                finished = turn(program);
+            } finally {
+                if (!finished)
+                    new Turn(program).fork();
+                else if (running.decrementAndGet() == 0)
+                    allFinished.countDown();
+            }
+        }
+    }
+
+    /// Returns whether the thread has finished
+    private boolean turn(ProgramState program) {
+        collection.readLock().lock();
+        try {
+            ProgramState forked = null;
+            try {
+                forked = program.takeSteps(quantum);
+            } catch (Exception e) {
+                System.err.println(e.getMessage());
+            }
+            if (forked != null) {
+                controller.programs().add(forked);
+                running.incrementAndGet();
+                new Turn(forked).fork();
+            }
+            log(program);
+            if (!program.isNotCompleted()) {
+                controller.programs().remove(program);
+                return true;
+            }
+        } finally {
+            collection.readLock().unlock();
+        }
+        if (program.getHeapTable().size() >= collectionThreshold)
+            collectGarbage();
+        return false;
+    }
+
+    private void collectGarbage() {
+        collection.writeLock().lock();
+        try {
+            List<ProgramState> programs = controller.programs();
+            if (programs.isEmpty() || programs.getFirst().getHeapTable().size() < collectionThreshold)
+                return;
+            controller.collectGarbage();
+            int kept = programs.getFirst().getHeapTable().size();
+            collectionThreshold = Math.min(Math.max(2 * kept, MIN_COLLECTION_THRESHOLD), HeapHashTable.HEAP_SIZE / 2);
+        } finally {
+            collection.writeLock().unlock();
+        }
+    }
+
+    private void log(ProgramState program) {
+        synchronized (controller) {
+            try {
+                controller.log(program);
+            } catch (RepositoryException e) {
+                System.err.println(e.getMessage());
+            }
+        }
+    }
+}
@@ -4,7 +4,9 @@ import interpreter.model.exceptions.*;
 import interpreter.model.operands.Operand;
 import interpreter.model.programstate.ProgramState;
 import interpreter.model.symboltable.SymbolTable;
+import interpreter.model.type.IntType;
 import interpreter.model.type.Type;
+import interpreter.model.values.IntValue;
 import interpreter.model.values.Value;
 import interpreter.model.values.operationinterfaces.Additive;
 import interpreter.model.values.operationinterfaces.Numeric;
@@ -16,6 +18,7 @@ public class ArithmeticExpression implements Expression {
     final Expression firstExpression;
     final Expression secondExpression;
     final Operand operand;
+    Type staticType;
 
     public ArithmeticExpression(Expression firstExpression, Expression secondExpression, Operand operand) {
         super();
@@ -32,27 +35,73 @@ public class ArithmeticExpression implements Expression {
     }
 
 
+    public Expression getFirstExpression() {
+        return firstExpression;
+    }
+
+    public Expression getSecondExpression() {
+        return secondExpression;
+    }
+
+    public Operand getOperand() {
+        return operand;
+    }
+
     @Override
     public Value evaluate(ProgramState state) throws ExpressionException, ValueException, HeapException, SymbolTableException {
+        if (staticType instanceof IntType)
+            return IntValue.of(evaluateInt(state));
         if (operand == ADD) {
             Additive firstValue = (Additive) firstExpression.evaluate(state);
             Additive secondValue = (Additive) secondExpression.evaluate(state);
             return (Value) firstValue.add(secondValue);
         }
+        Numeric firstValue = (Numeric) firstExpression.evaluate(state);
         Numeric secondValue = (Numeric) secondExpression.evaluate(state);
         return switch (operand) {
-            case SUB -> (Value) secondValue.sub(secondValue);
-            case DIV -> (Value) secondValue.div(secondValue);
-            case MUL -> (Value) secondValue.mul(secondValue);
-            case EXP -> (Value) secondValue.exp(secondValue);
+            case SUB -> (Value) firstValue.sub(secondValue);
+            case DIV -> (Value) firstValue.div(secondValue);
+            case MUL -> (Value) firstValue.mul(secondValue);
+            case EXP -> (Value) firstValue.exp(secondValue);
             default -> null;
         };
     }
 
+    /// Typechecked int arithmetic runs on primitives all the way down, boxing only the outermost result
+    @Override
+    public int evaluateInt(ProgramState state) throws ExpressionException, ValueException, HeapException, SymbolTableException {
+        if (!(staticType instanceof IntType))
+            return Expression.super.evaluateInt(state);
+        int firstValue = firstExpression.evaluateInt(state);
+        int secondValue = secondExpression.evaluateInt(state);
+        return switch (operand) {
+            case ADD -> firstValue + secondValue;
+            case SUB -> firstValue - secondValue;
+            case MUL -> firstValue * secondValue;
+            case DIV -> IntValue.div(firstValue, secondValue);
+            case EXP -> IntValue.exp(firstValue, secondValue);
+            default -> throw new ExpressionException("Unaccepted operand type for arithmetic expression -- %s".formatted(operand));
+        };
+    }
+
     @Override
     public Type typecheck(SymbolTable<String, Type> environment) throws TypecheckException {
-        Type t1 = firstExpression.typecheck(environment),
-                t2 = secondExpression.typecheck(environment);
+        staticType = deriveType(firstExpression.typecheck(environment), secondExpression.typecheck(environment));
+        return staticType;
+    }
+
+    @Override
+    public Type typecheckNode(SymbolTable<String, Type> environment) throws TypecheckException {
+        staticType = deriveType(firstExpression.getStaticType(), secondExpression.getStaticType());
+        return staticType;
+    }
+
+    @Override
+    public Type getStaticType() {
+        return staticType;
+    }
+
+    private Type deriveType(Type t1, Type t2) throws TypecheckException {
         if (t1 != t2)
             throw new TypecheckException("Mismatched types -- %s, %s".formatted(t1, t2));
         switch (operand) {
@@ -5,10 +5,28 @@ import interpreter.model.programstate.ProgramState;
 import interpreter.model.symboltable.SymbolTable;
 import interpreter.model.type.Type;
 import interpreter.model.utils.DeepCopiable;
+import interpreter.model.values.BoolValue;
+import interpreter.model.values.IntValue;
 import interpreter.model.values.Value;
 
 public interface Expression extends DeepCopiable {
     Value evaluate(ProgramState state) throws ValueException, ExpressionException, HeapException, SymbolTableException;
+    /// Unboxed evaluation of an int expression; nodes that can compute it without allocating override this
+    default int evaluateInt(ProgramState state) throws ValueException, ExpressionException, HeapException, SymbolTableException {
+        return ((IntValue) evaluate(state)).getValue();
+    }
+
+    default boolean evaluateBool(ProgramState state) throws ValueException, ExpressionException, HeapException, SymbolTableException {
+        return ((BoolValue) evaluate(state)).isTrue();
+    }
+
     Type typecheck(SymbolTable<String, Type> environment) throws TypecheckException;
+    /// Types this node alone from the static types its operands cached when they were typechecked, so a tree typed
+    /// bottom up as it is built costs one check per node; leaves have no operands and just typecheck
+    default Type typecheckNode(SymbolTable<String, Type> environment) throws TypecheckException {
+        return typecheck(environment);
+    }
+
+    Type getStaticType();
     Expression deepCopy() throws ExpressionException;
 }
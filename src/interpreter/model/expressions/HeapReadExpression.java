@@ -10,11 +10,16 @@ import interpreter.model.values.Value;
 
 public class HeapReadExpression implements Expression {
     final Expression offsetSpecificationExpression;
+    Type staticType;
 
     public HeapReadExpression(Expression offsetSpecificationExpression) {
         this.offsetSpecificationExpression = offsetSpecificationExpression;
     }
 
+    public Expression getOffsetSpecificationExpression() {
+        return offsetSpecificationExpression;
+    }
+
     @Override
     public Value evaluate(ProgramState state) throws ValueException, ExpressionException, HeapException, SymbolTableException {
         ReferenceValue refVal = (ReferenceValue) offsetSpecificationExpression.evaluate(state);
@@ -23,7 +28,22 @@ public class HeapReadExpression implements Expression {
 
     @Override
     public Type typecheck(SymbolTable<String, Type> environment) throws TypecheckException {
-        Type type = offsetSpecificationExpression.typecheck(environment);
+        staticType = deriveType(offsetSpecificationExpression.typecheck(environment));
+        return staticType;
+    }
+
+    @Override
+    public Type typecheckNode(SymbolTable<String, Type> environment) throws TypecheckException {
+        staticType = deriveType(offsetSpecificationExpression.getStaticType());
+        return staticType;
+    }
+
+    @Override
+    public Type getStaticType() {
+        return staticType;
+    }
+
+    private Type deriveType(Type type) throws TypecheckException {
         if(! (type instanceof ReferenceType ref)){
             throw new TypecheckException("Offset specification expression does not evaluate to a reference type-- %s".formatted(type));
         }
@@ -6,6 +6,7 @@ import interpreter.model.programstate.ProgramState;
 import interpreter.model.symboltable.SymbolTable;
 import interpreter.model.type.BoolType;
 import interpreter.model.type.Type;
+import interpreter.model.values.BoolValue;
 import interpreter.model.values.Value;
 import interpreter.model.values.operationinterfaces.Logical;
 
@@ -14,6 +15,7 @@ public class LogicExpression implements Expression {
     final Expression firstExpression;
     final Expression secondExpression;
     final Operand operand;
+    Type staticType;
 
     public LogicExpression(Expression firstExpression, Expression secondExpression, Operand operand) {
         super();
@@ -30,21 +32,68 @@ public class LogicExpression implements Expression {
 
     }
 
+    public Expression getFirstExpression() {
+        return firstExpression;
+    }
+
+    public Expression getSecondExpression() {
+        return secondExpression;
+    }
+
+    public Operand getOperand() {
+        return operand;
+    }
+
     @Override
     public Value evaluate(ProgramState state) throws ExpressionException, ValueException, HeapException, SymbolTableException {
+        if (staticType instanceof BoolType)
+            return BoolValue.of(evaluateBool(state));
         Logical firstValue = (Logical) firstExpression.evaluate(state);
+        if (operand.shortCircuit() && firstValue instanceof BoolValue decided
+                && decided.isTrue() == (operand == Operand.CONDITIONAL_OR))
+            return decided;
         Value secondValue = secondExpression.evaluate(state);
         return switch (operand) {
-            case OR -> firstValue.or(secondValue);
-            case AND -> firstValue.and(secondValue);
+            case OR, CONDITIONAL_OR -> firstValue.or(secondValue);
+            case AND, CONDITIONAL_AND -> firstValue.and(secondValue);
             default -> null;
         };
     }
 
+    /// & and | always evaluate both operands, like the boxed path does; && and || skip the second one when the
+    /// first decides the result, so it may rely on the first, e.g. to guard a heap read or a division
+    @Override
+    public boolean evaluateBool(ProgramState state) throws ExpressionException, ValueException, HeapException, SymbolTableException {
+        if (!(staticType instanceof BoolType))
+            return Expression.super.evaluateBool(state);
+        boolean firstValue = firstExpression.evaluateBool(state);
+        return switch (operand) {
+            case OR -> firstValue | secondExpression.evaluateBool(state);
+            case AND -> firstValue & secondExpression.evaluateBool(state);
+            case CONDITIONAL_OR -> firstValue || secondExpression.evaluateBool(state);
+            case CONDITIONAL_AND -> firstValue && secondExpression.evaluateBool(state);
+            default -> throw new ExpressionException("Unaccepted operand type for a logic expression -- %s".formatted(operand));
+        };
+    }
+
     @Override
     public Type typecheck(SymbolTable<String, Type> environment) throws TypecheckException {
-        Type firstType = firstExpression.typecheck(environment),
-                secondType = secondExpression.typecheck(environment);
+        staticType = deriveType(firstExpression.typecheck(environment), secondExpression.typecheck(environment));
+        return staticType;
+    }
+
+    @Override
+    public Type typecheckNode(SymbolTable<String, Type> environment) throws TypecheckException {
+        staticType = deriveType(firstExpression.getStaticType(), secondExpression.getStaticType());
+        return staticType;
+    }
+
+    @Override
+    public Type getStaticType() {
+        return staticType;
+    }
+
+    private Type deriveType(Type firstType, Type secondType) throws TypecheckException {
         if (firstType != secondType)
             throw new TypecheckException("Mismatched types -- %s, %s".formatted(firstType, secondType));
         if (!operand.logical()) {
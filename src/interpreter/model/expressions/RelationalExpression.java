@@ -5,7 +5,9 @@ import interpreter.model.operands.Operand;
 import interpreter.model.programstate.ProgramState;
 import interpreter.model.symboltable.SymbolTable;
 import interpreter.model.type.BoolType;
+import interpreter.model.type.IntType;
 import interpreter.model.type.Type;
+import interpreter.model.values.BoolValue;
 import interpreter.model.values.Value;
 import interpreter.model.values.operationinterfaces.Comparable;
 import interpreter.model.values.operationinterfaces.Testable;
@@ -14,6 +16,7 @@ public class RelationalExpression implements Expression {
     final Expression firstExpression;
     final Expression secondExpression;
     final Operand operand;
+    Type staticType;
 
     public RelationalExpression(Expression firstExpression, Expression secondExpression, Operand operand) {
         super();
@@ -31,9 +34,23 @@ public class RelationalExpression implements Expression {
 
     }
 
+    public Expression getFirstExpression() {
+        return firstExpression;
+    }
+
+    public Expression getSecondExpression() {
+        return secondExpression;
+    }
+
+    public Operand getOperand() {
+        return operand;
+    }
+
     @SuppressWarnings({"rawtypes"})
     @Override
     public Value evaluate(ProgramState state) throws ExpressionException, ValueException, HeapException, SymbolTableException {
+        if (firstExpression.getStaticType() instanceof IntType)
+            return BoolValue.of(evaluateBool(state));
         if (operand == Operand.EQUAL || operand == Operand.NOT_EQUAL) {
             Testable firstValue = (Testable) firstExpression.evaluate(state);
             Value secondValue = secondExpression.evaluate(state);
@@ -54,10 +71,42 @@ public class RelationalExpression implements Expression {
         };
     }
 
+    /// Comparisons of typechecked ints read both operands unboxed
+    @Override
+    public boolean evaluateBool(ProgramState state) throws ExpressionException, ValueException, HeapException, SymbolTableException {
+        if (!(firstExpression.getStaticType() instanceof IntType))
+            return Expression.super.evaluateBool(state);
+        int firstValue = firstExpression.evaluateInt(state);
+        int secondValue = secondExpression.evaluateInt(state);
+        return switch (operand) {
+            case EQUAL -> firstValue == secondValue;
+            case NOT_EQUAL -> firstValue != secondValue;
+            case GREATER -> firstValue > secondValue;
+            case LOWER -> firstValue < secondValue;
+            case GREATER_OR_EQUAL -> firstValue >= secondValue;
+            case LOWER_OR_EQUAL -> firstValue <= secondValue;
+            default -> throw new ExpressionException("Unaccepted operand type for a relational expression -- %s".formatted(operand));
+        };
+    }
+
     @Override
     public Type typecheck(SymbolTable<String, Type> environment) throws TypecheckException {
-        Type firstType = firstExpression.typecheck(environment),
-                secondType = secondExpression.typecheck(environment);
+        staticType = deriveType(firstExpression.typecheck(environment), secondExpression.typecheck(environment));
+        return staticType;
+    }
+
+    @Override
+    public Type typecheckNode(SymbolTable<String, Type> environment) throws TypecheckException {
+        staticType = deriveType(firstExpression.getStaticType(), secondExpression.getStaticType());
+        return staticType;
+    }
+
+    @Override
+    public Type getStaticType() {
+        return staticType;
+    }
+
+    private Type deriveType(Type firstType, Type secondType) throws TypecheckException {
         if (firstType != secondType)
             throw new TypecheckException("Mismatched types -- %s, %s".formatted(firstType, secondType));
         switch (operand) {
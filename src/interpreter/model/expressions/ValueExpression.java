@@ -7,6 +7,7 @@ import interpreter.model.values.Value;
 
 public class ValueExpression implements Expression {
     final Value value;
+    Type staticType;
 
 
     public ValueExpression(Value value) {
@@ -14,6 +15,10 @@ public class ValueExpression implements Expression {
         this.value = value;
     }
 
+    public Value getValue() {
+        return value;
+    }
+
     @Override
     public Value evaluate(ProgramState state) {
         return value;
@@ -21,7 +26,13 @@ public class ValueExpression implements Expression {
 
     @Override
     public Type typecheck(SymbolTable<String, Type> environment) {
-        return value.getType();
+        staticType = value.getType();
+        return staticType;
+    }
+
+    @Override
+    public Type getStaticType() {
+        return staticType;
     }
 
     @Override
@@ -4,24 +4,68 @@ import interpreter.model.exceptions.SymbolTableException;
 import interpreter.model.exceptions.TypecheckException;
 import interpreter.model.programstate.ProgramState;
 import interpreter.model.symboltable.SymbolTable;
+import interpreter.model.symboltable.SymbolTableArray;
 import interpreter.model.type.Type;
+import interpreter.model.values.BoolValue;
+import interpreter.model.values.IntValue;
 import interpreter.model.values.Value;
 
 public class VariableExpression implements Expression {
     final String identifier;
+    Type staticType;
+    /// Frame slot assigned by the SlotResolver, -1 while unresolved
+    int slot = -1;
 
     public VariableExpression(String identifier) {
         super();
         this.identifier = identifier;
     }
 
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    public void resolve(int slot) {
+        this.slot = slot;
+    }
+
     @Override
     public Value evaluate(ProgramState state) throws SymbolTableException {
+        if (slot >= 0 && state.getSymbolTable() instanceof SymbolTableArray frame)
+            return frame.lookup(slot);
         return state.getSymbolTable().lookup(identifier);
     }
 
+    @Override
+    public int evaluateInt(ProgramState state) throws SymbolTableException {
+        if (slot >= 0 && state.getSymbolTable() instanceof SymbolTableArray frame)
+            return frame.lookupInt(slot);
+        return ((IntValue) evaluate(state)).getValue();
+    }
+
+    @Override
+    public boolean evaluateBool(ProgramState state) throws SymbolTableException {
+        if (slot >= 0 && state.getSymbolTable() instanceof SymbolTableArray frame)
+            return frame.lookupBool(slot);
+        return ((BoolValue) evaluate(state)).isTrue();
+    }
+
     @Override
     public Type typecheck(SymbolTable<String, Type> environment) throws TypecheckException {
+        staticType = deriveType(environment);
+        return staticType;
+    }
+
+    @Override
+    public Type getStaticType() {
+        return staticType;
+    }
+
+    private Type deriveType(SymbolTable<String, Type> environment) throws TypecheckException {
         try {
             return environment.lookup(identifier);
         } catch (SymbolTableException ste) {
@@ -31,7 +75,9 @@ public class VariableExpression implements Expression {
 
     @Override
     public Expression deepCopy() {
-        return new VariableExpression(identifier);
+        VariableExpression copy = new VariableExpression(identifier);
+        copy.slot = slot;
+        return copy;
     }
 
     public String toString() {
@@ -0,0 +1,206 @@
+package interpreter.model.expressions.closures;
+
+import interpreter.model.exceptions.ValueException;
+import interpreter.model.expressions.*;
+import interpreter.model.operands.Operand;
+import interpreter.model.statements.*;
+import interpreter.model.statements.filestatements.CloseFileStatement;
+import interpreter.model.statements.filestatements.OpenReadFileStatement;
+import interpreter.model.statements.filestatements.ReadFileStatement;
+import interpreter.model.statements.memorystatements.HeapAllocationStatement;
+import interpreter.model.statements.memorystatements.HeapWriteStatement;
+import interpreter.model.type.IntType;
+import interpreter.model.values.BoolValue;
+import interpreter.model.values.IntValue;
+import interpreter.model.values.ReferenceValue;
+import interpreter.model.values.Value;
+import interpreter.model.values.operationinterfaces.Additive;
+import interpreter.model.values.operationinterfaces.Testable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/// Rewrites a typechecked program so that every composite expression evaluates through pre-specialized closures.
+/// Integer operations are picked from the static types, so the closures contain no operand switch and no interface casts.
+public class ClosureCompiler {
+    private ClosureCompiler() {
+    }
+
+    /// Fused statements are rebuilt as the fused statements they are
+    public static Statement compile(Statement statement) {
+        return switch (statement) {
+            case SequenceStatement sequence -> {
+                List<Statement> compiled = new ArrayList<>();
+                for (Statement inner : sequence.getStatements())
+                    compiled.add(compile(inner));
+                yield new SequenceStatement(compiled);
+            }
+            case CompoundStatement compound ->
+                    new CompoundStatement(compile(compound.getFirstStatement()), compile(compound.getSecondStatement()));
+            case CountedLoopStatement loop -> new CountedLoopStatement(compile(loop.getCondition()), compile(loop.getBody()));
+            case WhileStatement loop -> new WhileStatement(compile(loop.getCondition()), compile(loop.getBody()));
+            case CompareAndBranchStatement branch ->
+                    new CompareAndBranchStatement(compile(branch.getCondition()), compile(branch.getBranchPositive()), compile(branch.getBranchNegative()));
+            case IfStatement branch ->
+                    new IfStatement(compile(branch.getCondition()), compile(branch.getBranchPositive()), compile(branch.getBranchNegative()));
+            case ForkStatement fork -> new ForkStatement(compile(fork.getTargetStatement()));
+            /// Never evaluates its expression, which it keeps only to print and typecheck like the assignment it stands for
+            case IncrementStatement increment -> increment;
+            case AssignStatement assignment ->
+                    new AssignStatement(assignment.getVariableIdentifier(), compile(assignment.getExpressionAssignedToVar()));
+            case PrintStatement print -> new PrintStatement(compile(print.getExpressionToPrint()));
+            case HeapAllocationStatement allocation ->
+                    new HeapAllocationStatement(allocation.getIdentifier(), compile(allocation.getExpression()));
+            case HeapWriteStatement write -> new HeapWriteStatement(write.getIdentifier(), compile(write.getValueExpr()));
+            case OpenReadFileStatement open -> new OpenReadFileStatement(compile(open.getFilenameExpression()));
+            case ReadFileStatement read -> new ReadFileStatement(compile(read.getFilenameExpression()), read.getIdentifier());
+            case CloseFileStatement close -> new CloseFileStatement(compile(close.getFilenameExpression()));
+            default -> statement;
+        };
+    }
+
+    public static Expression compile(Expression expression) {
+        if (expression instanceof ClosureExpression || expression instanceof ValueExpression || expression instanceof VariableExpression)
+            return expression;
+        return new ClosureExpression(expression, closure(expression));
+    }
+
+    public static CompiledExpression closure(Expression expression) {
+        return switch (expression) {
+            case ClosureExpression compiled -> compiled.closure;
+            case ValueExpression constant -> {
+                Value value = constant.getValue();
+                yield state -> value;
+            }
+            case VariableExpression variable -> {
+                String identifier = variable.getIdentifier();
+                yield state -> state.getSymbolTable().lookup(identifier);
+            }
+            case HeapReadExpression heapRead -> {
+                CompiledExpression address = closure(heapRead.getOffsetSpecificationExpression());
+                yield state -> state.getHeapTable().get(((ReferenceValue) address.evaluate(state)).getAddress());
+            }
+            case ArithmeticExpression arithmetic -> arithmetic(arithmetic);
+            case RelationalExpression relational -> relational(relational);
+            case LogicExpression logic -> logic(logic);
+            default -> expression::evaluate;
+        };
+    }
+
+    private static boolean isInt(Expression expression) {
+        return expression.getStaticType() instanceof IntType;
+    }
+
+    private static int intOf(Value value) {
+        return ((IntValue) value).getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Additive<Value> additive(Value value) {
+        return (Additive<Value>) value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Testable<Value> testable(Value value) {
+        return (Testable<Value>) value;
+    }
+
+    private static CompiledExpression arithmetic(ArithmeticExpression arithmetic) {
+        Expression first = arithmetic.getFirstExpression(), second = arithmetic.getSecondExpression();
+        if (!isInt(first) || !isInt(second)) {
+            if (arithmetic.getOperand() != Operand.ADD)
+                return arithmetic::evaluate;
+            CompiledExpression left = closure(first), right = closure(second);
+            return state -> additive(left.evaluate(state)).add(right.evaluate(state));
+        }
+        if (first instanceof VariableExpression variable && second instanceof ValueExpression constant) {
+            String identifier = variable.getIdentifier();
+            int value = intOf(constant.getValue());
+            switch (arithmetic.getOperand()) {
+                case ADD -> {
+                    return state -> IntValue.of(intOf(state.getSymbolTable().lookup(identifier)) + value);
+                }
+                case SUB -> {
+                    return state -> IntValue.of(intOf(state.getSymbolTable().lookup(identifier)) - value);
+                }
+                case MUL -> {
+                    return state -> IntValue.of(intOf(state.getSymbolTable().lookup(identifier)) * value);
+                }
+                default -> {
+                }
+            }
+        }
+        CompiledExpression left = closure(first), right = closure(second);
+        return switch (arithmetic.getOperand()) {
+            case ADD -> state -> IntValue.of(intOf(left.evaluate(state)) + intOf(right.evaluate(state)));
+            case SUB -> state -> IntValue.of(intOf(left.evaluate(state)) - intOf(right.evaluate(state)));
+            case MUL -> state -> IntValue.of(intOf(left.evaluate(state)) * intOf(right.evaluate(state)));
+            case DIV -> state -> {
+                int dividend = intOf(left.evaluate(state)), divisor = intOf(right.evaluate(state));
+                if (divisor == 0)
+                    throw new ValueException("Division by 0");
+                return IntValue.of(dividend / divisor);
+            };
+            case EXP -> state -> ((IntValue) left.evaluate(state)).exp(right.evaluate(state));
+            default -> arithmetic::evaluate;
+        };
+    }
+
+    private static CompiledExpression relational(RelationalExpression relational) {
+        Expression first = relational.getFirstExpression(), second = relational.getSecondExpression();
+        if (!isInt(first) || !isInt(second)) {
+            CompiledExpression left = closure(first), right = closure(second);
+            return switch (relational.getOperand()) {
+                case EQUAL -> state -> testable(left.evaluate(state)).equal(right.evaluate(state));
+                case NOT_EQUAL -> state -> testable(left.evaluate(state)).notEqual(right.evaluate(state));
+                default -> relational::evaluate;
+            };
+        }
+        if (first instanceof VariableExpression variable && second instanceof ValueExpression constant) {
+            String identifier = variable.getIdentifier();
+            int value = intOf(constant.getValue());
+            return switch (relational.getOperand()) {
+                case LOWER -> state -> BoolValue.of(intOf(state.getSymbolTable().lookup(identifier)) < value);
+                case GREATER -> state -> BoolValue.of(intOf(state.getSymbolTable().lookup(identifier)) > value);
+                case LOWER_OR_EQUAL -> state -> BoolValue.of(intOf(state.getSymbolTable().lookup(identifier)) <= value);
+                case GREATER_OR_EQUAL -> state -> BoolValue.of(intOf(state.getSymbolTable().lookup(identifier)) >= value);
+                case EQUAL -> state -> BoolValue.of(intOf(state.getSymbolTable().lookup(identifier)) == value);
+                case NOT_EQUAL -> state -> BoolValue.of(intOf(state.getSymbolTable().lookup(identifier)) != value);
+                default -> relational::evaluate;
+            };
+        }
+        CompiledExpression left = closure(first), right = closure(second);
+        return switch (relational.getOperand()) {
+            case LOWER -> state -> BoolValue.of(intOf(left.evaluate(state)) < intOf(right.evaluate(state)));
+            case GREATER -> state -> BoolValue.of(intOf(left.evaluate(state)) > intOf(right.evaluate(state)));
+            case LOWER_OR_EQUAL -> state -> BoolValue.of(intOf(left.evaluate(state)) <= intOf(right.evaluate(state)));
+            case GREATER_OR_EQUAL -> state -> BoolValue.of(intOf(left.evaluate(state)) >= intOf(right.evaluate(state)));
+            case EQUAL -> state -> BoolValue.of(intOf(left.evaluate(state)) == intOf(right.evaluate(state)));
+            case NOT_EQUAL -> state -> BoolValue.of(intOf(left.evaluate(state)) != intOf(right.evaluate(state)));
+            default -> relational::evaluate;
+        };
+    }
+
+    private static CompiledExpression logic(LogicExpression logic) {
+        CompiledExpression left = closure(logic.getFirstExpression()), right = closure(logic.getSecondExpression());
+        return switch (logic.getOperand()) {
+            case AND -> state -> {
+                boolean first = ((BoolValue) left.evaluate(state)).isTrue();
+                return BoolValue.of(first & ((BoolValue) right.evaluate(state)).isTrue());
+            };
+            case OR -> state -> {
+                boolean first = ((BoolValue) left.evaluate(state)).isTrue();
+                return BoolValue.of(first | ((BoolValue) right.evaluate(state)).isTrue());
+            };
+            case CONDITIONAL_AND -> state -> {
+                BoolValue first = (BoolValue) left.evaluate(state);
+                return first.isTrue() ? right.evaluate(state) : first;
+            };
+            case CONDITIONAL_OR -> state -> {
+                BoolValue first = (BoolValue) left.evaluate(state);
+                return first.isTrue() ? first : right.evaluate(state);
+            };
+            default -> logic::evaluate;
+        };
+    }
+}
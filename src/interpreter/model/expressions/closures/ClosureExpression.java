@@ -0,0 +1,48 @@
+package interpreter.model.expressions.closures;
+
+import interpreter.model.exceptions.*;
+import interpreter.model.expressions.Expression;
+import interpreter.model.programstate.ProgramState;
+import interpreter.model.symboltable.SymbolTable;
+import interpreter.model.type.Type;
+import interpreter.model.values.Value;
+
+/// Evaluates through a closure built by the ClosureCompiler; everything else is answered by the original node
+public class ClosureExpression implements Expression {
+    final Expression original;
+    final CompiledExpression closure;
+
+    ClosureExpression(Expression original, CompiledExpression closure) {
+        this.original = original;
+        this.closure = closure;
+    }
+
+    public Expression getOriginal() {
+        return original;
+    }
+
+    @Override
+    public Value evaluate(ProgramState state) throws ValueException, ExpressionException, HeapException, SymbolTableException {
+        return closure.evaluate(state);
+    }
+
+    @Override
+    public Type typecheck(SymbolTable<String, Type> environment) throws TypecheckException {
+        return original.typecheck(environment);
+    }
+
+    @Override
+    public Type getStaticType() {
+        return original.getStaticType();
+    }
+
+    @Override
+    public Expression deepCopy() throws ExpressionException {
+        return new ClosureExpression(original.deepCopy(), closure);
+    }
+
+    @Override
+    public String toString() {
+        return original.toString();
+    }
+}
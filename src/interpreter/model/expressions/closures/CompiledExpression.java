@@ -0,0 +1,13 @@
+package interpreter.model.expressions.closures;
+
+import interpreter.model.exceptions.ExpressionException;
+import interpreter.model.exceptions.HeapException;
+import interpreter.model.exceptions.SymbolTableException;
+import interpreter.model.exceptions.ValueException;
+import interpreter.model.programstate.ProgramState;
+import interpreter.model.values.Value;
+
+@FunctionalInterface
+public interface CompiledExpression {
+    Value evaluate(ProgramState state) throws ValueException, ExpressionException, HeapException, SymbolTableException;
+}
@@ -3,6 +3,7 @@ package interpreter.model.filetable;
 import interpreter.model.values.StringValue;
 
 import java.io.BufferedReader;
+import java.util.List;
 import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.stream.Collectors;
@@ -17,30 +18,30 @@ public class FileTableMap implements FileTable {
     }
 
     @Override
-    public String toString() {
+    public synchronized String toString() {
         return storage.keySet().stream()
                 .map(string -> string + "; ")
                 .collect(Collectors.joining());
     }
 
     @Override
-    public void add(StringValue name, BufferedReader fileDescriptor) {
+    public synchronized void add(StringValue name, BufferedReader fileDescriptor) {
         storage.put(name.getValue(), fileDescriptor);
     }
 
     @Override
-    public BufferedReader lookup(String value) {
+    public synchronized BufferedReader lookup(String value) {
         return storage.get(value);
     }
 
     @Override
-    public void remove(String fileIdentifier) {
+    public synchronized void remove(String fileIdentifier) {
         storage.remove(fileIdentifier);
     }
 
     @Override
-    public Stream<String> stream() {
-        return storage.keySet().stream();
+    public synchronized Stream<String> stream() {
+        return List.copyOf(storage.keySet()).stream();
     }
 
 }
@@ -4,14 +4,16 @@ import interpreter.model.exceptions.HeapException;
 import interpreter.model.values.Value;
 
 import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+/// Shared by every thread of a program, which may run on several cores at once, so all access is synchronized
 public class HeapHashTable implements HeapTable {
-    private static final int HEAP_SIZE = 1024;
+    public static final int HEAP_SIZE = 1024;
     private final Map<Integer, Value> storage;
 
     public HeapHashTable() {
@@ -23,7 +25,7 @@ public class HeapHashTable implements HeapTable {
     }
 
     @Override
-    public Value get(int index) throws HeapException {
+    public synchronized Value get(int index) throws HeapException {
         Value value = storage.get(index);
         if (value == null) {
             throw new HeapException("Segmentation fault. Core dumped");
@@ -32,7 +34,7 @@ public class HeapHashTable implements HeapTable {
     }
 
     @Override
-    public int add(Value value) throws HeapException {
+    public synchronized int add(Value value) throws HeapException {
         int index = IntStream
                 .iterate(1, i -> i < HEAP_SIZE, i -> i + 1)
                 .filter(i -> storage.get(i) == null)
@@ -45,19 +47,24 @@ public class HeapHashTable implements HeapTable {
     }
 
     @Override
-    public void update(int address, Value newValue) throws HeapException {
+    public synchronized void update(int address, Value newValue) throws HeapException {
         if (storage.get(address) == null)
             throw new HeapException("Segmentation fault. Core dumped");
         storage.put(address, newValue);
     }
 
     @Override
-    public Stream<AbstractMap.Entry<Integer, Value>> entriesStream() {
-        return storage.entrySet().stream();
+    public synchronized Stream<AbstractMap.Entry<Integer, Value>> entriesStream() {
+        return new ArrayList<>(storage.entrySet()).stream();
     }
 
     @Override
-    public String toString() {
+    public synchronized int size() {
+        return storage.size();
+    }
+
+    @Override
+    public synchronized String toString() {
         return storage.keySet().stream()
                 .map(heap_id -> "%d: %s; ".formatted(heap_id, storage.get(heap_id)))
                 .collect(Collectors.joining());
@@ -15,4 +15,6 @@ public interface HeapTable {
 
     Stream<AbstractMap.Entry<Integer, Value>> entriesStream();
 
+    int size();
+
 }
\ No newline at end of file
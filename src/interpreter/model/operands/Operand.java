@@ -13,7 +13,10 @@ public enum Operand {
     LOWER,
     GREATER,
     LOWER_OR_EQUAL,
-    GREATER_OR_EQUAL;
+    GREATER_OR_EQUAL,
+    /// Appended rather than grouped with AND and OR, since compiled programs store operands by ordinal
+    CONDITIONAL_AND,
+    CONDITIONAL_OR;
 
     @Override
     public String toString(){
@@ -26,6 +29,8 @@ public enum Operand {
 
             case AND -> " & ";
             case OR -> " | ";
+            case CONDITIONAL_AND -> " && ";
+            case CONDITIONAL_OR -> " || ";
 
             case EQUAL -> " == ";
             case NOT_EQUAL -> " != ";
@@ -40,10 +45,15 @@ public enum Operand {
     public boolean logical() {
         return
                 switch (this){
-                    case OR, AND -> true;
+                    case OR, AND, CONDITIONAL_AND, CONDITIONAL_OR -> true;
                     default -> false;
                 };
     }
+
+    /// Whether the second operand is evaluated only when the first does not already decide the result
+    public boolean shortCircuit() {
+        return this == CONDITIONAL_AND || this == CONDITIONAL_OR;
+    }
     @SuppressWarnings("BooleanMethodIsAlwaysInverted")
     public boolean arithmetic(){
         return
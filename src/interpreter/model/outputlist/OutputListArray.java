@@ -13,18 +13,18 @@ public class OutputListArray<T> implements OutputList<T> {
     }
 
     @Override
-    public void append(T t) {
+    public synchronized void append(T t) {
         storage.add(t);
         System.out.println(t);
     }
 
     @Override
-    public Stream<T> stream() {
-        return storage.stream();
+    public synchronized Stream<T> stream() {
+        return List.copyOf(storage).stream();
     }
 
     @Override
-    public String toString() {
+    public synchronized String toString() {
         return storage.stream().
                 map(element -> element + "\n").
                 collect(Collectors.joining());
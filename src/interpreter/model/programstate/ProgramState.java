@@ -39,6 +39,14 @@ public interface ProgramState {
 
     ProgramState takeOneStep() throws ProgramStateException, SymbolTableException, StatementException, ValueException, ExpressionException, HeapException;
 
+    /// Takes up to quantum steps, at least one, stopping early after a step that forks or completes the program.
+    /// Returns the forked program, if any; an error ends the quantum like it ends a single step
+    default ProgramState takeSteps(int quantum) throws ProgramStateException, SymbolTableException, StatementException, ValueException, ExpressionException, HeapException {
+        ProgramState forked = takeOneStep();
+        for (int step = 1; step < quantum && forked == null && isNotCompleted(); step++)
+            forked = takeOneStep();
+        return forked;
+    }
 
     Integer getID();
 }
@@ -28,10 +28,12 @@ public class ProgramStateImplementation implements ProgramState {
     private HeapTable heapTable;
 
     public ProgramStateImplementation(Statement originalProgram) {
-        synchronized (LOCK) {
-            this.id = ID_GENERATOR++;
-        }
-        this.symbolTable = new SymbolTableHashMap<>();
+        this(originalProgram, new SymbolTableHashMap<>());
+    }
+
+    public ProgramStateImplementation(Statement originalProgram, SymbolTable<String, Value> symbolTable) {
+        this.id = generateID();
+        this.symbolTable = symbolTable;
         this.executionStack = new ExecutionStackDeque<>();
         this.outputList = new OutputListArray<>();
         this.fileTable = new FileTableMap();
@@ -40,9 +42,7 @@ public class ProgramStateImplementation implements ProgramState {
     }
 
     private ProgramStateImplementation(Statement target, SymbolTable<String, Value> symbolTable, HeapTable heapTable, FileTable fileTable, OutputList<Value> outputList) {
-        synchronized (LOCK) {
-            this.id = ID_GENERATOR++;
-        }
+        this.id = generateID();
         this.symbolTable = symbolTable.deepCopy();
         this.heapTable = heapTable;
         this.fileTable = fileTable;
@@ -51,6 +51,12 @@ public class ProgramStateImplementation implements ProgramState {
         this.executionStack.push(target);
     }
 
+    public static int generateID() {
+        synchronized (LOCK) {
+            return ID_GENERATOR++;
+        }
+    }
+
     public static ProgramState forkProgram(Statement target, ProgramState parentProgram) {
         return new ProgramStateImplementation(target, parentProgram.getSymbolTable(), parentProgram.getHeapTable(), parentProgram.getFileTable(), parentProgram.getOutputList());
     }
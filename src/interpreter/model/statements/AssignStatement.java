@@ -4,6 +4,9 @@ import interpreter.model.exceptions.*;
 import interpreter.model.expressions.Expression;
 import interpreter.model.programstate.ProgramState;
 import interpreter.model.symboltable.SymbolTable;
+import interpreter.model.symboltable.SymbolTableArray;
+import interpreter.model.type.BoolType;
+import interpreter.model.type.IntType;
 import interpreter.model.type.Type;
 import interpreter.model.values.Value;
 
@@ -11,14 +14,41 @@ public class AssignStatement implements Statement {
 
     final String variableIdentifier;
     final Expression expressionAssignedToVar;
+    /// Frame slot assigned by the SlotResolver, -1 while unresolved
+    int slot = -1;
 
     public AssignStatement(String variableIdentifier, Expression expressionAssignedToVar) {
         this.variableIdentifier = variableIdentifier;
         this.expressionAssignedToVar = expressionAssignedToVar;
     }
 
+    public String getVariableIdentifier() {
+        return variableIdentifier;
+    }
+
+    public Expression getExpressionAssignedToVar() {
+        return expressionAssignedToVar;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    public void resolve(int slot) {
+        this.slot = slot;
+    }
+
     @Override
     public ProgramState execute(ProgramState state) throws ValueException, ExpressionException, SymbolTableException, HeapException {
+        if (slot >= 0 && state.getSymbolTable() instanceof SymbolTableArray frame) {
+            Type type = expressionAssignedToVar.getStaticType();
+            if (type instanceof IntType)
+                frame.updateInt(slot, expressionAssignedToVar.evaluateInt(state));
+            else if (type instanceof BoolType)
+                frame.updateBool(slot, expressionAssignedToVar.evaluateBool(state));
+            else frame.update(slot, expressionAssignedToVar.evaluate(state));
+            return null;
+        }
         Value rightHandSide = expressionAssignedToVar.evaluate(state);
         state.getSymbolTable().update(variableIdentifier, rightHandSide);
         return null;
@@ -43,7 +73,9 @@ public class AssignStatement implements Statement {
 
     @Override
     public Statement deepCopy() throws ExpressionException {
-        return new AssignStatement(variableIdentifier, expressionAssignedToVar.deepCopy());
+        AssignStatement copy = new AssignStatement(variableIdentifier, expressionAssignedToVar.deepCopy());
+        copy.slot = slot;
+        return copy;
     }
 
     public String toString() {
@@ -0,0 +1,31 @@
+package interpreter.model.statements;
+
+import interpreter.model.exceptions.*;
+import interpreter.model.executionstack.ExecutionStack;
+import interpreter.model.expressions.Expression;
+import interpreter.model.programstate.ProgramState;
+
+/// Fused form of an if on a comparison of int variables and constants: the step that picks the branch also takes the
+/// first step of it, the way a sequence takes the step of its first statement. Picking a branch drops no variables,
+/// so the state after the fused step is the one the plain if reaches a step later.
+public class CompareAndBranchStatement extends IfStatement {
+    public CompareAndBranchStatement(Expression condition, Statement branchPositive, Statement branchNegative) {
+        super(condition, branchPositive, branchNegative);
+    }
+
+    @Override
+    public ProgramState execute(ProgramState state) throws StatementException, ValueException, ExpressionException, HeapException, SymbolTableException {
+        ExecutionStack<Statement> stack = state.getExecutionStack();
+        if (stack == null)
+            return state;
+        boolean conditionValue = condition.evaluateBool(state);
+        stack.push(ScopeConclusionStatement.INSTANCE);
+        state.getSymbolTable().incScope();
+        return (conditionValue ? branchPositive : branchNegative).execute(state);
+    }
+
+    @Override
+    public Statement deepCopy() throws ExpressionException {
+        return new CompareAndBranchStatement(condition.deepCopy(), branchPositive.deepCopy(), branchNegative.deepCopy());
+    }
+}
@@ -13,6 +13,15 @@ public class CompoundStatement implements Statement {
         this.firstStatement = firstStatement;
         this.secondStatement = secondStatement;
     }
+
+    public Statement getFirstStatement() {
+        return firstStatement;
+    }
+
+    public Statement getSecondStatement() {
+        return secondStatement;
+    }
+
     @Override
     public ProgramState execute(ProgramState state) {
         ExecutionStack<Statement> executionStack = state.getExecutionStack();
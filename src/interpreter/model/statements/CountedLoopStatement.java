@@ -0,0 +1,71 @@
+package interpreter.model.statements;
+
+import interpreter.model.exceptions.*;
+import interpreter.model.expressions.Expression;
+import interpreter.model.programstate.ProgramState;
+import interpreter.model.symboltable.SymbolTable;
+import interpreter.model.type.Type;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/// Fused form of a counted int loop, `while (i < n)( ... ; i <- i + 1)`: the step that checks the condition also
+/// takes the first step of the body, and the closing increment also concludes the body's scope.
+/// Neither the check nor the increment drops a variable, so no garbage collection is skipped between the steps fused
+/// with them, and every state between steps is one the plain loop goes through as well.
+public class CountedLoopStatement extends WhileStatement {
+    /// The body, with its last statement fused with the end of the body's scope
+    private final Statement iteration;
+
+    public CountedLoopStatement(Expression condition, Statement body) {
+        super(condition, body);
+        List<Statement> statements = new ArrayList<>(body instanceof SequenceStatement sequence ? sequence.getStatements() : List.of(body));
+        statements.set(statements.size() - 1, new Conclusion(statements.getLast()));
+        this.iteration = statements.size() == 1 ? statements.getFirst() : new SequenceStatement(statements);
+    }
+
+    @Override
+    public ProgramState execute(ProgramState state) throws StatementException, ValueException, ExpressionException, HeapException, SymbolTableException {
+        if (condition.evaluateBool(state)) {
+            state.getExecutionStack().push(this);
+            state.getSymbolTable().incScope();
+            return iteration.execute(state);
+        }
+        return null;
+    }
+
+    @Override
+    public Statement deepCopy() throws ExpressionException {
+        return new CountedLoopStatement(condition.deepCopy(), body.deepCopy());
+    }
+
+    /// Runs the closing increment and then concludes the scope; the increment never fails, so the scope always is
+    private static class Conclusion implements Statement {
+        final Statement last;
+
+        Conclusion(Statement last) {
+            this.last = last;
+        }
+
+        @Override
+        public ProgramState execute(ProgramState state) throws StatementException, ValueException, ExpressionException, SymbolTableException, HeapException {
+            last.execute(state);
+            return ScopeConclusionStatement.INSTANCE.execute(state);
+        }
+
+        @Override
+        public SymbolTable<String, Type> typecheck(SymbolTable<String, Type> environment) throws TypecheckException {
+            return last.typecheck(environment);
+        }
+
+        @Override
+        public Statement deepCopy() throws ExpressionException {
+            return new Conclusion(last.deepCopy());
+        }
+
+        @Override
+        public String toString() {
+            return last + " ; " + ScopeConclusionStatement.INSTANCE;
+        }
+    }
+}
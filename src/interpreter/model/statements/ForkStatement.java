@@ -14,6 +14,10 @@ public class ForkStatement implements Statement {
         this.targetStatement = target;
     }
 
+    public Statement getTargetStatement() {
+        return targetStatement;
+    }
+
     @Override
     public ProgramState execute(ProgramState state) {
         return ProgramStateImplementation.forkProgram(targetStatement, state);
@@ -7,7 +7,6 @@ import interpreter.model.programstate.ProgramState;
 import interpreter.model.symboltable.SymbolTable;
 import interpreter.model.type.BoolType;
 import interpreter.model.type.Type;
-import interpreter.model.values.BoolValue;
 
 public class IfStatement implements Statement {
     final Expression condition;
@@ -20,14 +19,26 @@ public class IfStatement implements Statement {
         this.branchNegative = branchNegative;
     }
 
+    public Expression getCondition() {
+        return condition;
+    }
+
+    public Statement getBranchPositive() {
+        return branchPositive;
+    }
+
+    public Statement getBranchNegative() {
+        return branchNegative;
+    }
+
     @Override
-    public ProgramState execute(ProgramState state) throws ValueException, ExpressionException, HeapException, SymbolTableException {
+    public ProgramState execute(ProgramState state) throws StatementException, ValueException, ExpressionException, HeapException, SymbolTableException {
         ExecutionStack<Statement> stack = state.getExecutionStack();
         if (stack == null)
             return state;
-        BoolValue conditionValue = (BoolValue) condition.evaluate(state);
-        stack.push(new ScopeConclusionStatement());
-        if (conditionValue.isTrue())
+        boolean conditionValue = condition.evaluateBool(state);
+        stack.push(ScopeConclusionStatement.INSTANCE);
+        if (conditionValue)
             stack.push(branchPositive);
         else
             stack.push(branchNegative);
@@ -37,14 +48,18 @@ public class IfStatement implements Statement {
 
     @Override
     public SymbolTable<String, Type> typecheck(SymbolTable<String, Type> environment) throws TypecheckException {
-        Type type = condition.typecheck(environment);
-        if (!(type instanceof BoolType))
-            throw new TypecheckException("Condition inside 'if' statement does not eval to a boolean -- instead %s evaluates to %s".formatted(condition, type));
+        typecheckCondition(condition, environment);
         branchPositive.typecheck(environment.deepCopy()); /// WHY???
         branchNegative.typecheck(environment.deepCopy());
         return environment;
     }
 
+    public static void typecheckCondition(Expression condition, SymbolTable<String, Type> environment) throws TypecheckException {
+        Type type = condition.typecheck(environment);
+        if (!(type instanceof BoolType))
+            throw new TypecheckException("Condition inside 'if' statement does not eval to a boolean -- instead %s evaluates to %s".formatted(condition, type));
+    }
+
     @Override
     public Statement deepCopy() throws ExpressionException {
         return new IfStatement(condition.deepCopy(), branchPositive.deepCopy(), branchNegative.deepCopy());
@@ -0,0 +1,44 @@
+package interpreter.model.statements;
+
+import interpreter.model.exceptions.ExpressionException;
+import interpreter.model.exceptions.SymbolTableException;
+import interpreter.model.expressions.Expression;
+import interpreter.model.programstate.ProgramState;
+import interpreter.model.symboltable.SymbolTable;
+import interpreter.model.symboltable.SymbolTableArray;
+import interpreter.model.values.IntValue;
+import interpreter.model.values.Value;
+
+/// Fused form of `x <- x + c` and `x <- x - c` on an int variable: adds the constant to the variable in place instead
+/// of evaluating the expression tree. It prints, typechecks and compiles like the assignment it stands for.
+public class IncrementStatement extends AssignStatement {
+    private final int increment;
+
+    public IncrementStatement(String variableIdentifier, Expression expressionAssignedToVar, int increment) {
+        super(variableIdentifier, expressionAssignedToVar);
+        this.increment = increment;
+    }
+
+    public int getIncrement() {
+        return increment;
+    }
+
+    @Override
+    public ProgramState execute(ProgramState state) throws SymbolTableException {
+        if (slot >= 0 && state.getSymbolTable() instanceof SymbolTableArray frame) {
+            frame.updateInt(slot, frame.lookupInt(slot) + increment);
+            return null;
+        }
+        SymbolTable<String, Value> symbolTable = state.getSymbolTable();
+        int value = ((IntValue) symbolTable.lookup(variableIdentifier)).getValue();
+        symbolTable.update(variableIdentifier, IntValue.of(value + increment));
+        return null;
+    }
+
+    @Override
+    public Statement deepCopy() throws ExpressionException {
+        IncrementStatement copy = new IncrementStatement(variableIdentifier, expressionAssignedToVar.deepCopy(), increment);
+        copy.slot = slot;
+        return copy;
+    }
+}
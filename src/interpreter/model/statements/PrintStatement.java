@@ -12,6 +12,11 @@ public class PrintStatement implements Statement {
     public PrintStatement(Expression expressionToPrint){
         this.expressionToPrint = expressionToPrint;
     }
+
+    public Expression getExpressionToPrint() {
+        return expressionToPrint;
+    }
+
     @Override
     public ProgramState execute(ProgramState state) throws ValueException, ExpressionException, HeapException, SymbolTableException {
         OutputList<Value> outputList  = state.getOutputList();
@@ -5,7 +5,13 @@ import interpreter.model.programstate.ProgramState;
 import interpreter.model.symboltable.SymbolTable;
 import interpreter.model.type.Type;
 
+/// Marks the end of an if or while body on the execution stack. It holds no state, so one instance serves every scope.
 class ScopeConclusionStatement implements Statement {
+    static final ScopeConclusionStatement INSTANCE = new ScopeConclusionStatement();
+
+    private ScopeConclusionStatement() {
+    }
+
     @Override
     public ProgramState execute(ProgramState state) throws SymbolTableException {
         state.getSymbolTable().removeOutOfScopeVariables();
@@ -20,7 +26,7 @@ class ScopeConclusionStatement implements Statement {
 
     @Override
     public Statement deepCopy() {
-        return new ScopeConclusionStatement();
+        return this;
     }
 
     @Override
@@ -0,0 +1,102 @@
+package interpreter.model.statements;
+
+import interpreter.model.exceptions.*;
+import interpreter.model.executionstack.ExecutionStack;
+import interpreter.model.programstate.ProgramState;
+import interpreter.model.symboltable.SymbolTable;
+import interpreter.model.type.Type;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class SequenceStatement implements Statement {
+    final Statement[] statements;
+    private final Remainder[] remainders;
+
+    public SequenceStatement(List<Statement> statements) {
+        List<Statement> flattened = new ArrayList<>(statements.size());
+        for (Statement statement : statements) {
+            if (statement instanceof SequenceStatement sequence)
+                flattened.addAll(Arrays.asList(sequence.statements));
+            else flattened.add(statement);
+        }
+        this.statements = flattened.toArray(new Statement[0]);
+        this.remainders = new Remainder[this.statements.length];
+        for (int programCounter = 0; programCounter < this.statements.length; programCounter++)
+            this.remainders[programCounter] = new Remainder(programCounter);
+    }
+
+    public List<Statement> getStatements() {
+        return List.of(statements);
+    }
+
+    @Override
+    public ProgramState execute(ProgramState state) throws StatementException, ValueException, ExpressionException, SymbolTableException, HeapException {
+        if (state.getExecutionStack() == null)
+            return state;
+        // an empty sequence, e.g. one read from a compiled program, does nothing like the no-op it prints as
+        if (remainders.length == 0)
+            return null;
+        return remainders[0].execute(state);
+    }
+
+    @Override
+    public SymbolTable<String, Type> typecheck(SymbolTable<String, Type> environment) throws TypecheckException {
+        for (Statement statement : statements)
+            environment = statement.typecheck(environment);
+        return environment;
+    }
+
+    @Override
+    public Statement deepCopy() throws ExpressionException {
+        List<Statement> copies = new ArrayList<>(statements.length);
+        for (Statement statement : statements)
+            copies.add(statement.deepCopy());
+        return new SequenceStatement(copies);
+    }
+
+    @Override
+    public String toString() {
+        return remainders.length == 0 ? " do_nothing" : remainders[0].toString();
+    }
+
+    private class Remainder implements Statement {
+        final int programCounter;
+
+        Remainder(int programCounter) {
+            this.programCounter = programCounter;
+        }
+
+        @Override
+        public ProgramState execute(ProgramState state) throws StatementException, ValueException, ExpressionException, SymbolTableException, HeapException {
+            ExecutionStack<Statement> executionStack = state.getExecutionStack();
+            if (programCounter + 1 < remainders.length)
+                executionStack.push(remainders[programCounter + 1]);
+            return statements[programCounter].execute(state);
+        }
+
+        @Override
+        public SymbolTable<String, Type> typecheck(SymbolTable<String, Type> environment) throws TypecheckException {
+            for (int index = programCounter; index < statements.length; index++)
+                environment = statements[index].typecheck(environment);
+            return environment;
+        }
+
+        @Override
+        public Statement deepCopy() throws ExpressionException {
+            List<Statement> copies = new ArrayList<>(statements.length - programCounter);
+            for (int index = programCounter; index < statements.length; index++)
+                copies.add(statements[index].deepCopy());
+            return new SequenceStatement(copies);
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.stream(statements, programCounter, statements.length)
+                    .map(Statement::toString)
+                    .collect(Collectors.joining(" ; "));
+        }
+    }
+}
@@ -4,11 +4,14 @@ import interpreter.model.exceptions.SymbolTableException;
 import interpreter.model.exceptions.TypecheckException;
 import interpreter.model.programstate.ProgramState;
 import interpreter.model.symboltable.SymbolTable;
+import interpreter.model.symboltable.SymbolTableArray;
 import interpreter.model.type.Type;
 
 public class VariableDeclarationStatement implements Statement {
     final String identifier;
     final Type type;
+    /// Frame slot assigned by the SlotResolver, -1 while unresolved
+    int slot = -1;
 
 
     public VariableDeclarationStatement(Type t, String id) {
@@ -16,9 +19,27 @@ public class VariableDeclarationStatement implements Statement {
         identifier = id;
     }
 
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    public void resolve(int slot) {
+        this.slot = slot;
+    }
+
     @Override
     public ProgramState execute(ProgramState state) throws SymbolTableException {
-        state.getSymbolTable().put(identifier, type.getDefault());
+        if (slot >= 0 && state.getSymbolTable() instanceof SymbolTableArray frame)
+            frame.put(slot, type.getDefault());
+        else state.getSymbolTable().put(identifier, type.getDefault());
         return null;
     }
 
@@ -34,7 +55,9 @@ public class VariableDeclarationStatement implements Statement {
 
     @Override
     public Statement deepCopy() {
-        return new VariableDeclarationStatement(type.deepCopy(), identifier);
+        VariableDeclarationStatement copy = new VariableDeclarationStatement(type.deepCopy(), identifier);
+        copy.slot = slot;
+        return copy;
     }
 
     @Override
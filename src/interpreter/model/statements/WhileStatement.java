@@ -6,7 +6,6 @@ import interpreter.model.programstate.ProgramState;
 import interpreter.model.symboltable.SymbolTable;
 import interpreter.model.type.BoolType;
 import interpreter.model.type.Type;
-import interpreter.model.values.BoolValue;
 
 public class WhileStatement implements Statement {
     final Expression condition;
@@ -18,13 +17,20 @@ public class WhileStatement implements Statement {
         this.body = body;
     }
 
+    public Expression getCondition() {
+        return condition;
+    }
+
+    public Statement getBody() {
+        return body;
+    }
+
     @Override
-    public ProgramState execute(ProgramState state) throws ValueException, ExpressionException, HeapException, SymbolTableException {
-        BoolValue condVal = (BoolValue) condition.evaluate(state);
-        if (condVal.isTrue()) {
+    public ProgramState execute(ProgramState state) throws StatementException, ValueException, ExpressionException, HeapException, SymbolTableException {
+        if (condition.evaluateBool(state)) {
             var stack = state.getExecutionStack();
             stack.push(this);
-            stack.push(new ScopeConclusionStatement());
+            stack.push(ScopeConclusionStatement.INSTANCE);
             stack.push(body);
             state.getSymbolTable().incScope();
         }
@@ -33,11 +39,15 @@ public class WhileStatement implements Statement {
 
     @Override
     public SymbolTable<String, Type> typecheck(SymbolTable<String, Type> environment) throws TypecheckException {
+        typecheckCondition(condition, environment);
+        body.typecheck(environment.deepCopy()); /// WHY???
+        return environment;
+    }
+
+    public static void typecheckCondition(Expression condition, SymbolTable<String, Type> environment) throws TypecheckException {
         Type type = condition.typecheck(environment);
         if (!(type instanceof BoolType))
             throw new TypecheckException("Condition inside 'while' statement does not eval to a boolean -- instead %s evaluates to a %s".formatted(condition,type));
-        body.typecheck(environment.deepCopy()); /// WHY???
-        return environment;
     }
 
     @Override
@@ -18,6 +18,10 @@ public class CloseFileStatement implements Statement {
         this.filenameExpression = filenameExpression;
     }
 
+    public Expression getFilenameExpression() {
+        return filenameExpression;
+    }
+
     @Override
     public String toString(){
         return "fclose( "+this.filenameExpression.toString()+" )";
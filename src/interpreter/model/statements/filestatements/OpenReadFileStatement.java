@@ -21,6 +21,10 @@ public class OpenReadFileStatement implements Statement {
     }
 
 
+    public Expression getFilenameExpression() {
+        return filenameExpression;
+    }
+
     @Override
     public String toString() {
         return "fopen( " + this.filenameExpression.toString() + " )";
@@ -24,6 +24,14 @@ public class ReadFileStatement implements Statement {
         this.identifier = identifier;
     }
 
+    public Expression getFilenameExpression() {
+        return filenameExpression;
+    }
+
+    public String getIdentifier() {
+        return identifier;
+    }
+
     @Override
     public ProgramState execute(ProgramState state) throws StatementException, ValueException, ExpressionException, SymbolTableException, HeapException {
         SymbolTable<String, Value> symbolTable = state.getSymbolTable();
@@ -43,8 +51,8 @@ public class ReadFileStatement implements Statement {
             symbolTable.update(this.identifier, symbolTable.lookup(this.identifier).getType().getDefault());
         } else {
             switch (symbolTable.lookup(this.identifier).getType().getToken()) {
-                case BOOLEAN -> symbolTable.update(this.identifier, new BoolValue(Boolean.parseBoolean(processed)));
-                case INTEGER -> symbolTable.update(this.identifier, new IntValue(Integer.parseInt(processed)));
+                case BOOLEAN -> symbolTable.update(this.identifier, BoolValue.of(Boolean.parseBoolean(processed)));
+                case INTEGER -> symbolTable.update(this.identifier, IntValue.of(Integer.parseInt(processed)));
                 case STRING -> symbolTable.update(this.identifier, new StringValue(processed));
                 default ->
                         throw new StatementException("Cannot assign " + processed + " to a null type -- " + this.identifier);
@@ -19,6 +19,14 @@ public class HeapAllocationStatement implements Statement {
         this.expression = expression;
     }
 
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    public Expression getExpression() {
+        return expression;
+    }
+
     @Override
     public ProgramState execute(ProgramState state) throws ValueException, ExpressionException, SymbolTableException, HeapException {
         //        ReferenceValue refVal = (ReferenceValue) state.getSymbolTable().lookup(identifier);
@@ -17,6 +17,15 @@ public class HeapWriteStatement implements Statement {
         this.identifier = identifier;
         this.valueExpr = valueExpr;
     }
+
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    public Expression getValueExpr() {
+        return valueExpr;
+    }
+
     @Override
     public ProgramState execute(ProgramState state) throws ValueException, ExpressionException, HeapException, SymbolTableException {
         ReferenceValue ref = (ReferenceValue) state.getSymbolTable().lookup(identifier);
@@ -0,0 +1,233 @@
+package interpreter.model.symboltable;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+@SuppressWarnings("unchecked")
+final class PersistentHashTrie<Key, Value> {
+    private static final int BITS = 5, MASK = (1 << BITS) - 1;
+    private static final PersistentHashTrie<?, ?> EMPTY = new PersistentHashTrie<>(null, 0);
+
+    private final Node<Key, Value> root;
+    private final int size;
+
+    private PersistentHashTrie(Node<Key, Value> root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    static <Key, Value> PersistentHashTrie<Key, Value> empty() {
+        return (PersistentHashTrie<Key, Value>) EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    Value get(Key key) {
+        return root == null ? null : root.find(0, key.hashCode(), key);
+    }
+
+    PersistentHashTrie<Key, Value> put(Key key, Value value) {
+        boolean[] added = new boolean[1];
+        Node<Key, Value> start = root == null ? (Node<Key, Value>) BitmapNode.EMPTY : root;
+        Node<Key, Value> updated = start.assoc(0, key.hashCode(), key, value, added);
+        if (updated == root)
+            return this;
+        return new PersistentHashTrie<>(updated, added[0] ? size + 1 : size);
+    }
+
+    PersistentHashTrie<Key, Value> remove(Key key) {
+        if (root == null)
+            return this;
+        Node<Key, Value> updated = root.without(0, key.hashCode(), key);
+        if (updated == root)
+            return this;
+        return new PersistentHashTrie<>(updated, size - 1);
+    }
+
+    void forEach(BiConsumer<Key, Value> action) {
+        if (root != null)
+            root.forEach(action);
+    }
+
+    private interface Node<Key, Value> {
+        Value find(int shift, int hash, Key key);
+
+        Node<Key, Value> assoc(int shift, int hash, Key key, Value value, boolean[] added);
+
+        Node<Key, Value> without(int shift, int hash, Key key);
+
+        void forEach(BiConsumer<Key, Value> action);
+    }
+
+    /// Entries are stored as (key, value) pairs; a null key marks a slot whose value is a child node
+    private static final class BitmapNode<Key, Value> implements Node<Key, Value> {
+        static final BitmapNode<?, ?> EMPTY = new BitmapNode<>(0, new Object[0]);
+        final int bitmap;
+        final Object[] array;
+
+        BitmapNode(int bitmap, Object[] array) {
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        private static int bit(int shift, int hash) {
+            return 1 << ((hash >>> shift) & MASK);
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        public Value find(int shift, int hash, Key key) {
+            int bit = bit(shift, hash);
+            if ((bitmap & bit) == 0)
+                return null;
+            int index = index(bit);
+            Object storedKey = array[2 * index], stored = array[2 * index + 1];
+            if (storedKey == null)
+                return ((Node<Key, Value>) stored).find(shift + BITS, hash, key);
+            return key.equals(storedKey) ? (Value) stored : null;
+        }
+
+        @Override
+        public Node<Key, Value> assoc(int shift, int hash, Key key, Value value, boolean[] added) {
+            int bit = bit(shift, hash), index = index(bit);
+            if ((bitmap & bit) == 0) {
+                Object[] expanded = new Object[array.length + 2];
+                System.arraycopy(array, 0, expanded, 0, 2 * index);
+                expanded[2 * index] = key;
+                expanded[2 * index + 1] = value;
+                System.arraycopy(array, 2 * index, expanded, 2 * index + 2, array.length - 2 * index);
+                added[0] = true;
+                return new BitmapNode<>(bitmap | bit, expanded);
+            }
+            Object storedKey = array[2 * index], stored = array[2 * index + 1];
+            if (storedKey == null) {
+                Node<Key, Value> child = ((Node<Key, Value>) stored).assoc(shift + BITS, hash, key, value, added);
+                return child == stored ? this : with(2 * index + 1, child);
+            }
+            if (key.equals(storedKey))
+                return stored == value ? this : with(2 * index + 1, value);
+            added[0] = true;
+            Object[] replaced = array.clone();
+            replaced[2 * index] = null;
+            replaced[2 * index + 1] = split(shift + BITS, (Key) storedKey, (Value) stored, hash, key, value);
+            return new BitmapNode<>(bitmap, replaced);
+        }
+
+        private static <Key, Value> Node<Key, Value> split(int shift, Key firstKey, Value firstValue, int hash, Key key, Value value) {
+            int firstHash = firstKey.hashCode();
+            if (firstHash == hash)
+                return new CollisionNode<>(hash, new Object[]{firstKey, firstValue, key, value});
+            boolean[] ignored = new boolean[1];
+            return ((Node<Key, Value>) EMPTY)
+                    .assoc(shift, firstHash, firstKey, firstValue, ignored)
+                    .assoc(shift, hash, key, value, ignored);
+        }
+
+        private BitmapNode<Key, Value> with(int position, Object element) {
+            Object[] replaced = array.clone();
+            replaced[position] = element;
+            return new BitmapNode<>(bitmap, replaced);
+        }
+
+        @Override
+        public Node<Key, Value> without(int shift, int hash, Key key) {
+            int bit = bit(shift, hash);
+            if ((bitmap & bit) == 0)
+                return this;
+            int index = index(bit);
+            Object storedKey = array[2 * index], stored = array[2 * index + 1];
+            if (storedKey == null) {
+                Node<Key, Value> child = ((Node<Key, Value>) stored).without(shift + BITS, hash, key);
+                if (child == stored)
+                    return this;
+                if (child != null)
+                    return with(2 * index + 1, child);
+            } else if (!key.equals(storedKey))
+                return this;
+            if (bitmap == bit)
+                return null;
+            Object[] shrunk = new Object[array.length - 2];
+            System.arraycopy(array, 0, shrunk, 0, 2 * index);
+            System.arraycopy(array, 2 * index + 2, shrunk, 2 * index, shrunk.length - 2 * index);
+            return new BitmapNode<>(bitmap & ~bit, shrunk);
+        }
+
+        @Override
+        public void forEach(BiConsumer<Key, Value> action) {
+            for (int position = 0; position < array.length; position += 2) {
+                if (array[position] == null)
+                    ((Node<Key, Value>) array[position + 1]).forEach(action);
+                else action.accept((Key) array[position], (Value) array[position + 1]);
+            }
+        }
+    }
+
+    private static final class CollisionNode<Key, Value> implements Node<Key, Value> {
+        final int hash;
+        final Object[] array;
+
+        CollisionNode(int hash, Object[] array) {
+            this.hash = hash;
+            this.array = array;
+        }
+
+        private int position(Key key) {
+            for (int position = 0; position < array.length; position += 2)
+                if (key.equals(array[position]))
+                    return position;
+            return -1;
+        }
+
+        @Override
+        public Value find(int shift, int hash, Key key) {
+            if (hash != this.hash)
+                return null;
+            int position = position(key);
+            return position < 0 ? null : (Value) array[position + 1];
+        }
+
+        @Override
+        public Node<Key, Value> assoc(int shift, int hash, Key key, Value value, boolean[] added) {
+            if (hash != this.hash)
+                return new BitmapNode<Key, Value>(BitmapNode.bit(shift, this.hash), new Object[]{null, this})
+                        .assoc(shift, hash, key, value, added);
+            int position = position(key);
+            if (position >= 0) {
+                if (array[position + 1] == value)
+                    return this;
+                Object[] replaced = array.clone();
+                replaced[position + 1] = value;
+                return new CollisionNode<>(hash, replaced);
+            }
+            Object[] expanded = Arrays.copyOf(array, array.length + 2);
+            expanded[array.length] = key;
+            expanded[array.length + 1] = value;
+            added[0] = true;
+            return new CollisionNode<>(hash, expanded);
+        }
+
+        @Override
+        public Node<Key, Value> without(int shift, int hash, Key key) {
+            int position = hash == this.hash ? position(key) : -1;
+            if (position < 0)
+                return this;
+            if (array.length == 2)
+                return null;
+            Object[] shrunk = new Object[array.length - 2];
+            System.arraycopy(array, 0, shrunk, 0, position);
+            System.arraycopy(array, position + 2, shrunk, position, shrunk.length - position);
+            return new CollisionNode<>(hash, shrunk);
+        }
+
+        @Override
+        public void forEach(BiConsumer<Key, Value> action) {
+            for (int position = 0; position < array.length; position += 2)
+                action.accept((Key) array[position], (Value) array[position + 1]);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package interpreter.model.symboltable;
+
+import interpreter.model.exceptions.SymbolTableException;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static interpreter.model.symboltable.SymbolTableHashMap.DEFAULT_MAX_SCOPE;
+import static interpreter.model.symboltable.SymbolTableHashMap.MIN_SCOPE;
+
+public class PersistentSymbolTable<Identifier, Value> implements SymbolTable<Identifier, Value> {
+    private record ScopedValue<Value>(Value value, int scope) {
+    }
+
+    private PersistentHashTrie<Identifier, ScopedValue<Value>> storage;
+    private int currentScope;
+
+    public PersistentSymbolTable() {
+        this(PersistentHashTrie.empty(), 0);
+    }
+
+    private PersistentSymbolTable(PersistentHashTrie<Identifier, ScopedValue<Value>> storage, int currentScope) {
+        this.storage = storage;
+        this.currentScope = currentScope;
+    }
+
+    @Override
+    public void put(Identifier identifier, Value value) throws SymbolTableException {
+        if (storage.get(identifier) != null)
+            throw new SymbolTableException("Redeclaration of variable -- %s".formatted(identifier));
+        storage = storage.put(identifier, new ScopedValue<>(value, currentScope));
+    }
+
+    @Override
+    public Value lookup(Identifier identifier) throws SymbolTableException {
+        ScopedValue<Value> entry = storage.get(identifier);
+        if (entry == null)
+            throw new SymbolTableException("Implicit declaration of variable -- %s ".formatted(identifier));
+        return entry.value();
+    }
+
+    @Override
+    public void update(Identifier identifier, Value value) throws SymbolTableException {
+        ScopedValue<Value> entry = storage.get(identifier);
+        if (entry == null)
+            throw new SymbolTableException("Use of an undeclared variable -- %s".formatted(identifier.toString()));
+        storage = storage.put(identifier, new ScopedValue<>(value, entry.scope()));
+    }
+
+    @Override
+    public void incScope() throws SymbolTableException {
+        if (currentScope >= DEFAULT_MAX_SCOPE) {
+            throw new SymbolTableException("Max scope depth exceeded -- %d/%d".formatted(currentScope, DEFAULT_MAX_SCOPE));
+        }
+        ++currentScope;
+    }
+
+    @Override
+    public void decScope() throws SymbolTableException {
+        if (currentScope <= MIN_SCOPE) {
+            throw new SymbolTableException("Minimum scope depth exceeded -- %d/%d".formatted(currentScope, MIN_SCOPE));
+        }
+        --currentScope;
+    }
+
+    @Override
+    public void removeOutOfScopeVariables() {
+        List<Identifier> outOfScope = new ArrayList<>();
+        storage.forEach((identifier, entry) -> {
+            if (entry.scope() >= currentScope)
+                outOfScope.add(identifier);
+        });
+        for (Identifier identifier : outOfScope)
+            storage = storage.remove(identifier);
+    }
+
+    @Override
+    public Collection<Value> getValues() {
+        List<Value> values = new ArrayList<>(storage.size());
+        storage.forEach((identifier, entry) -> values.add(entry.value()));
+        return values;
+    }
+
+    @Override
+    public SymbolTable<Identifier, Value> deepCopy() {
+        return new PersistentSymbolTable<>(storage, currentScope);
+    }
+
+    @Override
+    public Stream<Map.Entry<Identifier, Value>> stream() {
+        List<Map.Entry<Identifier, Value>> entries = new ArrayList<>(storage.size());
+        storage.forEach((identifier, entry) -> entries.add(new AbstractMap.SimpleImmutableEntry<>(identifier, entry.value())));
+        return entries.stream();
+    }
+
+    @Override
+    public String toString() {
+        return stream().
+                map(entry -> entry.getKey().toString() + " == " + entry.getValue() + " ; ").
+                collect(Collectors.joining());
+    }
+}
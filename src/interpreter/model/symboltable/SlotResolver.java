@@ -0,0 +1,97 @@
+package interpreter.model.symboltable;
+
+import interpreter.model.expressions.*;
+import interpreter.model.expressions.closures.ClosureExpression;
+import interpreter.model.statements.*;
+import interpreter.model.statements.filestatements.CloseFileStatement;
+import interpreter.model.statements.filestatements.OpenReadFileStatement;
+import interpreter.model.statements.filestatements.ReadFileStatement;
+import interpreter.model.statements.memorystatements.HeapAllocationStatement;
+import interpreter.model.statements.memorystatements.HeapWriteStatement;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/// Resolution pass, run after typechecking, giving every variable of a program a slot in a SymbolTableArray.
+/// The typechecker rejects shadowing, so one slot per name serves every scope and every forked thread of the program.
+/// Declarations, assignments and variable reads are marked with their slot in place; the returned names are the frame's side table.
+public class SlotResolver {
+    private final Map<String, Integer> slots = new LinkedHashMap<>();
+
+    private SlotResolver() {
+    }
+
+    public static String[] resolve(Statement program) {
+        SlotResolver resolver = new SlotResolver();
+        resolver.statement(program);
+        return resolver.slots.keySet().toArray(String[]::new);
+    }
+
+    private int slot(String identifier) {
+        return slots.computeIfAbsent(identifier, ignored -> slots.size());
+    }
+
+    private void statement(Statement statement) {
+        switch (statement) {
+            case SequenceStatement sequence -> sequence.getStatements().forEach(this::statement);
+            case CompoundStatement compound -> {
+                statement(compound.getFirstStatement());
+                statement(compound.getSecondStatement());
+            }
+            case WhileStatement loop -> {
+                expression(loop.getCondition());
+                statement(loop.getBody());
+            }
+            case IfStatement branch -> {
+                expression(branch.getCondition());
+                statement(branch.getBranchPositive());
+                statement(branch.getBranchNegative());
+            }
+            case ForkStatement fork -> statement(fork.getTargetStatement());
+            case VariableDeclarationStatement declaration -> declaration.resolve(slot(declaration.getIdentifier()));
+            case AssignStatement assignment -> {
+                expression(assignment.getExpressionAssignedToVar());
+                assignment.resolve(slot(assignment.getVariableIdentifier()));
+            }
+            case PrintStatement print -> expression(print.getExpressionToPrint());
+            case HeapAllocationStatement allocation -> {
+                expression(allocation.getExpression());
+                slot(allocation.getIdentifier());
+            }
+            case HeapWriteStatement write -> {
+                expression(write.getValueExpr());
+                slot(write.getIdentifier());
+            }
+            case OpenReadFileStatement open -> expression(open.getFilenameExpression());
+            case ReadFileStatement read -> {
+                expression(read.getFilenameExpression());
+                slot(read.getIdentifier());
+            }
+            case CloseFileStatement close -> expression(close.getFilenameExpression());
+            default -> {
+            }
+        }
+    }
+
+    private void expression(Expression expression) {
+        switch (expression) {
+            case VariableExpression variable -> variable.resolve(slot(variable.getIdentifier()));
+            case ArithmeticExpression arithmetic -> {
+                expression(arithmetic.getFirstExpression());
+                expression(arithmetic.getSecondExpression());
+            }
+            case RelationalExpression relational -> {
+                expression(relational.getFirstExpression());
+                expression(relational.getSecondExpression());
+            }
+            case LogicExpression logic -> {
+                expression(logic.getFirstExpression());
+                expression(logic.getSecondExpression());
+            }
+            case HeapReadExpression heapRead -> expression(heapRead.getOffsetSpecificationExpression());
+            case ClosureExpression compiled -> expression(compiled.getOriginal());
+            default -> {
+            }
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package interpreter.model.symboltable;
+
+import interpreter.model.exceptions.SymbolTableException;
+import interpreter.model.values.BoolValue;
+import interpreter.model.values.IntValue;
+import interpreter.model.values.Value;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/// Symbol table backed by a plain array, for programs whose variables were given slots by the SlotResolver.
+/// Slot-aware nodes load and store by index; lookups by name go through a side table from names to slots,
+/// which is shared by every copy of the frame.
+/// Ints and bools stored through the unboxed accessors stay primitive until something asks for their boxed value.
+public class SymbolTableArray implements SymbolTable<String, Value> {
+    static final int MIN_SCOPE = 0;
+    /// Marks a slot whose value lives in the primitives array
+    private static final Object UNBOXED_INT = new Object(), UNBOXED_BOOL = new Object();
+    private final String[] names;
+    private final Map<String, Integer> slots;
+    /// A slot holds null while its variable is not declared
+    private final Object[] values;
+    private final int[] primitives;
+    private final int[] declarationScopes;
+    /// Slots in declaration order, so leaving a scope pops exactly the variables it declared
+    private int[] declarations;
+    private int declarationCount;
+    private final int maxScope;
+    private int currentScope;
+
+    public SymbolTableArray(String[] names) {
+        this(names, SymbolTableHashMap.DEFAULT_MAX_SCOPE);
+    }
+
+    public SymbolTableArray(String[] names, int maxScope) {
+        this.names = names;
+        this.maxScope = maxScope;
+        this.slots = new HashMap<>();
+        for (int slot = 0; slot < names.length; slot++)
+            slots.put(names[slot], slot);
+        this.values = new Object[names.length];
+        this.primitives = new int[names.length];
+        this.declarationScopes = new int[names.length];
+        this.declarations = new int[Math.max(4, names.length)];
+    }
+
+    private SymbolTableArray(SymbolTableArray original) {
+        this.names = original.names;
+        this.slots = original.slots;
+        this.values = original.values.clone();
+        this.primitives = original.primitives.clone();
+        this.declarationScopes = original.declarationScopes.clone();
+        this.declarations = original.declarations.clone();
+        this.declarationCount = original.declarationCount;
+        this.maxScope = original.maxScope;
+        this.currentScope = original.currentScope;
+    }
+
+    private int slot(String identifier) throws SymbolTableException {
+        Integer slot = slots.get(identifier);
+        if (slot == null)
+            throw new SymbolTableException("Variable was not resolved to a slot -- %s".formatted(identifier));
+        return slot;
+    }
+
+    public void put(int slot, Value value) throws SymbolTableException {
+        if (values[slot] != null)
+            throw new SymbolTableException("Redeclaration of variable -- %s".formatted(names[slot]));
+        values[slot] = value;
+        declarationScopes[slot] = currentScope;
+        if (declarationCount == declarations.length)
+            declarations = Arrays.copyOf(declarations, declarationCount * 2);
+        declarations[declarationCount++] = slot;
+    }
+
+    public Value lookup(int slot) throws SymbolTableException {
+        Object value = values[slot];
+        if (value == null)
+            throw new SymbolTableException("Implicit declaration of variable -- %s ".formatted(names[slot]));
+        return boxed(slot);
+    }
+
+    public int lookupInt(int slot) throws SymbolTableException {
+        if (values[slot] == UNBOXED_INT)
+            return primitives[slot];
+        return ((IntValue) lookup(slot)).getValue();
+    }
+
+    public boolean lookupBool(int slot) throws SymbolTableException {
+        if (values[slot] == UNBOXED_BOOL)
+            return primitives[slot] != 0;
+        return ((BoolValue) lookup(slot)).isTrue();
+    }
+
+    public void update(int slot, Value value) throws SymbolTableException {
+        if (values[slot] == null)
+            throw new SymbolTableException("Use of an undeclared variable -- %s".formatted(names[slot]));
+        values[slot] = value;
+    }
+
+    public void updateInt(int slot, int value) throws SymbolTableException {
+        if (values[slot] == null)
+            throw new SymbolTableException("Use of an undeclared variable -- %s".formatted(names[slot]));
+        values[slot] = UNBOXED_INT;
+        primitives[slot] = value;
+    }
+
+    public void updateBool(int slot, boolean value) throws SymbolTableException {
+        if (values[slot] == null)
+            throw new SymbolTableException("Use of an undeclared variable -- %s".formatted(names[slot]));
+        values[slot] = UNBOXED_BOOL;
+        primitives[slot] = value ? 1 : 0;
+    }
+
+    private Value boxed(int slot) {
+        Object value = values[slot];
+        if (value == UNBOXED_INT)
+            return IntValue.of(primitives[slot]);
+        if (value == UNBOXED_BOOL)
+            return BoolValue.of(primitives[slot] != 0);
+        return (Value) value;
+    }
+
+    @Override
+    public void put(String identifier, Value value) throws SymbolTableException {
+        put(slot(identifier), value);
+    }
+
+    @Override
+    public Value lookup(String identifier) throws SymbolTableException {
+        Integer slot = slots.get(identifier);
+        if (slot == null)
+            throw new SymbolTableException("Implicit declaration of variable -- %s ".formatted(identifier));
+        return lookup(slot);
+    }
+
+    @Override
+    public void update(String identifier, Value value) throws SymbolTableException {
+        Integer slot = slots.get(identifier);
+        if (slot == null)
+            throw new SymbolTableException("Use of an undeclared variable -- %s".formatted(identifier));
+        update(slot, value);
+    }
+
+    @Override
+    public void incScope() throws SymbolTableException {
+        if (currentScope >= maxScope)
+            throw new SymbolTableException("Max scope depth exceeded -- %d/%d".formatted(currentScope, maxScope));
+        ++currentScope;
+    }
+
+    @Override
+    public void decScope() throws SymbolTableException {
+        if (currentScope <= MIN_SCOPE)
+            throw new SymbolTableException("Minimum scope depth exceeded -- %d/%d".formatted(currentScope, MIN_SCOPE));
+        --currentScope;
+    }
+
+    @Override
+    public void removeOutOfScopeVariables() {
+        while (declarationCount > 0 && declarationScopes[declarations[declarationCount - 1]] >= currentScope)
+            values[declarations[--declarationCount]] = null;
+    }
+
+    @Override
+    public Collection<Value> getValues() {
+        List<Value> declared = new ArrayList<>(declarationCount);
+        for (int index = 0; index < declarationCount; index++)
+            declared.add(boxed(declarations[index]));
+        return declared;
+    }
+
+    @Override
+    public SymbolTable<String, Value> deepCopy() {
+        return new SymbolTableArray(this);
+    }
+
+    @Override
+    public Stream<Map.Entry<String, Value>> stream() {
+        List<Map.Entry<String, Value>> entries = new ArrayList<>(declarationCount);
+        for (int index = 0; index < declarationCount; index++)
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(names[declarations[index]], boxed(declarations[index])));
+        return entries.stream();
+    }
+
+    @Override
+    public String toString() {
+        return stream().
+                map(entry -> entry.getKey() + " == " + entry.getValue() + " ; ").
+                collect(Collectors.joining());
+    }
+}
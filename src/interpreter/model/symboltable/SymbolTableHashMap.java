@@ -1,63 +1,70 @@
 package interpreter.model.symboltable;
 
-import interpreter.model.exceptions.ExpressionException;
 import interpreter.model.exceptions.SymbolTableException;
 import interpreter.model.utils.DeepCopiable;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class SymbolTableHashMap<Identifier, Value extends DeepCopiable> implements SymbolTable<Identifier, Value> {
-    private static class MyPair<T1 extends DeepCopiable, T2> implements DeepCopiable {
-        private final T1 first;
-        private final T2 second;
-
-        MyPair(T1 f, T2 s) {
-            first = f;
-            second = s;
-        }
-
-        public T1 first() {
-            return first;
-        }
-
-        public T2 second() {
-            return second;
+    /// A declared variable; updates overwrite its value in place instead of replacing the entry
+    private static class Slot<T> {
+        private T value;
+        private final int scope;
+
+        Slot(T value, int scope) {
+            this.value = value;
+            this.scope = scope;
         }
 
         @Override
         public String toString() {
-            return "(%s , %s)".formatted(first.toString(), second.toString());
-        }
-
-        @Override
-        public MyPair<T1, T2> deepCopy() throws ExpressionException {
-            return new MyPair<>((T1) first.deepCopy(), second);
+            return "(%s , %s)".formatted(value.toString(), scope);
         }
     }
 
-    static final int MAX_SCOPE = 512, MIN_SCOPE = 0;
-    final Map<Identifier, MyPair<Value, Integer>> storage;
+    public static final int DEFAULT_MAX_SCOPE = 512;
+    static final int MIN_SCOPE = 0;
+    final Map<Identifier, Slot<Value>> storage;
+    /// Undo log of the variables in declaration order, so leaving a scope pops exactly the variables it declared
+    final List<Identifier> declarations;
+    final int maxScope;
     int currentScope;
 
     public SymbolTableHashMap() {
-        this.storage = new HashMap<>();
-        this.currentScope = 0;
+        this(DEFAULT_MAX_SCOPE);
     }
 
-    private SymbolTableHashMap(Map<Identifier, MyPair<Value, Integer>> copiedStorage, int currentScope) {
+    public SymbolTableHashMap(int maxScope) {
+        this(new HashMap<>(), new ArrayList<>(), maxScope, 0);
+    }
+
+    private SymbolTableHashMap(Map<Identifier, Slot<Value>> copiedStorage, List<Identifier> declarations, int maxScope, int currentScope) {
         this.storage = copiedStorage;
+        this.declarations = declarations;
+        this.maxScope = maxScope;
         this.currentScope = currentScope;
     }
 
+    public int getMaxScope() {
+        return maxScope;
+    }
+
+    public int getCurrentScope() {
+        return currentScope;
+    }
+
     @Override
     public void put(Identifier identifier, Value valueInformation) throws SymbolTableException {
         if (storage.containsKey(identifier))
             throw new SymbolTableException("Redeclaration of variable -- %s".formatted(identifier));
-        storage.put(identifier, new MyPair<>(valueInformation, currentScope));
+        storage.put(identifier, new Slot<>(valueInformation, currentScope));
+        declarations.add(identifier);
     }
 
     @Override
@@ -65,20 +72,21 @@ public class SymbolTableHashMap<Identifier, Value extends DeepCopiable> implemen
         var aux = storage.get(identifier);
         if (aux == null)
             throw new SymbolTableException("Implicit declaration of variable -- %s ".formatted(identifier));
-        return storage.get(identifier).first();
+        return aux.value;
     }
 
     @Override
     public void update(Identifier identifier, Value value) throws SymbolTableException {
-        if (!storage.containsKey(identifier))
+        var aux = storage.get(identifier);
+        if (aux == null)
             throw new SymbolTableException("Use of an undeclared variable -- %s".formatted(identifier.toString()));
-        storage.put(identifier, new MyPair<>(value, storage.get(identifier).second()));
+        aux.value = value;
     }
 
     @Override
     public void incScope() throws SymbolTableException {
-        if (currentScope >= MAX_SCOPE) {
-            throw new SymbolTableException("Max scope depth exceeded -- %d/%d".formatted(currentScope, MAX_SCOPE));
+        if (currentScope >= maxScope) {
+            throw new SymbolTableException("Max scope depth exceeded -- %d/%d".formatted(currentScope, maxScope));
         }
         ++currentScope;
     }
@@ -93,7 +101,8 @@ public class SymbolTableHashMap<Identifier, Value extends DeepCopiable> implemen
 
     @Override
     public void removeOutOfScopeVariables() {
-        storage.keySet().removeIf(id -> storage.get(id).second() >= currentScope);
+        while (!declarations.isEmpty() && storage.get(declarations.getLast()).scope >= currentScope)
+            storage.remove(declarations.removeLast());
     }
 
     @Override
@@ -101,20 +110,20 @@ public class SymbolTableHashMap<Identifier, Value extends DeepCopiable> implemen
         return storage
                 .keySet()
                 .stream()
-                .map(key -> storage.get(key).first())
+                .map(key -> storage.get(key).value)
                 .collect(Collectors.toList());
     }
 
     public SymbolTable<Identifier, Value> deepCopy() {
-        Map<Identifier, MyPair<Value, Integer>> copiedStorage = storage
+        Map<Identifier, Slot<Value>> copiedStorage = storage
                 .entrySet()
                 .stream()
                 .collect(Collectors.toMap(
                                 Map.Entry::getKey,
-                                entry -> this.storage.get(entry.getKey())
+                                entry -> new Slot<>(entry.getValue().value, entry.getValue().scope)
                         )
                 );
-        return new SymbolTableHashMap<>(copiedStorage, currentScope);
+        return new SymbolTableHashMap<>(copiedStorage, new ArrayList<>(declarations), maxScope, currentScope);
     }
 
     @Override
@@ -127,7 +136,7 @@ public class SymbolTableHashMap<Identifier, Value extends DeepCopiable> implemen
 
             @Override
             public Value getValue() {
-                return entry.getValue().first();
+                return entry.getValue().value;
             }
 
             @Override
@@ -141,7 +150,7 @@ public class SymbolTableHashMap<Identifier, Value extends DeepCopiable> implemen
     @Override
     public String toString() {
         return storage.keySet().stream().
-                map(key -> key.toString() + " == " + storage.get(key).first() + " ; ").
+                map(key -> key.toString() + " == " + storage.get(key).value + " ; ").
                 collect(Collectors.joining());
     }
 
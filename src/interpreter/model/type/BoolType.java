@@ -4,12 +4,9 @@ import interpreter.model.values.BoolValue;
 import interpreter.model.values.Value;
 
 public non-sealed class BoolType implements Type {
-    private static BoolType instance = null;
+    private static final BoolType instance = new BoolType();
     private BoolType(){}
     public static BoolType get(){
-        if (instance == null) {
-            instance = new BoolType();
-        }
         return instance;
     }
     @Override
@@ -19,7 +16,7 @@ public non-sealed class BoolType implements Type {
 
     @Override
     public Value getDefault() {
-        return new BoolValue(false);
+        return BoolValue.of(false);
     }
 
 
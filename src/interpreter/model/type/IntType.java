@@ -4,13 +4,10 @@ import interpreter.model.values.IntValue;
 import interpreter.model.values.Value;
 
 public non-sealed class IntType implements Type{
-    private static IntType instance;
+    private static final IntType instance = new IntType();
     private IntType() {}
 
     public static IntType get() {
-        if (instance == null) {
-            instance = new IntType();
-        }
         return instance;
     }
     @Override
@@ -20,7 +17,7 @@ public non-sealed class IntType implements Type{
 
     @Override
     public Value getDefault() {
-        return new IntValue(0);
+        return IntValue.of(0);
     }
 
     @Override
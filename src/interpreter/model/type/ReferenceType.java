@@ -3,20 +3,19 @@ package interpreter.model.type;
 import interpreter.model.values.ReferenceValue;
 import interpreter.model.values.Value;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public non-sealed class ReferenceType implements Type {
     final Type inner;
-    final static Map<Type, ReferenceType> instances = new HashMap<>();
+    final static Map<Type, ReferenceType> instances = new ConcurrentHashMap<>();
 
     private ReferenceType(Type t) {
         inner = t;
     }
 
     static public Type get(Type t) {
-        instances.computeIfAbsent(t, ReferenceType::new);
-        return instances.get(t);
+        return instances.computeIfAbsent(t, ReferenceType::new);
     }
 
     public Type getInner() {
@@ -4,12 +4,10 @@ import interpreter.model.values.StringValue;
 import interpreter.model.values.Value;
 
 public non-sealed class StringType implements Type{
-    private static StringType instance = null;
+    private static final StringType instance = new StringType();
     private StringType(){}
 
     public static StringType get(){
-        if(instance == null)
-            instance = new StringType();
         return instance;
     }
     @Override
@@ -8,16 +8,18 @@ import interpreter.model.values.operationinterfaces.Testable;
 
 public class BoolValue implements Value, Testable<Value>, Logical {
 
+    /// The only two instances; values are immutable, so every bool the interpreter produces is one of them
+    public static final BoolValue TRUE = new BoolValue(true), FALSE = new BoolValue(false);
+
     final boolean value;
 
-    public BoolValue() {
+    private BoolValue(boolean b) {
         super();
-        value = false;
+        value = b;
     }
 
-    public BoolValue(boolean b) {
-        super();
-        value = b;
+    public static BoolValue of(boolean value) {
+        return value ? TRUE : FALSE;
     }
 
     public boolean getValue() {
@@ -40,13 +42,13 @@ public class BoolValue implements Value, Testable<Value>, Logical {
 
     @Override
     public Value deepCopy() {
-        return new BoolValue(this.value);
+        return this;
     }
 
     @Override
     public BoolValue or(Value other) throws ValueException {
         if (other instanceof BoolValue boolOther)
-            return new BoolValue(this.value || boolOther.value);
+            return BoolValue.of(this.value || boolOther.value);
         throw new ValueException("Cannot execute a logical 'AND' on a non-boolean type-- provided " + other.getType());
 
     }
@@ -54,24 +56,24 @@ public class BoolValue implements Value, Testable<Value>, Logical {
     @Override
     public BoolValue and(Value other) throws ValueException {
         if (other instanceof BoolValue boolOther)
-            return new BoolValue(this.value && boolOther.value);
+            return BoolValue.of(this.value && boolOther.value);
         throw new ValueException("Cannot execute a logical 'AND' on a non-boolean type-- provided " + other.getType());
     }
 
     @Override
     public BoolValue not() {
-        return new BoolValue(!this.value);
+        return BoolValue.of(!this.value);
     }
 
     @Override
     public BoolValue equal(Value other) throws ValueException {
         if (other instanceof BoolValue boolOther)
-            return new BoolValue(this.value == boolOther.value);
+            return BoolValue.of(this.value == boolOther.value);
         throw new ValueException("Cannot test for equality between different types -- provided %s".formatted(other.getType()));
     }
 
     @Override
     public BoolValue notEqual(Value other) throws ValueException {
-        return new BoolValue(!(this.equal(other).value));
+        return BoolValue.of(!(this.equal(other).value));
     }
 }
@@ -10,13 +10,27 @@ import interpreter.model.values.operationinterfaces.Comparable;
 
 public class IntValue implements Value, Numeric<Value>, Additive<Value>, Testable<Value>, Comparable<Value> {
 
+    /// Values are immutable, so the small ones -- loop counters, flags, heap addresses -- are shared rather than
+    /// allocated each time an expression produces them
+    private static final int CACHE_LOW = -1024, CACHE_HIGH = 1024;
+    private static final IntValue[] CACHE = new IntValue[CACHE_HIGH - CACHE_LOW];
+
+    static {
+        for (int index = 0; index < CACHE.length; index++)
+            CACHE[index] = new IntValue(index + CACHE_LOW);
+    }
+
     final int value;
 
-    public IntValue(int i) {
+    private IntValue(int i) {
         super();
         value = i;
     }
 
+    public static IntValue of(int value) {
+        return value >= CACHE_LOW && value < CACHE_HIGH ? CACHE[value - CACHE_LOW] : new IntValue(value);
+    }
+
     public int getValue() {
         return value;
     }
@@ -34,7 +48,7 @@ public class IntValue implements Value, Numeric<Value>, Additive<Value>, Testabl
     @Override
     public Value add(Value other) throws ValueException {
         if (other instanceof IntValue intOther) {
-            return new IntValue(this.value + intOther.value);
+            return IntValue.of(this.value + intOther.value);
         }
         throw new ValueException("Adding to an integer must be done using another integer-- provided %s".formatted(other.getType()));
     }
@@ -42,7 +56,7 @@ public class IntValue implements Value, Numeric<Value>, Additive<Value>, Testabl
     @Override
     public Value sub(Value other) throws ValueException {
         if (other instanceof IntValue intOther) {
-            return new IntValue(this.value - intOther.value);
+            return IntValue.of(this.value - intOther.value);
         }
         throw new ValueException("Subtracting from an integer must be done using another integer-- provided %s".formatted(other.getType()));
     }
@@ -50,7 +64,7 @@ public class IntValue implements Value, Numeric<Value>, Additive<Value>, Testabl
     @Override
     public Value mul(Value other) throws ValueException {
         if (other instanceof IntValue intOther) {
-            return new IntValue(this.value * intOther.value);
+            return IntValue.of(this.value * intOther.value);
         }
         throw new ValueException("Multiplying an integer must be done using another integer-- provided %s".formatted(other.getType()));
     }
@@ -59,13 +73,22 @@ public class IntValue implements Value, Numeric<Value>, Additive<Value>, Testabl
     public Value div(Value other) throws ValueException {
 
         if (other instanceof IntValue intOther) {
-            if (intOther.value == 0)
-                throw new ValueException("Division by 0");
-            return new IntValue(this.value / intOther.value);
+            return IntValue.of(div(this.value, intOther.value));
         }
         throw new ValueException("Dividing an integer must be done using another integer-- provided %s".formatted(other.getType()));
     }
 
+    /// Unboxed division, shared with the expression nodes that evaluate ints without allocating
+    public static int div(int dividend, int divisor) throws ValueException {
+        if (divisor == 0)
+            throw new ValueException("Division by 0");
+        return dividend / divisor;
+    }
+
+    public static int exp(int base, int exponent) throws ValueException {
+        return (exponent > 0) ? fastExp(base, exponent) : fastNegativeExp(base, exponent);
+    }
+
     private static int fastExp(int base, int exp) {
         return switch (exp) {
             case 0 -> 1;
@@ -93,15 +116,14 @@ public class IntValue implements Value, Numeric<Value>, Additive<Value>, Testabl
     @Override
     public Value exp(Value other) throws ValueException {
         if (other instanceof IntValue intOther) {
-            var var = (intOther.value > 0) ? fastExp(this.value, intOther.value) : fastNegativeExp(this.value, intOther.value);
-            return new IntValue(var);
+            return IntValue.of(exp(this.value, intOther.value));
         } else throw new ValueException("When raising to a power, the base and exponent must be of the same type");
     }
 
     @Override
     public BoolValue equal(Value other) throws ValueException {
         if (other instanceof IntValue intOther) {
-            return new BoolValue(this.value == intOther.value);
+            return BoolValue.of(this.value == intOther.value);
         }
         throw new ValueException("Cannot test integer for equality with an instance of a different type -- provided " + other.getType());
     }
@@ -109,7 +131,7 @@ public class IntValue implements Value, Numeric<Value>, Additive<Value>, Testabl
     @Override
     public BoolValue notEqual(Value other) throws ValueException {
         if (other instanceof IntValue intOther) {
-            return new BoolValue(this.value != intOther.value);
+            return BoolValue.of(this.value != intOther.value);
         }
         throw new ValueException("Cannot test integer for inequality with an instance of a different type -- provided " + other.getType());
     }
@@ -117,7 +139,7 @@ public class IntValue implements Value, Numeric<Value>, Additive<Value>, Testabl
     @Override
     public BoolValue greater(Value other) throws ValueException {
         if (other instanceof IntValue intOther) {
-            return new BoolValue(this.value > intOther.value);
+            return BoolValue.of(this.value > intOther.value);
         }
         throw new ValueException("Cannot compare integer with an instance of different type -- provided " + other.getType());
     }
@@ -125,7 +147,7 @@ public class IntValue implements Value, Numeric<Value>, Additive<Value>, Testabl
     @Override
     public BoolValue lower(Value other) throws ValueException {
         if (other instanceof IntValue intOther) {
-            return new BoolValue(this.value < intOther.value);
+            return BoolValue.of(this.value < intOther.value);
         }
         throw new ValueException("Cannot compare integer with an instance of different type -- provided " + other.getType());
     }
@@ -133,7 +155,7 @@ public class IntValue implements Value, Numeric<Value>, Additive<Value>, Testabl
     @Override
     public BoolValue greaterOrEqual(Value other) throws ValueException {
         if (other instanceof IntValue intOther) {
-            return new BoolValue(this.value >= intOther.value);
+            return BoolValue.of(this.value >= intOther.value);
         }
         throw new ValueException("Cannot compare integer with an instance of different type -- provided " + other.getType());
     }
@@ -141,13 +163,13 @@ public class IntValue implements Value, Numeric<Value>, Additive<Value>, Testabl
     @Override
     public BoolValue lowerOrEqual(Value other) throws ValueException {
         if (other instanceof IntValue intOther) {
-            return new BoolValue(this.value <= intOther.value);
+            return BoolValue.of(this.value <= intOther.value);
         }
         throw new ValueException("Cannot compare integer with an instance of different type -- provided " + other.getType());
     }
 
     @Override
     public Value deepCopy() {
-        return new IntValue(this.value);
+        return this;
     }
 }
@@ -14,6 +14,9 @@ public class ReferenceValue implements Value, Testable<Value>{
     public int getAddress(){
         return address;
     }
+    public Type getLocationType() {
+        return locationType;
+    }
     @Override
     public Type getType() {
         return ReferenceType.get(locationType);
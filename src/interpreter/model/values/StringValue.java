@@ -49,7 +49,7 @@ public class StringValue implements Value, Additive<Value>, Comparable<Value>, T
     @Override
     public BoolValue equal(Value other) throws ValueException {
         if (other instanceof StringValue stringValue) {
-            return new BoolValue(Objects.equals(this.value, stringValue.value));
+            return BoolValue.of(Objects.equals(this.value, stringValue.value));
         }
         throw new ValueException("Cannot test string for equality with an instance of a different type -- provided " + other.getType());
     }
@@ -57,7 +57,7 @@ public class StringValue implements Value, Additive<Value>, Comparable<Value>, T
     @Override
     public BoolValue notEqual(Value other) throws ValueException {
         if (other instanceof StringValue stringValue) {
-            return new BoolValue(!Objects.equals(this.value, stringValue.value));
+            return BoolValue.of(!Objects.equals(this.value, stringValue.value));
         }
         throw new ValueException("Cannot test string for inequality with an instance of a different type -- provided " + other.getType());
     }
@@ -65,7 +65,7 @@ public class StringValue implements Value, Additive<Value>, Comparable<Value>, T
     @Override
     public BoolValue greater(Value other) throws ValueException {
         if (other instanceof StringValue stringValue) {
-            return new BoolValue(this.value.compareTo(stringValue.value) > 0);
+            return BoolValue.of(this.value.compareTo(stringValue.value) > 0);
         }
         throw new ValueException("Cannot compare string with an instance of a different type -- provided " + other.getType());
     }
@@ -73,7 +73,7 @@ public class StringValue implements Value, Additive<Value>, Comparable<Value>, T
     @Override
     public BoolValue lower(Value other) throws ValueException {
         if (other instanceof StringValue stringValue) {
-            return new BoolValue(this.value.compareTo(stringValue.value) < 0);
+            return BoolValue.of(this.value.compareTo(stringValue.value) < 0);
         }
         throw new ValueException("Cannot compare string with an instance of a different type -- provided " + other.getType());
     }
@@ -81,7 +81,7 @@ public class StringValue implements Value, Additive<Value>, Comparable<Value>, T
     @Override
     public BoolValue greaterOrEqual(Value other) throws ValueException {
         if (other instanceof StringValue stringValue) {
-            return new BoolValue(this.value.compareTo(stringValue.value) >= 0);
+            return BoolValue.of(this.value.compareTo(stringValue.value) >= 0);
         }
         throw new ValueException("Cannot compare string with an instance of a different type -- provided " + other.getType());
     }
@@ -89,7 +89,7 @@ public class StringValue implements Value, Additive<Value>, Comparable<Value>, T
     @Override
     public BoolValue lowerOrEqual(Value other) throws ValueException {
         if (other instanceof StringValue stringValue) {
-            return new BoolValue(this.value.compareTo(stringValue.value) <= 0);
+            return BoolValue.of(this.value.compareTo(stringValue.value) <= 0);
         }
         throw new ValueException("Cannot compare string with an instance of a different type -- provided " + other.getType());
     }
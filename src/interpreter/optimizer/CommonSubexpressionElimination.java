@@ -0,0 +1,218 @@
+package interpreter.optimizer;
+
+import interpreter.model.expressions.Expression;
+import interpreter.model.expressions.ValueExpression;
+import interpreter.model.expressions.VariableExpression;
+import interpreter.model.statements.*;
+import interpreter.model.statements.memorystatements.HeapAllocationStatement;
+import interpreter.model.statements.memorystatements.HeapWriteStatement;
+import interpreter.model.type.Type;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/// Computes an expression that occurs several times within a basic block -- a run of statements of a sequence with no
+/// loop, if or fork between them -- once, into a temporary declared before its first use.
+/// Two occurrences are the same value when they print alike and none of their variables, nor the heap for heap reads,
+/// was written in between: every variable and the heap carry a version that each write bumps, and the versions are part
+/// of an occurrence's key. Like code motion, only expressions that cannot fail are shared, and heap reads only in
+/// programs that never fork.
+public class CommonSubexpressionElimination extends OptimizationPass {
+    static final String PREFIX = "$common";
+    private static final String HEAP = "$heap";
+    private final Set<String> identifiers = new HashSet<>();
+    private final Map<String, Type> temporaries = new HashMap<>();
+    private boolean heapShared;
+
+    @Override
+    public Statement run(Statement program) {
+        ProgramTrees.identifiers(program, identifiers);
+        heapShared = ProgramTrees.forks(program);
+        return statement(program);
+    }
+
+    private Statement statement(Statement statement) {
+        if (!(statement instanceof SequenceStatement || statement instanceof CompoundStatement))
+            return ProgramTrees.rebuild(statement, this::statement, expression -> expression);
+        List<Statement> flattened = flatten(statement, new ArrayList<>()), block = new ArrayList<>(flattened.size());
+        boolean changed = false;
+        for (Statement inner : flattened) {
+            Statement rewritten = statement(inner);
+            changed |= rewritten != inner;
+            block.add(rewritten);
+        }
+        List<Statement> shared = block(block);
+        if (shared != null)
+            return new SequenceStatement(shared);
+        return changed ? new SequenceStatement(block) : statement;
+    }
+
+    /// Sequences and compound statements open no scope, so a chain of them is one list of statements
+    private static List<Statement> flatten(Statement statement, List<Statement> statements) {
+        switch (statement) {
+            case CompoundStatement compound -> {
+                flatten(compound.getFirstStatement(), statements);
+                flatten(compound.getSecondStatement(), statements);
+            }
+            case SequenceStatement sequence -> sequence.getStatements().forEach(inner -> flatten(inner, statements));
+            default -> statements.add(statement);
+        }
+        return statements;
+    }
+
+    private static final class Candidate {
+        final Expression expression;
+        /// Statement before which the temporary is computed
+        final int first;
+        final int size;
+        /// Keys of the shareable expressions inside one occurrence, once per occurrence of each
+        final List<String> inner = new ArrayList<>();
+        int count;
+        boolean shared;
+        String temporary;
+
+        Candidate(Expression expression, int first) {
+            this.expression = expression;
+            this.first = first;
+            this.size = ProgramTrees.size(expression);
+        }
+    }
+
+    /// Returns the statements of the block with its common subexpressions shared, or null if it has none
+    private List<Statement> block(List<Statement> statements) {
+        Map<String, Candidate> candidates = new LinkedHashMap<>();
+        new Scan(statements) {
+            @Override
+            void occurrence(Expression expression, String key, int index, List<String> enclosing) {
+                Candidate candidate = candidates.computeIfAbsent(key, ignored -> new Candidate(expression, index));
+                candidate.count++;
+                for (String outer : enclosing)
+                    if (candidates.get(outer).count == 1)
+                        candidates.get(outer).inner.add(key);
+            }
+        }.run();
+        // the largest expressions are shared first; the occurrences of their operands inside them then count once
+        List<Candidate> bySize = new ArrayList<>(candidates.values());
+        bySize.sort(Comparator.comparingInt((Candidate candidate) -> candidate.size).reversed());
+        boolean any = false;
+        for (Candidate candidate : bySize) {
+            if (candidate.count < 2)
+                continue;
+            candidate.shared = any = true;
+            for (String inner : candidate.inner)
+                candidates.get(inner).count -= candidate.count - 1;
+        }
+        if (!any)
+            return null;
+        List<Statement> rewritten = new ArrayList<>();
+        new Scan(statements) {
+            @Override
+            void visit(Statement statement, int index) {
+                candidates.values().stream()
+                        .filter(candidate -> candidate.shared && candidate.first == index)
+                        .sorted(Comparator.comparingInt(candidate -> candidate.size))
+                        .forEach(candidate -> {
+                            Expression value = ProgramTrees.rebuild(candidate.expression, this::replace);
+                            candidate.temporary = fresh();
+                            Type type = ProgramTrees.typeOf(candidate.expression, temporaries);
+                            temporaries.put(candidate.temporary, type);
+                            rewritten.add(new VariableDeclarationStatement(type, candidate.temporary));
+                            rewritten.add(new AssignStatement(candidate.temporary, value));
+                        });
+                rewritten.add(ProgramTrees.children(statement).isEmpty()
+                        ? ProgramTrees.rebuild(statement, inner -> inner, this::replace) : statement);
+            }
+
+            private Expression replace(Expression expression) {
+                String key = key(expression);
+                Candidate candidate = key == null ? null : candidates.get(key);
+                if (candidate != null && candidate.temporary != null) {
+                    countRemoved(candidate.size - 1);
+                    return new VariableExpression(candidate.temporary);
+                }
+                return ProgramTrees.rebuild(expression, this::replace);
+            }
+        }.run();
+        return rewritten;
+    }
+
+    private String fresh() {
+        String name;
+        do name = PREFIX + identifiers.size();
+        while (!identifiers.add(name));
+        return name;
+    }
+
+    /// Walks a block in evaluation order, keeping the versions that candidate keys are made of
+    private abstract class Scan {
+        private final List<Statement> statements;
+        private final Map<String, Integer> versions = new HashMap<>();
+        /// Variables known to hold a live allocation, whose heap cells can be read without failing
+        private final Set<String> allocated = new HashSet<>();
+
+        Scan(List<Statement> statements) {
+            this.statements = statements;
+        }
+
+        void occurrence(Expression expression, String key, int index, List<String> enclosing) {
+        }
+
+        void visit(Statement statement, int index) {
+        }
+
+        void run() {
+            for (int index = 0; index < statements.size(); index++) {
+                Statement statement = statements.get(index);
+                if (ProgramTrees.children(statement).isEmpty())
+                    for (Expression expression : ProgramTrees.expressions(statement))
+                        collect(expression, index, new ArrayList<>());
+                visit(statement, index);
+                // a loop, if or fork ends the block; whatever it may write is forgotten
+                Set<String> written = new HashSet<>();
+                ProgramTrees.targets(statement, written);
+                written.forEach(variable -> versions.merge(variable, 1, Integer::sum));
+                allocated.removeAll(written);
+                if (statement instanceof HeapAllocationStatement allocation
+                        && ProgramTrees.isSafe(allocation.getExpression(), allocated, false, temporaries))
+                    allocated.add(allocation.getIdentifier());
+                if (statement instanceof HeapWriteStatement || ProgramTrees.writesHeap(statement))
+                    versions.merge(HEAP, 1, Integer::sum);
+            }
+        }
+
+        /// Key of an expression at the current point of the block, or null if it cannot be shared
+        String key(Expression expression) {
+            if (ProgramTrees.operands(expression).isEmpty()
+                    || !ProgramTrees.isSafe(expression, allocated, !heapShared, temporaries))
+                return null;
+            Set<String> variables = new HashSet<>();
+            ProgramTrees.variables(expression, variables);
+            StringBuilder key = new StringBuilder(expression.toString());
+            for (String variable : variables)
+                key.append(' ').append(variable).append('@').append(versions.getOrDefault(variable, 0));
+            if (ProgramTrees.readsHeap(expression))
+                key.append(" heap@").append(versions.getOrDefault(HEAP, 0));
+            return key.toString();
+        }
+
+        private void collect(Expression expression, int index, List<String> enclosing) {
+            if (expression instanceof ValueExpression || expression instanceof VariableExpression)
+                return;
+            String key = key(expression);
+            if (key != null) {
+                occurrence(expression, key, index, enclosing);
+                enclosing.add(key);
+            }
+            for (Expression operand : ProgramTrees.operands(expression))
+                collect(operand, index, enclosing);
+            if (key != null)
+                enclosing.removeLast();
+        }
+    }
+}
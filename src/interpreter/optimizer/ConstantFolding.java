@@ -0,0 +1,31 @@
+package interpreter.optimizer;
+
+import interpreter.model.expressions.*;
+import interpreter.model.values.Value;
+
+/// Replaces arithmetic, relational and logic expressions whose operands are both constants with their value.
+/// Expressions that would fail, like a division by a constant 0, are left for the program to fail on at run time.
+public class ConstantFolding extends OptimizationPass {
+    @Override
+    protected Expression rewrite(Expression expression) {
+        boolean foldable = switch (expression) {
+            case ArithmeticExpression arithmetic -> constant(arithmetic.getFirstExpression(), arithmetic.getSecondExpression());
+            case RelationalExpression relational -> constant(relational.getFirstExpression(), relational.getSecondExpression());
+            case LogicExpression logic -> constant(logic.getFirstExpression(), logic.getSecondExpression());
+            default -> false;
+        };
+        if (!foldable)
+            return expression;
+        try {
+            // constant operands never touch the program state
+            Value value = expression.evaluate(null);
+            return value == null ? expression : new ValueExpression(value);
+        } catch (Exception e) {
+            return expression;
+        }
+    }
+
+    private static boolean constant(Expression first, Expression second) {
+        return first instanceof ValueExpression && second instanceof ValueExpression;
+    }
+}
@@ -0,0 +1,49 @@
+package interpreter.optimizer;
+
+import interpreter.model.expressions.Expression;
+import interpreter.model.expressions.ValueExpression;
+import interpreter.model.statements.*;
+import interpreter.model.values.BoolValue;
+
+/// Drops the branch of an if whose condition is a constant, and loops whose condition is constant false.
+/// The taken branch replaces the if only when it declares no variables of its own: otherwise it still needs the scope
+/// the if opens for it, and the if is kept with the dead branch emptied.
+public class DeadBranchElimination extends OptimizationPass {
+    @Override
+    protected Statement rewrite(Statement statement) {
+        switch (statement) {
+            case IfStatement branch when branch.getCondition() instanceof ValueExpression condition -> {
+                boolean taken = ((BoolValue) condition.getValue()).isTrue();
+                Statement live = taken ? branch.getBranchPositive() : branch.getBranchNegative();
+                Statement dead = taken ? branch.getBranchNegative() : branch.getBranchPositive();
+                if (!declaresVariables(live))
+                    return live;
+                if (dead instanceof NoOperationStatement)
+                    return statement;
+                return taken ? new IfStatement(condition, live, new NoOperationStatement())
+                        : new IfStatement(condition, new NoOperationStatement(), live);
+            }
+            case WhileStatement loop when isFalse(loop.getCondition()) -> {
+                return new NoOperationStatement();
+            }
+            default -> {
+                return statement;
+            }
+        }
+    }
+
+    private static boolean isFalse(Expression condition) {
+        return condition instanceof ValueExpression constant && !((BoolValue) constant.getValue()).isTrue();
+    }
+
+    /// Whether the statement declares variables in the scope it runs in; loops, ifs and forks declare in scopes of their own
+    private static boolean declaresVariables(Statement statement) {
+        return switch (statement) {
+            case VariableDeclarationStatement ignored -> true;
+            case SequenceStatement sequence -> sequence.getStatements().stream().anyMatch(DeadBranchElimination::declaresVariables);
+            case CompoundStatement compound ->
+                    declaresVariables(compound.getFirstStatement()) || declaresVariables(compound.getSecondStatement());
+            default -> false;
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package interpreter.optimizer;
+
+import interpreter.model.expressions.Expression;
+import interpreter.model.expressions.LogicExpression;
+import interpreter.model.expressions.ValueExpression;
+import interpreter.model.operands.Operand;
+import interpreter.model.values.BoolValue;
+
+import java.util.Map;
+import java.util.Set;
+
+/// Turns & and | into && and || wherever skipping the second operand is invisible, i.e. it cannot fail, and then puts
+/// the cheaper operand of a && or || first when neither can fail, so the costly one is evaluated only when needed.
+/// A constant first operand that decides the result replaces the whole expression, and one that does not is dropped.
+public class LazyLogic extends OptimizationPass {
+    @Override
+    protected Expression rewrite(Expression expression) {
+        if (!(expression instanceof LogicExpression logic))
+            return expression;
+        Operand operand = logic.getOperand();
+        Expression first = logic.getFirstExpression(), second = logic.getSecondExpression();
+        if (!operand.shortCircuit()) {
+            if (!safe(second))
+                return expression;
+            operand = lazy(operand);
+        }
+        if (safe(first) && safe(second) && ProgramTrees.size(second) < ProgramTrees.size(first)) {
+            Expression cheaper = second;
+            second = first;
+            first = cheaper;
+        }
+        if (first instanceof ValueExpression constant && constant.getValue() instanceof BoolValue value)
+            return value.isTrue() == (operand == Operand.CONDITIONAL_OR) ? first : second;
+        return operand == logic.getOperand() && first == logic.getFirstExpression() ? expression
+                : new LogicExpression(first, second, operand);
+    }
+
+    private static Operand lazy(Operand operand) {
+        return switch (operand) {
+            case AND -> Operand.CONDITIONAL_AND;
+            case OR -> Operand.CONDITIONAL_OR;
+            default -> operand;
+        };
+    }
+
+    private static boolean safe(Expression expression) {
+        return ProgramTrees.isSafe(expression, Set.of(), false, Map.of());
+    }
+}
@@ -0,0 +1,131 @@
+package interpreter.optimizer;
+
+import interpreter.model.expressions.Expression;
+import interpreter.model.expressions.ValueExpression;
+import interpreter.model.expressions.VariableExpression;
+import interpreter.model.statements.*;
+import interpreter.model.statements.memorystatements.HeapAllocationStatement;
+import interpreter.model.type.Type;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/// Hoists the expressions of a while loop whose operands the loop never changes into temporaries computed before it.
+/// Only expressions that cannot fail are moved (see ProgramTrees.isSafe), so hoisting is invisible even when the loop
+/// runs zero times. Heap reads move only in programs that never fork, out of loops that never write the heap, and only
+/// through variables a forward analysis of the preceding code proves hold a live allocation.
+/// Inner loops are processed first, so an expression invariant in several nested loops ends up before the outermost one.
+public class LoopInvariantCodeMotion extends OptimizationPass {
+    static final String PREFIX = "$invariant";
+    private final Set<String> identifiers = new HashSet<>();
+    private final Map<String, Type> temporaries = new HashMap<>();
+    private boolean heapShared;
+
+    @Override
+    public Statement run(Statement program) {
+        ProgramTrees.identifiers(program, identifiers);
+        heapShared = ProgramTrees.forks(program);
+        return statement(program, new HashSet<>());
+    }
+
+    /// Rewrites the statement given the variables known to hold a live allocation before it, and leaves in allocated
+    /// the ones known after it
+    private Statement statement(Statement statement, Set<String> allocated) {
+        switch (statement) {
+            case SequenceStatement ignored -> {
+                return ProgramTrees.rebuild(statement, inner -> statement(inner, allocated), expression -> expression);
+            }
+            case CompoundStatement ignored -> {
+                return ProgramTrees.rebuild(statement, inner -> statement(inner, allocated), expression -> expression);
+            }
+            case WhileStatement loop -> {
+                Set<String> changed = new HashSet<>();
+                ProgramTrees.targets(loop, changed);
+                allocated.removeAll(changed);
+                Statement body = statement(loop.getBody(), new HashSet<>(allocated));
+                return hoist(body == loop.getBody() ? loop : new WhileStatement(loop.getCondition(), body), allocated);
+            }
+            case IfStatement branch -> {
+                Statement positive = statement(branch.getBranchPositive(), new HashSet<>(allocated));
+                Statement negative = statement(branch.getBranchNegative(), new HashSet<>(allocated));
+                Set<String> changed = new HashSet<>();
+                ProgramTrees.targets(branch, changed);
+                allocated.removeAll(changed);
+                return positive == branch.getBranchPositive() && negative == branch.getBranchNegative() ? branch
+                        : new IfStatement(branch.getCondition(), positive, negative);
+            }
+            case ForkStatement fork -> {
+                Statement target = statement(fork.getTargetStatement(), new HashSet<>(allocated));
+                return target == fork.getTargetStatement() ? fork : new ForkStatement(target);
+            }
+            case HeapAllocationStatement allocation -> {
+                // an allocation whose value fails leaves the variable as it was
+                if (ProgramTrees.isSafe(allocation.getExpression(), allocated, false, temporaries))
+                    allocated.add(allocation.getIdentifier());
+                else
+                    allocated.remove(allocation.getIdentifier());
+                return statement;
+            }
+            default -> {
+                String target = ProgramTrees.target(statement);
+                if (target != null)
+                    allocated.remove(target);
+                return statement;
+            }
+        }
+    }
+
+    private Statement hoist(WhileStatement loop, Set<String> allocated) {
+        // recomputed on the rewritten loop, which declares the temporaries hoisted out of its inner loops
+        Set<String> variant = new HashSet<>();
+        ProgramTrees.targets(loop, variant);
+        boolean heapStable = !heapShared && !ProgramTrees.writesHeap(loop);
+        Map<String, VariableExpression> hoisted = new LinkedHashMap<>();
+        List<Statement> prologue = new ArrayList<>();
+        Statement rewritten = expressions(loop, expression -> {
+            if (ProgramTrees.operands(expression).isEmpty() || !ProgramTrees.isSafe(expression, allocated, heapStable, temporaries))
+                return expression;
+            Set<String> variables = new HashSet<>();
+            ProgramTrees.variables(expression, variables);
+            if (variables.stream().anyMatch(variant::contains))
+                return expression;
+            countRemoved(ProgramTrees.size(expression) - 1);
+            return hoisted.computeIfAbsent(expression.toString(), ignored -> {
+                String name = fresh();
+                Type type = ProgramTrees.typeOf(expression, temporaries);
+                temporaries.put(name, type);
+                prologue.add(new VariableDeclarationStatement(type, name));
+                prologue.add(new AssignStatement(name, expression));
+                return new VariableExpression(name);
+            });
+        });
+        if (hoisted.isEmpty())
+            return loop;
+        prologue.add(rewritten);
+        return new SequenceStatement(prologue);
+    }
+
+    /// Rewrites every expression of the statement and the statements nested in it, operands first
+    private static Statement expressions(Statement statement, UnaryOperator<Expression> rewrite) {
+        return ProgramTrees.rebuild(statement, inner -> expressions(inner, rewrite), expression -> expression(expression, rewrite));
+    }
+
+    private static Expression expression(Expression expression, UnaryOperator<Expression> rewrite) {
+        if (expression instanceof ValueExpression || expression instanceof VariableExpression)
+            return expression;
+        return rewrite.apply(ProgramTrees.rebuild(expression, operand -> expression(operand, rewrite)));
+    }
+
+    private String fresh() {
+        String name;
+        do name = PREFIX + identifiers.size();
+        while (!identifiers.add(name));
+        return name;
+    }
+}
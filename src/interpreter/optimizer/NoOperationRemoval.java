@@ -0,0 +1,32 @@
+package interpreter.optimizer;
+
+import interpreter.model.statements.CompoundStatement;
+import interpreter.model.statements.NoOperationStatement;
+import interpreter.model.statements.SequenceStatement;
+import interpreter.model.statements.Statement;
+
+import java.util.List;
+
+/// Removes do_nothing statements from compound statements and sequences
+public class NoOperationRemoval extends OptimizationPass {
+    @Override
+    protected Statement rewrite(Statement statement) {
+        return switch (statement) {
+            case CompoundStatement compound when compound.getFirstStatement() instanceof NoOperationStatement ->
+                    compound.getSecondStatement();
+            case CompoundStatement compound when compound.getSecondStatement() instanceof NoOperationStatement ->
+                    compound.getFirstStatement();
+            case SequenceStatement sequence when sequence.getStatements().stream().anyMatch(NoOperationStatement.class::isInstance) -> {
+                List<Statement> remaining = sequence.getStatements().stream()
+                        .filter(inner -> !(inner instanceof NoOperationStatement))
+                        .toList();
+                yield switch (remaining.size()) {
+                    case 0 -> new NoOperationStatement();
+                    case 1 -> remaining.getFirst();
+                    default -> new SequenceStatement(remaining);
+                };
+            }
+            default -> statement;
+        };
+    }
+}
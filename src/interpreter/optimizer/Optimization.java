@@ -0,0 +1,33 @@
+package interpreter.optimizer;
+
+import java.util.function.Supplier;
+
+/// The passes an Optimizer can run, in the order it runs them.
+/// Passes that introduce variables of their own are off by default, so the views show programs with the variables they were written with.
+public enum Optimization {
+    CONSTANT_FOLDING(ConstantFolding::new, true),
+    /// Before dead branch elimination, which then sees the conditions it reduces to a constant
+    LAZY_LOGIC(LazyLogic::new, true),
+    DEAD_BRANCH_ELIMINATION(DeadBranchElimination::new, true),
+    NO_OPERATION_REMOVAL(NoOperationRemoval::new, true),
+    LOOP_INVARIANT_CODE_MOTION(LoopInvariantCodeMotion::new, false),
+    COMMON_SUBEXPRESSION_ELIMINATION(CommonSubexpressionElimination::new, false),
+    /// Last, as rebuilding a fused statement around rewritten children turns it back into the plain one
+    STATEMENT_FUSION(StatementFusion::new, true);
+
+    private final Supplier<OptimizationPass> pass;
+    private final boolean enabledByDefault;
+
+    Optimization(Supplier<OptimizationPass> pass, boolean enabledByDefault) {
+        this.pass = pass;
+        this.enabledByDefault = enabledByDefault;
+    }
+
+    public boolean isEnabledByDefault() {
+        return enabledByDefault;
+    }
+
+    public OptimizationPass newPass() {
+        return pass.get();
+    }
+}
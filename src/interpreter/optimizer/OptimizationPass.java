@@ -0,0 +1,47 @@
+package interpreter.optimizer;
+
+import interpreter.model.expressions.Expression;
+import interpreter.model.statements.Statement;
+
+/// Bottom-up rewrite of a typechecked program. Every composite node is rebuilt around its rewritten children, if any of
+/// them changed, and then offered to the pass, which may replace it; the difference in size between a node and its
+/// replacement is counted as removed. Rebuilt nodes carry no static types until the Optimizer typechecks the result.
+public abstract class OptimizationPass {
+    private int removedNodes;
+
+    public int getRemovedNodes() {
+        return removedNodes;
+    }
+
+    protected void countRemoved(int nodes) {
+        removedNodes += nodes;
+    }
+
+    public Statement run(Statement program) {
+        return statement(program);
+    }
+
+    protected Statement rewrite(Statement statement) {
+        return statement;
+    }
+
+    protected Expression rewrite(Expression expression) {
+        return expression;
+    }
+
+    private Statement statement(Statement statement) {
+        Statement rebuilt = ProgramTrees.rebuild(statement, this::statement, this::expression);
+        Statement rewritten = rewrite(rebuilt);
+        if (rewritten != rebuilt)
+            removedNodes += ProgramTrees.size(rebuilt) - ProgramTrees.size(rewritten);
+        return rewritten;
+    }
+
+    private Expression expression(Expression expression) {
+        Expression rebuilt = ProgramTrees.rebuild(expression, this::expression);
+        Expression rewritten = rewrite(rebuilt);
+        if (rewritten != rebuilt)
+            removedNodes += ProgramTrees.size(rebuilt) - ProgramTrees.size(rewritten);
+        return rewritten;
+    }
+}
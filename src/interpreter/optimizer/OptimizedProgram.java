@@ -0,0 +1,11 @@
+package interpreter.optimizer;
+
+import interpreter.model.statements.Statement;
+
+import java.util.Map;
+
+public record OptimizedProgram(Statement program, Map<Optimization, Integer> removedNodes) {
+    public int removedNodes(Optimization optimization) {
+        return removedNodes.getOrDefault(optimization, 0);
+    }
+}
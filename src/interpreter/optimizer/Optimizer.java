@@ -0,0 +1,66 @@
+package interpreter.optimizer;
+
+import interpreter.model.exceptions.TypecheckException;
+import interpreter.model.statements.Statement;
+import interpreter.model.symboltable.PersistentSymbolTable;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/// Pass manager run between typechecking and execution. Each enabled pass rewrites the program in turn, and whatever it
+/// rewrote is typechecked again, so that the nodes the passes built carry static types like the rest of the program.
+/// Optimizers are immutable and keep no state between programs, so one can serve several loading threads.
+public class Optimizer {
+    private final Set<Optimization> enabled;
+
+    public Optimizer() {
+        this(EnumSet.allOf(Optimization.class).stream().filter(Optimization::isEnabledByDefault).toList());
+    }
+
+    public Optimizer(Collection<Optimization> enabled) {
+        this.enabled = EnumSet.noneOf(Optimization.class);
+        this.enabled.addAll(enabled);
+    }
+
+    public static Optimizer all() {
+        return new Optimizer(EnumSet.allOf(Optimization.class));
+    }
+
+    public static Optimizer none() {
+        return new Optimizer(EnumSet.noneOf(Optimization.class));
+    }
+
+    public boolean isEnabled(Optimization optimization) {
+        return enabled.contains(optimization);
+    }
+
+    public Optimizer with(Optimization optimization) {
+        Set<Optimization> passes = EnumSet.noneOf(Optimization.class);
+        passes.addAll(enabled);
+        passes.add(optimization);
+        return new Optimizer(passes);
+    }
+
+    public Optimizer without(Optimization optimization) {
+        Set<Optimization> passes = EnumSet.noneOf(Optimization.class);
+        passes.addAll(enabled);
+        passes.remove(optimization);
+        return new Optimizer(passes);
+    }
+
+    public OptimizedProgram optimize(Statement program) throws TypecheckException {
+        Map<Optimization, Integer> removedNodes = new EnumMap<>(Optimization.class);
+        for (Optimization optimization : enabled) {
+            OptimizationPass pass = optimization.newPass();
+            Statement rewritten = pass.run(program);
+            if (rewritten != program)
+                rewritten.typecheck(new PersistentSymbolTable<>());
+            program = rewritten;
+            removedNodes.put(optimization, pass.getRemovedNodes());
+        }
+        return new OptimizedProgram(program, removedNodes);
+    }
+}
@@ -0,0 +1,268 @@
+package interpreter.optimizer;
+
+import interpreter.model.expressions.*;
+import interpreter.model.statements.*;
+import interpreter.model.statements.filestatements.CloseFileStatement;
+import interpreter.model.statements.filestatements.OpenReadFileStatement;
+import interpreter.model.statements.filestatements.ReadFileStatement;
+import interpreter.model.statements.memorystatements.HeapAllocationStatement;
+import interpreter.model.statements.memorystatements.HeapWriteStatement;
+import interpreter.model.type.BoolType;
+import interpreter.model.type.IntType;
+import interpreter.model.type.ReferenceType;
+import interpreter.model.type.Type;
+import interpreter.model.values.IntValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/// Structural helpers shared by the passes: rebuilding a node around rewritten children, and the facts the passes
+/// need about a subtree -- which variables it changes, whether it touches the heap, and which expressions are safe to move.
+final class ProgramTrees {
+    private ProgramTrees() {
+    }
+
+    /// Rebuilds a statement around its rewritten child statements and expressions; returns it as it is if none changed
+    static Statement rebuild(Statement statement, UnaryOperator<Statement> statements, UnaryOperator<Expression> expressions) {
+        return switch (statement) {
+            case SequenceStatement sequence -> {
+                List<Statement> inner = sequence.getStatements(), rewritten = new ArrayList<>(inner.size());
+                boolean changed = false;
+                for (Statement child : inner) {
+                    Statement result = statements.apply(child);
+                    changed |= result != child;
+                    rewritten.add(result);
+                }
+                yield changed ? new SequenceStatement(rewritten) : sequence;
+            }
+            case CompoundStatement compound -> {
+                Statement first = statements.apply(compound.getFirstStatement()), second = statements.apply(compound.getSecondStatement());
+                yield first == compound.getFirstStatement() && second == compound.getSecondStatement() ? compound
+                        : new CompoundStatement(first, second);
+            }
+            case WhileStatement loop -> {
+                Expression condition = expressions.apply(loop.getCondition());
+                Statement body = statements.apply(loop.getBody());
+                yield condition == loop.getCondition() && body == loop.getBody() ? loop : new WhileStatement(condition, body);
+            }
+            case IfStatement branch -> {
+                Expression condition = expressions.apply(branch.getCondition());
+                Statement positive = statements.apply(branch.getBranchPositive()), negative = statements.apply(branch.getBranchNegative());
+                yield condition == branch.getCondition() && positive == branch.getBranchPositive() && negative == branch.getBranchNegative()
+                        ? branch : new IfStatement(condition, positive, negative);
+            }
+            case ForkStatement fork -> {
+                Statement target = statements.apply(fork.getTargetStatement());
+                yield target == fork.getTargetStatement() ? fork : new ForkStatement(target);
+            }
+            case AssignStatement assignment -> {
+                Expression value = expressions.apply(assignment.getExpressionAssignedToVar());
+                yield value == assignment.getExpressionAssignedToVar() ? assignment
+                        : new AssignStatement(assignment.getVariableIdentifier(), value);
+            }
+            case PrintStatement print -> {
+                Expression value = expressions.apply(print.getExpressionToPrint());
+                yield value == print.getExpressionToPrint() ? print : new PrintStatement(value);
+            }
+            case HeapAllocationStatement allocation -> {
+                Expression value = expressions.apply(allocation.getExpression());
+                yield value == allocation.getExpression() ? allocation : new HeapAllocationStatement(allocation.getIdentifier(), value);
+            }
+            case HeapWriteStatement write -> {
+                Expression value = expressions.apply(write.getValueExpr());
+                yield value == write.getValueExpr() ? write : new HeapWriteStatement(write.getIdentifier(), value);
+            }
+            case OpenReadFileStatement open -> {
+                Expression filename = expressions.apply(open.getFilenameExpression());
+                yield filename == open.getFilenameExpression() ? open : new OpenReadFileStatement(filename);
+            }
+            case ReadFileStatement read -> {
+                Expression filename = expressions.apply(read.getFilenameExpression());
+                yield filename == read.getFilenameExpression() ? read : new ReadFileStatement(filename, read.getIdentifier());
+            }
+            case CloseFileStatement close -> {
+                Expression filename = expressions.apply(close.getFilenameExpression());
+                yield filename == close.getFilenameExpression() ? close : new CloseFileStatement(filename);
+            }
+            default -> statement;
+        };
+    }
+
+    /// Rebuilds an expression around its rewritten operands; returns it as it is if none changed
+    static Expression rebuild(Expression expression, UnaryOperator<Expression> operands) {
+        return switch (expression) {
+            case ArithmeticExpression arithmetic -> {
+                Expression first = operands.apply(arithmetic.getFirstExpression()), second = operands.apply(arithmetic.getSecondExpression());
+                yield first == arithmetic.getFirstExpression() && second == arithmetic.getSecondExpression() ? arithmetic
+                        : new ArithmeticExpression(first, second, arithmetic.getOperand());
+            }
+            case RelationalExpression relational -> {
+                Expression first = operands.apply(relational.getFirstExpression()), second = operands.apply(relational.getSecondExpression());
+                yield first == relational.getFirstExpression() && second == relational.getSecondExpression() ? relational
+                        : new RelationalExpression(first, second, relational.getOperand());
+            }
+            case LogicExpression logic -> {
+                Expression first = operands.apply(logic.getFirstExpression()), second = operands.apply(logic.getSecondExpression());
+                yield first == logic.getFirstExpression() && second == logic.getSecondExpression() ? logic
+                        : new LogicExpression(first, second, logic.getOperand());
+            }
+            case HeapReadExpression heapRead -> {
+                Expression offset = operands.apply(heapRead.getOffsetSpecificationExpression());
+                yield offset == heapRead.getOffsetSpecificationExpression() ? heapRead : new HeapReadExpression(offset);
+            }
+            default -> expression;
+        };
+    }
+
+    static List<Expression> operands(Expression expression) {
+        return switch (expression) {
+            case ArithmeticExpression arithmetic -> List.of(arithmetic.getFirstExpression(), arithmetic.getSecondExpression());
+            case RelationalExpression relational -> List.of(relational.getFirstExpression(), relational.getSecondExpression());
+            case LogicExpression logic -> List.of(logic.getFirstExpression(), logic.getSecondExpression());
+            case HeapReadExpression heapRead -> List.of(heapRead.getOffsetSpecificationExpression());
+            default -> List.of();
+        };
+    }
+
+    /// Expressions a statement evaluates itself, in evaluation order, not counting those of nested statements
+    static List<Expression> expressions(Statement statement) {
+        return switch (statement) {
+            case WhileStatement loop -> List.of(loop.getCondition());
+            case IfStatement branch -> List.of(branch.getCondition());
+            case AssignStatement assignment -> List.of(assignment.getExpressionAssignedToVar());
+            case PrintStatement print -> List.of(print.getExpressionToPrint());
+            case HeapAllocationStatement allocation -> List.of(allocation.getExpression());
+            case HeapWriteStatement write -> List.of(write.getValueExpr());
+            case OpenReadFileStatement open -> List.of(open.getFilenameExpression());
+            case ReadFileStatement read -> List.of(read.getFilenameExpression());
+            case CloseFileStatement close -> List.of(close.getFilenameExpression());
+            default -> List.of();
+        };
+    }
+
+    static List<Statement> children(Statement statement) {
+        return switch (statement) {
+            case SequenceStatement sequence -> sequence.getStatements();
+            case CompoundStatement compound -> List.of(compound.getFirstStatement(), compound.getSecondStatement());
+            case WhileStatement loop -> List.of(loop.getBody());
+            case IfStatement branch -> List.of(branch.getBranchPositive(), branch.getBranchNegative());
+            case ForkStatement fork -> List.of(fork.getTargetStatement());
+            default -> List.of();
+        };
+    }
+
+    static int size(Statement statement) {
+        int size = 1;
+        for (Expression expression : expressions(statement))
+            size += size(expression);
+        for (Statement child : children(statement))
+            size += size(child);
+        return size;
+    }
+
+    static int size(Expression expression) {
+        int size = 1;
+        for (Expression operand : operands(expression))
+            size += size(operand);
+        return size;
+    }
+
+    /// The variable a statement itself writes or declares, or null
+    static String target(Statement statement) {
+        return switch (statement) {
+            case AssignStatement assignment -> assignment.getVariableIdentifier();
+            case ReadFileStatement read -> read.getIdentifier();
+            case HeapAllocationStatement allocation -> allocation.getIdentifier();
+            case VariableDeclarationStatement declaration -> declaration.getIdentifier();
+            default -> null;
+        };
+    }
+
+    /// Adds every variable the statement, or any statement nested in it, writes or declares
+    static void targets(Statement statement, Set<String> targets) {
+        String target = target(statement);
+        if (target != null)
+            targets.add(target);
+        for (Statement child : children(statement))
+            targets(child, targets);
+    }
+
+    static boolean writesHeap(Statement statement) {
+        return statement instanceof HeapWriteStatement || children(statement).stream().anyMatch(ProgramTrees::writesHeap);
+    }
+
+    static boolean forks(Statement statement) {
+        return statement instanceof ForkStatement || children(statement).stream().anyMatch(ProgramTrees::forks);
+    }
+
+    static void variables(Expression expression, Set<String> variables) {
+        if (expression instanceof VariableExpression variable)
+            variables.add(variable.getIdentifier());
+        for (Expression operand : operands(expression))
+            variables(operand, variables);
+    }
+
+    static void identifiers(Statement statement, Set<String> identifiers) {
+        String target = target(statement);
+        if (target != null)
+            identifiers.add(target);
+        for (Expression expression : expressions(statement))
+            variables(expression, identifiers);
+        for (Statement child : children(statement))
+            identifiers(child, identifiers);
+    }
+
+    static boolean readsHeap(Expression expression) {
+        return expression instanceof HeapReadExpression || operands(expression).stream().anyMatch(ProgramTrees::readsHeap);
+    }
+
+    /// Whether evaluating the expression can never fail, so evaluating it earlier or fewer times than written is invisible.
+    /// Variables are always declared in a typechecked program; heap reads are safe only through a variable known to hold
+    /// a live allocation, and only when the heap is stable. Expression types come from the typechecker, or from the
+    /// temporaries a pass has introduced
+    static boolean isSafe(Expression expression, Set<String> allocated, boolean heapStable, Map<String, Type> temporaries) {
+        return switch (expression) {
+            case ValueExpression ignored -> true;
+            case VariableExpression ignored -> true;
+            case ArithmeticExpression arithmetic -> typeOf(arithmetic, temporaries) instanceof IntType
+                    && switch (arithmetic.getOperand()) {
+                        case ADD, SUB, MUL -> true;
+                        case DIV -> arithmetic.getSecondExpression() instanceof ValueExpression divisor
+                                && ((IntValue) divisor.getValue()).getValue() != 0;
+                        case EXP -> arithmetic.getSecondExpression() instanceof ValueExpression exponent
+                                && ((IntValue) exponent.getValue()).getValue() > 0;
+                        default -> false;
+                    }
+                    && isSafe(arithmetic.getFirstExpression(), allocated, heapStable, temporaries)
+                    && isSafe(arithmetic.getSecondExpression(), allocated, heapStable, temporaries);
+            case RelationalExpression relational -> typeOf(relational.getFirstExpression(), temporaries) instanceof IntType
+                    && isSafe(relational.getFirstExpression(), allocated, heapStable, temporaries)
+                    && isSafe(relational.getSecondExpression(), allocated, heapStable, temporaries);
+            case LogicExpression logic -> isSafe(logic.getFirstExpression(), allocated, heapStable, temporaries)
+                    && isSafe(logic.getSecondExpression(), allocated, heapStable, temporaries);
+            case HeapReadExpression heapRead -> heapStable
+                    && heapRead.getOffsetSpecificationExpression() instanceof VariableExpression reference
+                    && allocated.contains(reference.getIdentifier());
+            default -> false;
+        };
+    }
+
+    static Type typeOf(Expression expression, Map<String, Type> temporaries) {
+        if (expression.getStaticType() != null)
+            return expression.getStaticType();
+        return switch (expression) {
+            case ValueExpression constant -> constant.getValue().getType();
+            case VariableExpression variable -> temporaries.get(variable.getIdentifier());
+            case ArithmeticExpression arithmetic -> typeOf(arithmetic.getFirstExpression(), temporaries);
+            case RelationalExpression ignored -> BoolType.get();
+            case LogicExpression ignored -> BoolType.get();
+            case HeapReadExpression heapRead ->
+                    typeOf(heapRead.getOffsetSpecificationExpression(), temporaries) instanceof ReferenceType reference
+                            ? reference.getInner() : null;
+            default -> null;
+        };
+    }
+}
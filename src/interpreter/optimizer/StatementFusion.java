@@ -0,0 +1,81 @@
+package interpreter.optimizer;
+
+import interpreter.model.expressions.ArithmeticExpression;
+import interpreter.model.expressions.Expression;
+import interpreter.model.expressions.RelationalExpression;
+import interpreter.model.expressions.ValueExpression;
+import interpreter.model.expressions.VariableExpression;
+import interpreter.model.statements.*;
+import interpreter.model.type.IntType;
+import interpreter.model.values.IntValue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/// Rewrites the common loop idioms into fused statements, which do in one step what the plain statements do in several:
+/// increments of an int variable by a constant, ifs on a comparison of int variables and constants, and counted loops,
+/// whose condition is such a comparison and whose body ends by incrementing one of its variables.
+/// Fused statements are subclasses of the ones they replace and print like them, so the other engines and the views
+/// see the program as written. The count of removed nodes is the number of statements fused.
+public class StatementFusion extends OptimizationPass {
+    @Override
+    protected Statement rewrite(Statement statement) {
+        Statement fused = switch (statement) {
+            case AssignStatement assignment when assignment.getClass() == AssignStatement.class -> increment(assignment);
+            case IfStatement branch when branch.getClass() == IfStatement.class && comparison(branch.getCondition()) ->
+                    new CompareAndBranchStatement(branch.getCondition(), branch.getBranchPositive(), branch.getBranchNegative());
+            case WhileStatement loop when loop.getClass() == WhileStatement.class && counted(loop) ->
+                    new CountedLoopStatement(loop.getCondition(), loop.getBody());
+            default -> statement;
+        };
+        if (fused != statement)
+            countRemoved(1);
+        return fused;
+    }
+
+    private static Statement increment(AssignStatement assignment) {
+        String variable = assignment.getVariableIdentifier();
+        if (!(assignment.getExpressionAssignedToVar() instanceof ArithmeticExpression arithmetic)
+                || !(arithmetic.getStaticType() instanceof IntType))
+            return assignment;
+        Expression first = arithmetic.getFirstExpression(), second = arithmetic.getSecondExpression();
+        Integer increment = switch (arithmetic.getOperand()) {
+            case ADD -> isVariable(first, variable) ? constant(second) : isVariable(second, variable) ? constant(first) : null;
+            case SUB -> isVariable(first, variable) && constant(second) != null ? -constant(second) : null;
+            default -> null;
+        };
+        return increment == null ? assignment : new IncrementStatement(variable, arithmetic, increment);
+    }
+
+    /// Whether the expression compares two int variables or constants
+    private static boolean comparison(Expression expression) {
+        return expression instanceof RelationalExpression relational
+                && relational.getFirstExpression().getStaticType() instanceof IntType
+                && simple(relational.getFirstExpression()) && simple(relational.getSecondExpression());
+    }
+
+    private static boolean counted(WhileStatement loop) {
+        if (!comparison(loop.getCondition()))
+            return false;
+        Statement body = loop.getBody();
+        Statement last = body instanceof SequenceStatement sequence ? sequence.getStatements().getLast() : body;
+        if (!(last instanceof IncrementStatement increment))
+            return false;
+        Set<String> variables = new HashSet<>();
+        ProgramTrees.variables(loop.getCondition(), variables);
+        return variables.contains(increment.getVariableIdentifier());
+    }
+
+    private static boolean simple(Expression expression) {
+        return expression instanceof VariableExpression || expression instanceof ValueExpression;
+    }
+
+    private static boolean isVariable(Expression expression, String variable) {
+        return expression instanceof VariableExpression reference && reference.getIdentifier().equals(variable);
+    }
+
+    private static Integer constant(Expression expression) {
+        return expression instanceof ValueExpression constant && constant.getValue() instanceof IntValue value
+                ? value.getValue() : null;
+    }
+}
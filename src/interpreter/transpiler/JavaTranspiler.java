@@ -0,0 +1,579 @@
+package interpreter.transpiler;
+
+import inputmanager.StringAndStatementInputManager;
+import interpreter.model.exceptions.StatementException;
+import interpreter.model.expressions.*;
+import interpreter.model.expressions.closures.ClosureExpression;
+import interpreter.model.operands.Operand;
+import interpreter.model.statements.*;
+import interpreter.model.statements.filestatements.CloseFileStatement;
+import interpreter.model.statements.filestatements.OpenReadFileStatement;
+import interpreter.model.statements.filestatements.ReadFileStatement;
+import interpreter.model.statements.memorystatements.HeapAllocationStatement;
+import interpreter.model.statements.memorystatements.HeapWriteStatement;
+import interpreter.model.symboltable.PersistentSymbolTable;
+import interpreter.model.type.*;
+import interpreter.model.values.*;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.stream.Stream;
+
+/// Ahead-of-time translation of a typechecked program into a standalone Java class, compiled with the JDK's javac.
+/// Int and bool variables become Java locals, strings and references stay interpreter values; the heap, files, output and
+/// forks go through TranspilerRuntime. Every statement that can fail is wrapped so that, like under the controller,
+/// its error is reported and the program carries on -- a failing condition drops its whole if or while.
+public class JavaTranspiler {
+    private static final String RUNTIME_PACKAGE = "interpreter/transpiler/", MODEL_PACKAGE = "interpreter/model/";
+    /// Characters of source a method may grow to before the rest of a sequence moves into a method of its own. javac
+    /// rejects methods of over 64 KiB of bytecode, and no statement compiles to more bytes than its source has characters
+    private static final int METHOD_SIZE_LIMIT = 32 * 1024;
+    private final String className;
+    private final List<String> constants = new ArrayList<>();
+    private final Map<String, Integer> internedConstants = new HashMap<>();
+    private final List<StringBuilder> methods = new ArrayList<>();
+    private StringBuilder output;
+    private int indentation;
+    private int nextName;
+    /// Whether the next step is taken together with the one just emitted, as in the fused statements
+    private boolean fused;
+
+    private JavaTranspiler(String className) {
+        this.className = className;
+    }
+
+    public static String transpile(Statement program, String className) throws StatementException {
+        return new JavaTranspiler(className).transpileProgram(program);
+    }
+
+    /// Transpiles and compiles the program into a jar runnable with java -jar, bundling the runtime library next to it
+    public static void compile(Statement program, String className, Path jar) throws StatementException, IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null)
+            throw new StatementException("No Java compiler available -- transpiling requires a JDK");
+        Path library = libraryLocation();
+        Path workspace = Files.createTempDirectory("transpiler");
+        try {
+            Path source = workspace.resolve(className + ".java"), classes = Files.createDirectory(workspace.resolve("classes"));
+            Files.writeString(source, transpile(program, className));
+            ByteArrayOutputStream diagnostics = new ByteArrayOutputStream();
+            int status = compiler.run(null, diagnostics, diagnostics, "-nowarn", "-d", classes.toString(), "-cp", library.toString(), source.toString());
+            if (status != 0 && diagnostics.toString().contains("code too large"))
+                throw new StatementException("Program is too large to transpile -- a single statement does not fit in a JVM method");
+            if (status != 0)
+                throw new StatementException("Transpiled program does not compile -- %s".formatted(diagnostics));
+            Manifest manifest = new Manifest();
+            manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+            manifest.getMainAttributes().put(Attributes.Name.MAIN_CLASS, className);
+            try (JarOutputStream output = new JarOutputStream(Files.newOutputStream(jar), manifest)) {
+                copyClasses(classes, "", output);
+                copyClasses(library, MODEL_PACKAGE, output);
+                copyClasses(library, RUNTIME_PACKAGE, output);
+            }
+        } finally {
+            try (Stream<Path> files = Files.walk(workspace)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList())
+                    Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /// Offline mode: java interpreter.transpiler.JavaTranspiler <program source> <output jar> [class name]
+    public static void main(String[] arguments) throws Exception {
+        if (arguments.length < 2) {
+            System.err.println("Usage: JavaTranspiler <program source> <output jar> [class name]");
+            return;
+        }
+        Statement program = new StringAndStatementInputManager().parse(Path.of(arguments[0]));
+        program.typecheck(new PersistentSymbolTable<>());
+        compile(program, arguments.length > 2 ? arguments[2] : "Program", Path.of(arguments[1]));
+    }
+
+    private static Path libraryLocation() throws StatementException {
+        try {
+            return Path.of(TranspilerRuntime.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (URISyntaxException | NullPointerException e) {
+            throw new StatementException("Cannot locate the transpiler runtime library");
+        }
+    }
+
+    private static void copyClasses(Path location, String prefix, JarOutputStream jar) throws IOException {
+        if (Files.isDirectory(location)) {
+            Path root = location.resolve(prefix);
+            if (!Files.isDirectory(root))
+                return;
+            try (Stream<Path> files = Files.walk(root)) {
+                for (Path file : files.filter(path -> path.toString().endsWith(".class")).toList()) {
+                    jar.putNextEntry(new JarEntry(location.relativize(file).toString().replace('\\', '/')));
+                    Files.copy(file, jar);
+                    jar.closeEntry();
+                }
+            }
+            return;
+        }
+        try (JarFile library = new JarFile(location.toFile())) {
+            for (JarEntry entry : Collections.list(library.entries())) {
+                if (!entry.getName().startsWith(prefix) || !entry.getName().endsWith(".class"))
+                    continue;
+                jar.putNextEntry(new JarEntry(entry.getName()));
+                library.getInputStream(entry).transferTo(jar);
+                jar.closeEntry();
+            }
+        }
+    }
+
+    private String transpileProgram(Statement program) throws StatementException {
+        StringBuilder run = method("private static void run(TranspilerRuntime runtime)");
+        statement(program, new LinkedHashMap<>());
+        close(run);
+        StringBuilder source = new StringBuilder();
+        source.append("""
+                import interpreter.model.type.*;
+                import interpreter.model.values.*;
+                import interpreter.transpiler.TranspilerRuntime;
+
+                import static interpreter.transpiler.TranspilerRuntime.*;
+
+                public final class %s {
+                """.formatted(className));
+        for (int index = 0; index < constants.size(); index++)
+            source.append("    private static final Value CONSTANT_%d = %s;\n".formatted(index, constants.get(index)));
+        source.append("""
+
+                    public static void main(String[] arguments) throws InterruptedException {
+                        TranspilerRuntime runtime = new TranspilerRuntime();
+                        run(runtime);
+                        runtime.finish();
+                    }
+                """);
+        for (StringBuilder method : methods)
+            source.append('\n').append(method);
+        return source.append("}\n").toString();
+    }
+
+    private StringBuilder method(String signature) {
+        StringBuilder method = new StringBuilder();
+        methods.add(method);
+        output = method;
+        indentation = 1;
+        line(signature + " {");
+        indentation++;
+        return method;
+    }
+
+    private void close(StringBuilder method) {
+        output = method;
+        indentation = 1;
+        line("}");
+    }
+
+    private void line(String text) {
+        output.append("    ".repeat(indentation)).append(text).append('\n');
+    }
+
+    private void open(String text) {
+        line(text);
+        indentation++;
+    }
+
+    private void close() {
+        indentation--;
+        line("}");
+    }
+
+    private String name(String prefix) {
+        return prefix + nextName++;
+    }
+
+    /// Marks where the tree walker starts a step, so that forked threads take turns exactly like under the controller
+    private void step() {
+        if (fused)
+            fused = false;
+        else line("runtime.step();");
+    }
+
+    private static String variable(String identifier) {
+        return "v_" + identifier;
+    }
+
+    private void statement(Statement statement, Map<String, Type> scope) throws StatementException {
+        switch (statement) {
+            case SequenceStatement sequence -> {
+                /// A sequence takes the steps of its statements, and an empty one a step of its own, like a no-op
+                if (sequence.getStatements().isEmpty())
+                    step();
+                sequence(sequence.getStatements(), scope);
+            }
+            case CompoundStatement compound -> {
+                step();
+                statement(compound.getFirstStatement(), scope);
+                statement(compound.getSecondStatement(), scope);
+            }
+            case NoOperationStatement ignored -> step();
+            case VariableDeclarationStatement declaration -> {
+                step();
+                Type type = declaration.getType();
+                scope.put(declaration.getIdentifier(), type);
+                line("%s %s = %s;".formatted(javaType(type), variable(declaration.getIdentifier()), literal(type.getDefault())));
+            }
+            case AssignStatement assignment -> {
+                step();
+                Expression value = assignment.getExpressionAssignedToVar();
+                guarded(mayFail(value), "%s = %s;".formatted(variable(assignment.getVariableIdentifier()), expression(value)));
+            }
+            case PrintStatement print -> {
+                step();
+                Expression value = print.getExpressionToPrint();
+                guarded(mayFail(value), "runtime.print(%s);".formatted(expression(value)));
+            }
+            case HeapAllocationStatement allocation -> {
+                step();
+                StringBuilder roots = new StringBuilder();
+                scope.forEach((identifier, type) -> {
+                    if (type instanceof ReferenceType)
+                        roots.append(", ").append(variable(identifier));
+                });
+                guarded(true, "%s = runtime.allocate(%s%s);".formatted(variable(allocation.getIdentifier()), boxed(allocation.getExpression()), roots));
+            }
+            case HeapWriteStatement write -> {
+                step();
+                guarded(true, "runtime.write(%s, %s);".formatted(variable(write.getIdentifier()), boxed(write.getValueExpr())));
+            }
+            case OpenReadFileStatement open -> {
+                step();
+                guarded(true, "runtime.open(%s);".formatted(expression(open.getFilenameExpression())));
+            }
+            case CloseFileStatement close -> {
+                step();
+                guarded(true, "runtime.close(%s);".formatted(expression(close.getFilenameExpression())));
+            }
+            case ReadFileStatement read -> {
+                step();
+                String target = variable(read.getIdentifier());
+                Type type = scope.get(read.getIdentifier());
+                if (type == null)
+                    throw new StatementException("Cannot transpile a read into an undeclared variable -- %s".formatted(read.getIdentifier()));
+                guarded(true, "%s = %s;".formatted(target, unboxed("runtime.read(%s, %s)".formatted(expression(read.getFilenameExpression()), boxed(target, type)), type)));
+            }
+            case IfStatement branch -> {
+                step();
+                String condition = condition(branch.getCondition(), "break %s;");
+                open("if (%s) {".formatted(condition));
+                /// A fused if takes the first step of its branch along with picking it
+                fused = branch instanceof CompareAndBranchStatement;
+                statement(branch.getBranchPositive(), new LinkedHashMap<>(scope));
+                indentation--;
+                open("} else {");
+                fused = branch instanceof CompareAndBranchStatement;
+                statement(branch.getBranchNegative(), new LinkedHashMap<>(scope));
+                close();
+                step();
+                if (mayFail(branch.getCondition()))
+                    close();
+            }
+            case WhileStatement loop -> {
+                open("while (true) {");
+                step();
+                line("if (!%s) break;".formatted(condition(loop.getCondition(), "break;")));
+                /// A counted loop takes the first step of its body along with the test, and concludes the body's scope
+                /// along with its last step
+                fused = loop instanceof CountedLoopStatement;
+                statement(loop.getBody(), new LinkedHashMap<>(scope));
+                if (!(loop instanceof CountedLoopStatement))
+                    step();
+                close();
+            }
+            case ForkStatement fork -> {
+                step();
+                fork(fork, scope);
+            }
+            default -> throw new StatementException("Cannot transpile statement -- %s".formatted(statement));
+        }
+    }
+
+    private void sequence(List<Statement> statements, Map<String, Type> scope) throws StatementException {
+        for (int index = 0; index < statements.size(); index++) {
+            if (index > 0 && output.length() > METHOD_SIZE_LIMIT) {
+                chunk(statements.subList(index, statements.size()), scope);
+                return;
+            }
+            statement(statements.get(index), scope);
+        }
+    }
+
+    /// Moves the rest of a long sequence into a method of its own. The variables in scope go in and come back out
+    /// through an array, including the ones the rest declares; within the method they are locals again
+    private void chunk(List<Statement> statements, Map<String, Type> scope) throws StatementException {
+        String method = name("chunk"), frame = name("frame");
+        List<String> passedIn = new ArrayList<>(scope.keySet());
+        StringBuilder enclosing = output;
+        int enclosingIndentation = indentation;
+        StringBuilder body = method("private static void %s(TranspilerRuntime runtime, Object[] frame)".formatted(method));
+        for (int index = 0; index < passedIn.size(); index++) {
+            String type = javaType(scope.get(passedIn.get(index)));
+            line("%s %s = (%s) frame[%d];".formatted(type, variable(passedIn.get(index)), type, index));
+        }
+        sequence(statements, scope);
+        List<String> passedOut = new ArrayList<>(scope.keySet());
+        for (int index = 0; index < passedOut.size(); index++)
+            line("frame[%d] = %s;".formatted(index, variable(passedOut.get(index))));
+        close(body);
+        output = enclosing;
+        indentation = enclosingIndentation;
+        List<String> values = new ArrayList<>();
+        for (String identifier : passedOut)
+            values.add(passedIn.contains(identifier) ? variable(identifier) : "null");
+        line("Object[] %s = {%s};".formatted(frame, String.join(", ", values)));
+        line("%s(runtime, %s);".formatted(method, frame));
+        for (int index = 0; index < passedOut.size(); index++) {
+            String identifier = passedOut.get(index), type = javaType(scope.get(identifier));
+            line("%s%s = (%s) %s[%d];".formatted(index < passedIn.size() ? "" : type + " ", variable(identifier), type, frame, index));
+        }
+    }
+
+    /// Evaluates a condition that may fail into a local first, leaving its statement with escape when it does;
+    /// an if is wrapped in a labelled block for this, which the caller closes after the branches
+    private String condition(Expression condition, String escape) throws StatementException {
+        if (!mayFail(condition))
+            return expression(condition);
+        String local = name("condition");
+        if (escape.contains("%s")) {
+            escape = escape.formatted(local);
+            open("%s: {".formatted(local));
+        }
+        line("boolean %s;".formatted(local));
+        open("try {");
+        line("%s = %s;".formatted(local, expression(condition)));
+        indentation--;
+        open("} catch (Exception failure) {");
+        line("runtime.fail(failure);");
+        line(escape);
+        close();
+        return local;
+    }
+
+    private void guarded(boolean mayFail, String code) {
+        if (!mayFail) {
+            line(code);
+            return;
+        }
+        open("try {");
+        line(code);
+        indentation--;
+        open("} catch (Exception failure) {");
+        line("runtime.fail(failure);");
+        close();
+    }
+
+    /// Forked bodies become methods taking a snapshot of every variable in scope, like the copied symbol table of a forked program
+    private void fork(ForkStatement fork, Map<String, Type> scope) throws StatementException {
+        String method = name("fork");
+        List<String> parameters = new ArrayList<>(List.of("TranspilerRuntime runtime")), snapshots = new ArrayList<>(List.of("runtime"));
+        open("{");
+        for (Map.Entry<String, Type> entry : scope.entrySet()) {
+            String snapshot = "%s_%s".formatted(method, entry.getKey());
+            line("%s %s = %s;".formatted(javaType(entry.getValue()), snapshot, variable(entry.getKey())));
+            parameters.add("%s %s".formatted(javaType(entry.getValue()), variable(entry.getKey())));
+            snapshots.add(snapshot);
+        }
+        line("runtime.fork(() -> %s(%s));".formatted(method, String.join(", ", snapshots)));
+        close();
+        StringBuilder enclosing = output;
+        int enclosingIndentation = indentation;
+        StringBuilder body = method("private static void %s(%s)".formatted(method, String.join(", ", parameters)));
+        statement(fork.getTargetStatement(), new LinkedHashMap<>(scope));
+        close(body);
+        output = enclosing;
+        indentation = enclosingIndentation;
+    }
+
+    private static Type typeOf(Expression expression) throws StatementException {
+        Type type = expression.getStaticType();
+        if (type == null)
+            throw new StatementException("Program must be typechecked before it is transpiled -- %s".formatted(expression));
+        return type;
+    }
+
+    private static String javaType(Type type) {
+        return switch (type) {
+            case IntType ignored -> "int";
+            case BoolType ignored -> "boolean";
+            default -> "Value";
+        };
+    }
+
+    private static boolean isPrimitive(Type type) {
+        return type instanceof IntType || type instanceof BoolType;
+    }
+
+    /// Whether evaluating the expression can throw -- anything beyond int and bool arithmetic other than division
+    private static boolean mayFail(Expression expression) throws StatementException {
+        return switch (expression) {
+            case ClosureExpression compiled -> mayFail(compiled.getOriginal());
+            case ValueExpression ignored -> false;
+            case VariableExpression ignored -> false;
+            case ArithmeticExpression arithmetic -> arithmetic.getOperand() == Operand.DIV
+                    || arithmetic.getOperand() == Operand.EXP
+                    || !isPrimitive(typeOf(arithmetic.getFirstExpression())) || !isPrimitive(typeOf(arithmetic.getSecondExpression()))
+                    || mayFail(arithmetic.getFirstExpression()) || mayFail(arithmetic.getSecondExpression());
+            case RelationalExpression relational ->
+                    !isPrimitive(typeOf(relational.getFirstExpression())) || !isPrimitive(typeOf(relational.getSecondExpression()))
+                            || mayFail(relational.getFirstExpression()) || mayFail(relational.getSecondExpression());
+            case LogicExpression logic -> mayFail(logic.getFirstExpression()) || mayFail(logic.getSecondExpression());
+            default -> true;
+        };
+    }
+
+    private String expression(Expression expression) throws StatementException {
+        return switch (expression) {
+            case ClosureExpression compiled -> expression(compiled.getOriginal());
+            case ValueExpression constant -> literal(constant.getValue());
+            case VariableExpression variable -> variable(variable.getIdentifier());
+            case HeapReadExpression heapRead ->
+                    unboxed("runtime.read(%s)".formatted(expression(heapRead.getOffsetSpecificationExpression())), typeOf(heapRead));
+            case ArithmeticExpression arithmetic -> arithmetic(arithmetic);
+            case RelationalExpression relational -> relational(relational);
+            case LogicExpression logic -> "(%s %s %s)".formatted(
+                    expression(logic.getFirstExpression()),
+                    switch (logic.getOperand()) {
+                        case AND -> "&";
+                        case OR -> "|";
+                        case CONDITIONAL_AND -> "&&";
+                        case CONDITIONAL_OR -> "||";
+                        default -> throw new StatementException("Cannot transpile logic operand -- %s".formatted(logic.getOperand()));
+                    },
+                    expression(logic.getSecondExpression()));
+            default -> throw new StatementException("Cannot transpile expression -- %s".formatted(expression));
+        };
+    }
+
+    private String arithmetic(ArithmeticExpression arithmetic) throws StatementException {
+        Expression first = arithmetic.getFirstExpression(), second = arithmetic.getSecondExpression();
+        if (!(typeOf(first) instanceof IntType) || !(typeOf(second) instanceof IntType)) {
+            if (arithmetic.getOperand() != Operand.ADD)
+                throw new StatementException("Cannot transpile arithmetic on non-integers -- %s".formatted(arithmetic));
+            return "add(%s, %s)".formatted(boxed(first), boxed(second));
+        }
+        String left = expression(first), right = expression(second);
+        return switch (arithmetic.getOperand()) {
+            case ADD -> "(%s + %s)".formatted(left, right);
+            case SUB -> "(%s - %s)".formatted(left, right);
+            case MUL -> "(%s * %s)".formatted(left, right);
+            case DIV -> "div(%s, %s)".formatted(left, right);
+            case EXP -> "exp(%s, %s)".formatted(left, right);
+            default -> throw new StatementException("Cannot transpile arithmetic operand -- %s".formatted(arithmetic.getOperand()));
+        };
+    }
+
+    private String relational(RelationalExpression relational) throws StatementException {
+        Expression first = relational.getFirstExpression(), second = relational.getSecondExpression();
+        Type firstType = typeOf(first), secondType = typeOf(second);
+        boolean integers = firstType instanceof IntType && secondType instanceof IntType;
+        boolean booleans = firstType instanceof BoolType && secondType instanceof BoolType;
+        String operator = switch (relational.getOperand()) {
+            case EQUAL -> "==";
+            case NOT_EQUAL -> "!=";
+            case LOWER -> "<";
+            case GREATER -> ">";
+            case LOWER_OR_EQUAL -> "<=";
+            case GREATER_OR_EQUAL -> ">=";
+            default -> throw new StatementException("Cannot transpile relational operand -- %s".formatted(relational.getOperand()));
+        };
+        if (integers || booleans && (relational.getOperand() == Operand.EQUAL || relational.getOperand() == Operand.NOT_EQUAL))
+            return "(%s %s %s)".formatted(expression(first), operator, expression(second));
+        String method = switch (relational.getOperand()) {
+            case EQUAL -> "equal";
+            case NOT_EQUAL -> "notEqual";
+            case LOWER -> "lower";
+            case GREATER -> "greater";
+            case LOWER_OR_EQUAL -> "lowerOrEqual";
+            default -> "greaterOrEqual";
+        };
+        return "%s(%s, %s)".formatted(method, boxed(first), boxed(second));
+    }
+
+    private String boxed(Expression expression) throws StatementException {
+        return boxed(expression(expression), typeOf(expression));
+    }
+
+    private static String boxed(String code, Type type) {
+        return switch (type) {
+            case IntType ignored -> "IntValue.of(%s)".formatted(code);
+            case BoolType ignored -> "BoolValue.of(%s)".formatted(code);
+            default -> code;
+        };
+    }
+
+    private static String unboxed(String code, Type type) {
+        return switch (type) {
+            case IntType ignored -> "intOf(%s)".formatted(code);
+            case BoolType ignored -> "boolOf(%s)".formatted(code);
+            default -> code;
+        };
+    }
+
+    private String literal(Value value) throws StatementException {
+        return switch (value) {
+            case IntValue integer -> integer.getValue() < 0 ? "(%d)".formatted(integer.getValue()) : Integer.toString(integer.getValue());
+            case BoolValue bool -> Boolean.toString(bool.isTrue());
+            default -> constant(value);
+        };
+    }
+
+    /// Strings and references are built once, as static fields of the generated class
+    private String constant(Value value) throws StatementException {
+        String source = switch (value) {
+            /// StringValue strips one pair of surrounding quotes, so the value is quoted once more to come out unchanged
+            case StringValue string -> "new StringValue(\"\\\"%s\\\"\")".formatted(escaped(string.getValue()));
+            case ReferenceValue reference ->
+                    "new ReferenceValue(%d, %s)".formatted(reference.getAddress(), typeSource(reference.getLocationType()));
+            default -> throw new StatementException("Cannot transpile constant -- %s".formatted(value));
+        };
+        Integer index = internedConstants.get(source);
+        if (index == null) {
+            index = constants.size();
+            constants.add(source);
+            internedConstants.put(source, index);
+        }
+        return "CONSTANT_" + index;
+    }
+
+    private static String typeSource(Type type) {
+        return switch (type) {
+            case IntType ignored -> "IntType.get()";
+            case BoolType ignored -> "BoolType.get()";
+            case StringType ignored -> "StringType.get()";
+            case ReferenceType reference -> "ReferenceType.get(%s)".formatted(typeSource(reference.getInner()));
+        };
+    }
+
+    private static String escaped(String value) {
+        StringBuilder escaped = new StringBuilder();
+        for (char character : value.toCharArray()) {
+            switch (character) {
+                case '"' -> escaped.append("\\\"");
+                case '\\' -> escaped.append("\\\\");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                case '\t' -> escaped.append("\\t");
+                default -> {
+                    if (character < ' ' || character > '~')
+                        escaped.append("\\u%04x".formatted((int) character));
+                    else escaped.append(character);
+                }
+            }
+        }
+        return escaped.toString();
+    }
+}
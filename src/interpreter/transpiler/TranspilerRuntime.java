@@ -0,0 +1,253 @@
+package interpreter.transpiler;
+
+import interpreter.model.exceptions.*;
+import interpreter.model.expressions.ValueExpression;
+import interpreter.model.heaptable.HeapHashTable;
+import interpreter.model.heaptable.HeapTable;
+import interpreter.model.outputlist.OutputList;
+import interpreter.model.outputlist.OutputListArray;
+import interpreter.model.programstate.ProgramState;
+import interpreter.model.programstate.ProgramStateImplementation;
+import interpreter.model.statements.NoOperationStatement;
+import interpreter.model.statements.filestatements.CloseFileStatement;
+import interpreter.model.statements.filestatements.OpenReadFileStatement;
+import interpreter.model.statements.filestatements.ReadFileStatement;
+import interpreter.model.symboltable.SymbolTableHashMap;
+import interpreter.model.values.*;
+import interpreter.model.values.operationinterfaces.Additive;
+import interpreter.model.values.operationinterfaces.Comparable;
+import interpreter.model.values.operationinterfaces.Testable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+
+/// Runtime library of transpiled programs: the heap, file table, output and forked threads of a running program.
+/// Anything beyond plain int and bool arithmetic is delegated to the interpreter's own values and statements,
+/// so a transpiled program fails, prints and reads files exactly like an interpreted one.
+public class TranspilerRuntime {
+    private static final String TARGET = "target";
+    private final OutputList<Value> outputList = new OutputListArray<>();
+    private HeapTable heapTable = new HeapHashTable();
+    /// Scratch program state the file statements run against; shares the file table across threads
+    private final ProgramState files = new ProgramStateImplementation(new NoOperationStatement());
+    /// Once the program forks, its threads take turns like under the lockstep controller: every round, each thread takes
+    /// one step, in the order they were forked in, and the threads forked during a round join at its end
+    private final List<Strand> round = new ArrayList<>(), forkedThisRound = new ArrayList<>();
+    private final ThreadLocal<Strand> strand = new ThreadLocal<>();
+    private int turn;
+    private boolean forked;
+
+    private static final class Strand {
+        final Semaphore turn = new Semaphore(0);
+        boolean started, finished;
+    }
+
+    public synchronized void print(int value) {
+        outputList.append(IntValue.of(value));
+    }
+
+    public synchronized void print(boolean value) {
+        outputList.append(BoolValue.of(value));
+    }
+
+    public synchronized void print(Value value) {
+        outputList.append(value);
+    }
+
+    /// Reports a failed statement the way the controller does, after which the program carries on with the next one
+    public void fail(Exception failure) {
+        System.err.println(failure);
+    }
+
+    public static int intOf(Value value) {
+        return ((IntValue) value).getValue();
+    }
+
+    public static boolean boolOf(Value value) {
+        return ((BoolValue) value).isTrue();
+    }
+
+    public static int div(int dividend, int divisor) throws ValueException {
+        return IntValue.div(dividend, divisor);
+    }
+
+    public static int exp(int base, int exponent) throws ValueException {
+        return IntValue.exp(base, exponent);
+    }
+
+    public static Value add(Value first, Value second) throws ValueException {
+        return additive(first).add(second);
+    }
+
+    public static boolean equal(Value first, Value second) throws ValueException {
+        return testable(first).equal(second).isTrue();
+    }
+
+    public static boolean notEqual(Value first, Value second) throws ValueException {
+        return testable(first).notEqual(second).isTrue();
+    }
+
+    public static boolean lower(Value first, Value second) throws ValueException {
+        return comparable(first).lower(second).isTrue();
+    }
+
+    public static boolean greater(Value first, Value second) throws ValueException {
+        return comparable(first).greater(second).isTrue();
+    }
+
+    public static boolean lowerOrEqual(Value first, Value second) throws ValueException {
+        return comparable(first).lowerOrEqual(second).isTrue();
+    }
+
+    public static boolean greaterOrEqual(Value first, Value second) throws ValueException {
+        return comparable(first).greaterOrEqual(second).isTrue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Additive<Value> additive(Value value) {
+        return (Additive<Value>) value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Testable<Value> testable(Value value) {
+        return (Testable<Value>) value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Value> comparable(Value value) {
+        return (Comparable<Value>) value;
+    }
+
+    /// Allocates like the heap of an interpreted program, which the controller garbage collects before every step, so freed
+    /// addresses are handed out again. The caller passes every reference variable in scope as a root; once threads are
+    /// forked their variables are out of reach, and collection stops.
+    public synchronized Value allocate(Value value, Value... roots) throws HeapException {
+        if (!forked)
+            collectGarbage(roots);
+        int address = heapTable.add(value);
+        return new ReferenceValue(address, value.getType());
+    }
+
+    private void collectGarbage(Value[] roots) {
+        Set<Integer> reachable = new HashSet<>();
+        for (Value root : roots)
+            reachable.add(((ReferenceValue) root).getAddress());
+        heapTable.entriesStream()
+                .filter(entry -> entry.getValue() instanceof ReferenceValue)
+                .forEach(entry -> reachable.add(((ReferenceValue) entry.getValue()).getAddress()));
+        HashMap<Integer, Value> live = new HashMap<>();
+        heapTable.entriesStream()
+                .filter(entry -> reachable.contains(entry.getKey()))
+                .forEach(entry -> live.put(entry.getKey(), entry.getValue()));
+        heapTable = new HeapHashTable(live);
+    }
+
+    public synchronized Value read(Value reference) throws HeapException {
+        return heapTable.get(((ReferenceValue) reference).getAddress());
+    }
+
+    public synchronized void write(Value reference, Value value) throws HeapException {
+        heapTable.update(((ReferenceValue) reference).getAddress(), value);
+    }
+
+    public synchronized void open(Value filename) throws StatementException, ValueException, ExpressionException, HeapException, SymbolTableException {
+        new OpenReadFileStatement(new ValueExpression(filename)).execute(files);
+    }
+
+    /// Returns the value read into a variable currently holding current, whose type decides how the line is parsed
+    public synchronized Value read(Value filename, Value current) throws StatementException, ValueException, ExpressionException, HeapException, SymbolTableException {
+        files.setSymbolTable(new SymbolTableHashMap<>());
+        files.getSymbolTable().put(TARGET, current);
+        new ReadFileStatement(new ValueExpression(filename), TARGET).execute(files);
+        return files.getSymbolTable().lookup(TARGET);
+    }
+
+    public synchronized void close(Value filename) throws StatementException, ValueException, ExpressionException, HeapException, SymbolTableException {
+        new CloseFileStatement(new ValueExpression(filename)).execute(files);
+    }
+
+    public synchronized void fork(Runnable body) {
+        if (!forked) {
+            forked = true;
+            Strand main = new Strand();
+            main.started = true;
+            strand.set(main);
+            round.add(main);
+        }
+        Strand child = new Strand();
+        forkedThisRound.add(child);
+        new Thread(() -> {
+            strand.set(child);
+            try {
+                body.run();
+            } finally {
+                end();
+            }
+        }).start();
+    }
+
+    /// Called where the tree walker starts a step: ends the thread's previous step and waits for its next turn.
+    /// Until the program forks there is nobody to take turns with
+    public void step() {
+        if (!forked)
+            return;
+        Strand current = strand.get(), next = null;
+        synchronized (this) {
+            if (current.started)
+                next = advance();
+            current.started = true;
+        }
+        if (next == current)
+            return;
+        if (next != null)
+            next.turn.release();
+        current.turn.acquireUninterruptibly();
+    }
+
+    private void end() {
+        Strand next;
+        synchronized (this) {
+            Strand current = strand.get();
+            current.finished = true;
+            next = current.started ? advance() : null;
+        }
+        if (next != null)
+            next.turn.release();
+    }
+
+    /// Passes the turn on, starting a new round after the last thread; returns the thread to take the next step,
+    /// or null once every thread has finished
+    private Strand advance() {
+        turn++;
+        while (true) {
+            if (turn == round.size()) {
+                round.addAll(forkedThisRound);
+                forkedThisRound.clear();
+                round.removeIf(thread -> thread.finished);
+                turn = 0;
+                if (round.isEmpty()) {
+                    notifyAll();
+                    return null;
+                }
+            }
+            if (!round.get(turn).finished)
+                return round.get(turn);
+            turn++;
+        }
+    }
+
+    /// Ends the main thread and waits for every forked one
+    public void finish() throws InterruptedException {
+        if (!forked)
+            return;
+        end();
+        synchronized (this) {
+            while (!round.isEmpty())
+                wait();
+        }
+    }
+}
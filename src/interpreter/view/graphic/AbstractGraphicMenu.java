@@ -2,6 +2,9 @@ package interpreter.view.graphic;
 
 import inputmanager.InputManager;
 import inputmanager.StringAndStatementInputManager;
+import inputmanager.parser.ParseException;
+import inputmanager.tokenizer.TokenizerException;
+import interpreter.model.exceptions.TypecheckException;
 import interpreter.view.Menu;
 import javafx.application.Application;
 import javafx.scene.Scene;
@@ -29,6 +32,16 @@ public abstract class AbstractGraphicMenu extends Application implements Menu {
         alert.showAndWait();
     }
 
+    protected static void showLoadErrorMessageBox(Exception error) {
+        if (error instanceof TypecheckException)
+            showErrorMessageBox("Typechecking error:\n" + error.getMessage());
+        else if (error instanceof TokenizerException)
+            showErrorMessageBox("Tokenizing error:\n" + error.getMessage());
+        else if (error instanceof ParseException)
+            showErrorMessageBox("Parsing exception:\n" + error.getMessage());
+        else showErrorMessageBox(error.getMessage());
+    }
+
     @Override
     public void start(Stage stage) {
         initNodes();
@@ -1,5 +1,6 @@
 package interpreter.view.graphic;
 
+import inputmanager.ProgramLoadResult;
 import inputmanager.parser.ParseException;
 import inputmanager.tokenizer.TokenizerException;
 import interpreter.controller.Controller;
@@ -70,12 +71,15 @@ public class CoolGraphicMenu extends AbstractGraphicMenu {
 
     @Override
     protected void addPrograms() {
-        for (String[] source : sources) {
-            Controller controller = parseAndCreateExecutableProgram(source[CODE]);
-            if (controller == null)
+        List<ProgramLoadResult> programs = inputManager.programs(sources.stream().map(source -> source[CODE]).toList(), logFileCounter.getAndAdd(sources.size()));
+        for (int index = 0; index < programs.size(); index++) {
+            ProgramLoadResult program = programs.get(index);
+            if (!program.isSuccessful()) {
+                showLoadErrorMessageBox(program.error());
                 continue;
-            programNameToSourceCode.put(source[NAME], source[CODE]);
-            programNameToExecutable.put(source[NAME], controller);
+            }
+            programNameToSourceCode.put(sources.get(index)[NAME], program.source());
+            programNameToExecutable.put(sources.get(index)[NAME], program.controller());
         }
     }
 
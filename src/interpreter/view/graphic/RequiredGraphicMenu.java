@@ -1,7 +1,6 @@
 package interpreter.view.graphic;
 
-import inputmanager.parser.ParseException;
-import inputmanager.tokenizer.TokenizerException;
+import inputmanager.ProgramLoadResult;
 import interpreter.controller.Controller;
 import interpreter.model.exceptions.*;
 import interpreter.model.programstate.ProgramState;
@@ -136,21 +135,11 @@ public class RequiredGraphicMenu extends AbstractGraphicMenu {
 
     @Override
     protected void addPrograms() {
-        for (String[] source : SourceGenerator.makeList()) {
-            Controller controller;
-            try {
-                controller = inputManager.program(source[CODE], logFileCounter.getAndIncrement());
-            } catch (TypecheckException e) {
-                showErrorMessageBox("Typechecking error:\n" + e.getMessage());
-                continue;
-            } catch (TokenizerException e) {
-                showErrorMessageBox("Tokenizing error:\n" + e.getMessage());
-                continue;
-            } catch (ParseException e) {
-                showErrorMessageBox("Parsing exception:\n" + e.getMessage());
-                continue;
-            }
-            controllers.add(controller);
+        List<String> sources = SourceGenerator.makeList().stream().map(source -> source[CODE]).toList();
+        for (ProgramLoadResult program : inputManager.programs(sources, logFileCounter.getAndAdd(sources.size()))) {
+            if (program.isSuccessful())
+                controllers.add(program.controller());
+            else showLoadErrorMessageBox(program.error());
         }
     }
 
@@ -1,11 +1,8 @@
 package interpreter.view.text.commands;
 
+import inputmanager.ProgramLoadResult;
 import inputmanager.StringAndStatementInputManager;
 import inputmanager.InputManager;
-import inputmanager.parser.ParseException;
-import inputmanager.tokenizer.TokenizerException;
-import interpreter.controller.Controller;
-import interpreter.model.exceptions.TypecheckException;
 import interpreter.view.Menu;
 import interpreter.view.utils.SourceGenerator;
 
@@ -40,16 +37,14 @@ public class TextMenu implements Menu {
     private void setup() {
         this.addCommand("exit", new ExitCommand("exit", "exit"));
         List<String[]> sources = SourceGenerator.makeList();
+        List<ProgramLoadResult> programs = inputManager.programs(sources.stream().map(source -> source[CODE]).toList(), 1);
         AtomicInteger counter = new AtomicInteger(1);
-        for (String[] source : sources) {
-            Controller controller;
-            try {
-                controller = inputManager.program(source[CODE], counter.get());
-            } catch (TypecheckException | TokenizerException | ParseException err) {
-                System.err.println(err.getMessage());
+        for (ProgramLoadResult program : programs) {
+            if (!program.isSuccessful()) {
+                System.err.println(program.error().getMessage());
                 continue;
             }
-            this.addCommand(String.valueOf(counter.get()), new RunProgramCommand(String.valueOf(counter.get()), source[CODE], controller));
+            this.addCommand(String.valueOf(counter.get()), new RunProgramCommand(String.valueOf(counter.get()), program.source(), program.controller()));
             counter.getAndIncrement();
         }
         this.show();
@@ -0,0 +1,377 @@
+package interpreter.vm;
+
+import interpreter.model.exceptions.StatementException;
+import interpreter.model.expressions.*;
+import interpreter.model.expressions.closures.ClosureExpression;
+import interpreter.model.operands.Operand;
+import interpreter.model.statements.*;
+import interpreter.model.statements.filestatements.CloseFileStatement;
+import interpreter.model.statements.filestatements.OpenReadFileStatement;
+import interpreter.model.statements.filestatements.ReadFileStatement;
+import interpreter.model.statements.memorystatements.HeapAllocationStatement;
+import interpreter.model.statements.memorystatements.HeapWriteStatement;
+import interpreter.model.values.Value;
+
+import java.util.*;
+
+/// Lowers a typechecked statement tree to register code for the VirtualMachineProgramState.
+/// Registers are laid out as [variable slots | constants | expression temporaries], so every operand is a plain register index.
+public class BytecodeCompiler {
+    private record PendingFork(int instruction, Statement body) {
+    }
+
+    private int[] code = new int[64 * OpCode.WIDTH];
+    private int size;
+    private final List<Statement> origins = new ArrayList<>();
+    private final List<Integer> recoveries = new ArrayList<>();
+    private final List<Value> constants = new ArrayList<>();
+    private final Map<String, Integer> internedConstants = new HashMap<>();
+    private final Map<String, Integer> slots = new LinkedHashMap<>();
+    private final List<Statement> delegates = new ArrayList<>();
+    private final Deque<PendingFork> forks = new ArrayDeque<>();
+    private int constantBase, nextTemporary, registerCount;
+
+    private BytecodeCompiler() {
+    }
+
+    public static CompiledProgram compile(Statement program) throws StatementException {
+        return new BytecodeCompiler().compileProgram(program);
+    }
+
+    private CompiledProgram compileProgram(Statement program) throws StatementException {
+        collectSlots(program);
+        constantBase = slots.size();
+        nextTemporary = registerCount = constantBase + constants.size();
+        statement(program);
+        emitStep(program, OpCode.HALT, 0, 0, 0);
+        while (!forks.isEmpty()) {
+            PendingFork fork = forks.poll();
+            patch(fork.instruction(), 1, size);
+            statement(fork.body());
+            emitStep(fork.body(), OpCode.HALT, 0, 0, 0);
+        }
+        int[] recoveryTable = new int[size];
+        for (int pc = 0; pc < size; pc++)
+            recoveryTable[pc] = recoveries.get(pc);
+        return new CompiledProgram(
+                program,
+                Arrays.copyOf(code, size * OpCode.WIDTH),
+                constants.toArray(Value[]::new),
+                slots.keySet().toArray(String[]::new),
+                registerCount,
+                delegates.toArray(Statement[]::new),
+                origins.toArray(Statement[]::new),
+                recoveryTable);
+    }
+
+    private void collectSlots(Statement program) throws StatementException {
+        Deque<Statement> pending = new ArrayDeque<>();
+        pending.push(program);
+        while (!pending.isEmpty()) {
+            switch (pending.pop()) {
+                case SequenceStatement sequence -> sequence.getStatements().forEach(pending::push);
+                case CompoundStatement compound -> {
+                    pending.push(compound.getSecondStatement());
+                    pending.push(compound.getFirstStatement());
+                }
+                case WhileStatement loop -> {
+                    collectSlots(loop.getCondition());
+                    pending.push(loop.getBody());
+                }
+                case IfStatement branch -> {
+                    collectSlots(branch.getCondition());
+                    pending.push(branch.getBranchNegative());
+                    pending.push(branch.getBranchPositive());
+                }
+                case ForkStatement fork -> pending.push(fork.getTargetStatement());
+                case VariableDeclarationStatement declaration -> {
+                    slot(declaration.getIdentifier());
+                    constantIndex(declaration.getType().getDefault());
+                }
+                case AssignStatement assignment -> {
+                    slot(assignment.getVariableIdentifier());
+                    collectSlots(assignment.getExpressionAssignedToVar());
+                }
+                case PrintStatement print -> collectSlots(print.getExpressionToPrint());
+                case HeapAllocationStatement allocation -> {
+                    slot(allocation.getIdentifier());
+                    collectSlots(allocation.getExpression());
+                }
+                case HeapWriteStatement write -> {
+                    slot(write.getIdentifier());
+                    collectSlots(write.getValueExpr());
+                }
+                case OpenReadFileStatement open -> collectSlots(open.getFilenameExpression());
+                case ReadFileStatement read -> {
+                    slot(read.getIdentifier());
+                    collectSlots(read.getFilenameExpression());
+                }
+                case CloseFileStatement close -> collectSlots(close.getFilenameExpression());
+                case NoOperationStatement ignored -> {
+                }
+                case Statement other ->
+                        throw new StatementException("Cannot compile statement to bytecode -- %s".formatted(other));
+            }
+        }
+    }
+
+    private void collectSlots(Expression expression) throws StatementException {
+        switch (expression) {
+            case VariableExpression variable -> slot(variable.getIdentifier());
+            case ValueExpression value -> constantIndex(value.getValue());
+            case ArithmeticExpression arithmetic -> {
+                collectSlots(arithmetic.getFirstExpression());
+                collectSlots(arithmetic.getSecondExpression());
+            }
+            case RelationalExpression relational -> {
+                collectSlots(relational.getFirstExpression());
+                collectSlots(relational.getSecondExpression());
+            }
+            case LogicExpression logic -> {
+                collectSlots(logic.getFirstExpression());
+                collectSlots(logic.getSecondExpression());
+            }
+            case HeapReadExpression heapRead -> collectSlots(heapRead.getOffsetSpecificationExpression());
+            case ClosureExpression compiled -> collectSlots(compiled.getOriginal());
+            default -> throw new StatementException("Cannot compile expression to bytecode -- %s".formatted(expression));
+        }
+    }
+
+    private int slot(String identifier) {
+        return slots.computeIfAbsent(identifier, ignored -> slots.size());
+    }
+
+    private void statement(Statement program) throws StatementException {
+        Deque<Statement> pending = new ArrayDeque<>();
+        pending.push(program);
+        while (!pending.isEmpty()) {
+            Statement current = pending.pop();
+            switch (current) {
+                case SequenceStatement sequence -> {
+                    List<Statement> statements = sequence.getStatements();
+                    for (int index = statements.size() - 1; index >= 0; index--)
+                        pending.push(statements.get(index));
+                }
+                case CompoundStatement compound -> {
+                    pending.push(compound.getSecondStatement());
+                    pending.push(compound.getFirstStatement());
+                }
+                case WhileStatement loop -> whileLoop(loop);
+                case IfStatement branch -> ifBranch(branch);
+                default -> leaf(current);
+            }
+        }
+    }
+
+    private void whileLoop(WhileStatement loop) throws StatementException {
+        int head = size;
+        int condition = expression(loop.getCondition(), loop);
+        int exitJump = emit(loop, OpCode.JUMP_IF_FALSE, 0, condition, 0);
+        emitStep(loop, OpCode.ENTER_SCOPE, 0, 0, 0);
+        int bodyStart = size;
+        statement(loop.getBody());
+        emitStep(loop, OpCode.EXIT_SCOPE, 0, 0, 0);
+        emit(loop, OpCode.JUMP, head, 0, 0);
+        int exit = emitStep(loop, OpCode.NOP, 0, 0, 0);
+        patch(exitJump, 1, exit);
+        recover(head, bodyStart, exit + 1);
+    }
+
+    private void ifBranch(IfStatement branch) throws StatementException {
+        int start = size;
+        int condition = expression(branch.getCondition(), branch);
+        int elseJump = emit(branch, OpCode.JUMP_IF_FALSE, 0, condition, 0);
+        emitStep(branch, OpCode.ENTER_SCOPE, 0, 0, 0);
+        int positiveStart = size;
+        statement(branch.getBranchPositive());
+        emitStep(branch, OpCode.EXIT_SCOPE, 0, 0, 0);
+        int endJump = emit(branch, OpCode.JUMP, 0, 0, 0);
+        int negativeStart = size;
+        patch(elseJump, 1, negativeStart);
+        emitStep(branch, OpCode.ENTER_SCOPE, 0, 0, 0);
+        statement(branch.getBranchNegative());
+        emitStep(branch, OpCode.EXIT_SCOPE, 0, 0, 0);
+        patch(endJump, 1, size);
+        recover(start, positiveStart, size);
+        recover(negativeStart, negativeStart + 1, size);
+    }
+
+    private void leaf(Statement statement) throws StatementException {
+        int start = size, mark = nextTemporary;
+        switch (statement) {
+            case NoOperationStatement ignored -> emit(statement, OpCode.NOP, 0, 0, 0);
+            case VariableDeclarationStatement declaration ->
+                    emit(statement, OpCode.DECLARE, slot(declaration.getIdentifier()), constant(declaration.getType().getDefault()), 0);
+            case AssignStatement assignment -> {
+                int value = expression(assignment.getExpressionAssignedToVar(), statement);
+                emit(statement, OpCode.STORE, slot(assignment.getVariableIdentifier()), value, 0);
+            }
+            case PrintStatement print -> {
+                int value = expression(print.getExpressionToPrint(), statement);
+                emit(statement, OpCode.PRINT, 0, value, 0);
+            }
+            case HeapAllocationStatement allocation -> {
+                int value = expression(allocation.getExpression(), statement);
+                emit(statement, OpCode.HEAP_ALLOC, slot(allocation.getIdentifier()), value, 0);
+            }
+            case HeapWriteStatement write -> {
+                int value = expression(write.getValueExpr(), statement);
+                emit(statement, OpCode.HEAP_WRITE, slot(write.getIdentifier()), value, 0);
+            }
+            case ForkStatement fork -> {
+                int instruction = emit(statement, OpCode.FORK, 0, 0, 0);
+                forks.add(new PendingFork(instruction, fork.getTargetStatement()));
+            }
+            case OpenReadFileStatement ignored -> delegate(statement);
+            case ReadFileStatement ignored -> delegate(statement);
+            case CloseFileStatement ignored -> delegate(statement);
+            default -> throw new StatementException("Cannot compile statement to bytecode -- %s".formatted(statement));
+        }
+        nextTemporary = mark;
+        endStep(size - 1);
+        recover(start, size, size);
+    }
+
+    private void delegate(Statement statement) {
+        delegates.add(statement);
+        emit(statement, OpCode.EXECUTE, delegates.size() - 1, 0, 0);
+    }
+
+    private int expression(Expression expression, Statement origin) throws StatementException {
+        switch (expression) {
+            case VariableExpression variable -> {
+                return slot(variable.getIdentifier());
+            }
+            case ValueExpression value -> {
+                return constant(value.getValue());
+            }
+            case ClosureExpression compiled -> {
+                return expression(compiled.getOriginal(), origin);
+            }
+            case HeapReadExpression heapRead -> {
+                int mark = nextTemporary;
+                int address = expression(heapRead.getOffsetSpecificationExpression(), origin);
+                nextTemporary = mark;
+                int target = temporary();
+                emit(origin, OpCode.HEAP_READ, target, address, 0);
+                return target;
+            }
+            case ArithmeticExpression arithmetic -> {
+                int opCode = switch (arithmetic.getOperand()) {
+                    case ADD -> OpCode.ADD;
+                    case SUB -> OpCode.SUB;
+                    case MUL -> OpCode.MUL;
+                    case DIV -> OpCode.DIV;
+                    case EXP -> OpCode.EXP;
+                    default -> throw unsupported(expression);
+                };
+                return binary(opCode, arithmetic.getFirstExpression(), arithmetic.getSecondExpression(), origin);
+            }
+            case RelationalExpression relational -> {
+                int opCode = switch (relational.getOperand()) {
+                    case EQUAL -> OpCode.EQUAL;
+                    case NOT_EQUAL -> OpCode.NOT_EQUAL;
+                    case LOWER -> OpCode.LOWER;
+                    case GREATER -> OpCode.GREATER;
+                    case LOWER_OR_EQUAL -> OpCode.LOWER_OR_EQUAL;
+                    case GREATER_OR_EQUAL -> OpCode.GREATER_OR_EQUAL;
+                    default -> throw unsupported(expression);
+                };
+                return binary(opCode, relational.getFirstExpression(), relational.getSecondExpression(), origin);
+            }
+            case LogicExpression logic when logic.getOperand().shortCircuit() -> {
+                return shortCircuit(logic, origin);
+            }
+            case LogicExpression logic -> {
+                int opCode = switch (logic.getOperand()) {
+                    case AND -> OpCode.AND;
+                    case OR -> OpCode.OR;
+                    default -> throw unsupported(expression);
+                };
+                return binary(opCode, logic.getFirstExpression(), logic.getSecondExpression(), origin);
+            }
+            default -> throw unsupported(expression);
+        }
+    }
+
+    private int binary(int opCode, Expression first, Expression second, Statement origin) throws StatementException {
+        int mark = nextTemporary;
+        int firstOperand = expression(first, origin);
+        int secondOperand = expression(second, origin);
+        nextTemporary = mark;
+        int target = temporary();
+        emit(origin, opCode, target, firstOperand, secondOperand);
+        return target;
+    }
+
+    /// The result register takes the first operand and, unless that decides the result, is overwritten with the
+    /// combination of both. The first operand stays live past the skip, so the result is allocated above it
+    private int shortCircuit(LogicExpression logic, Statement origin) throws StatementException {
+        boolean and = logic.getOperand() == Operand.CONDITIONAL_AND;
+        int first = expression(logic.getFirstExpression(), origin);
+        int target = temporary();
+        int skip = emit(origin, and ? OpCode.AND_THEN : OpCode.OR_ELSE, target, first, 0);
+        int second = expression(logic.getSecondExpression(), origin);
+        emit(origin, and ? OpCode.AND : OpCode.OR, target, first, second);
+        patch(skip, 3, size);
+        nextTemporary = target + 1;
+        return target;
+    }
+
+    private static StatementException unsupported(Expression expression) {
+        return new StatementException("Cannot compile expression to bytecode -- %s".formatted(expression));
+    }
+
+    private int temporary() {
+        int register = nextTemporary++;
+        registerCount = Math.max(registerCount, nextTemporary);
+        return register;
+    }
+
+    private int constantIndex(Value value) {
+        String key = value.getClass().getSimpleName() + value;
+        Integer index = internedConstants.get(key);
+        if (index == null) {
+            index = constants.size();
+            constants.add(value);
+            internedConstants.put(key, index);
+        }
+        return index;
+    }
+
+    private int constant(Value value) {
+        return constantBase + constantIndex(value);
+    }
+
+    private int emit(Statement origin, int opCode, int a, int b, int c) {
+        if (size * OpCode.WIDTH == code.length)
+            code = Arrays.copyOf(code, code.length * 2);
+        int base = size * OpCode.WIDTH;
+        code[base] = opCode;
+        code[base + 1] = a;
+        code[base + 2] = b;
+        code[base + 3] = c;
+        origins.add(origin);
+        recoveries.add(size + 1);
+        return size++;
+    }
+
+    private int emitStep(Statement origin, int opCode, int a, int b, int c) {
+        int instruction = emit(origin, opCode, a, b, c);
+        endStep(instruction);
+        return instruction;
+    }
+
+    private void endStep(int instruction) {
+        code[instruction * OpCode.WIDTH] |= OpCode.STEP_END;
+    }
+
+    private void patch(int instruction, int operand, int value) {
+        code[instruction * OpCode.WIDTH + operand] = value;
+    }
+
+    private void recover(int from, int to, int target) {
+        for (int pc = from; pc < to; pc++)
+            recoveries.set(pc, target);
+    }
+}
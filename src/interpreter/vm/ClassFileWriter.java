@@ -0,0 +1,278 @@
+package interpreter.vm;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/// Minimal class file emitter -- just enough of the format for JvmCompiler.
+/// Classes are written as version 49, which the verifier checks by type inference, so no stack map frames are needed.
+final class ClassFileWriter {
+    private static final int MAGIC = 0xCAFEBABE, VERSION = 49;
+    static final int ACC_PUBLIC = 0x0001, ACC_FINAL = 0x0010, ACC_SUPER = 0x0020;
+    private static final int CONSTANT_UTF8 = 1, CONSTANT_INTEGER = 3, CONSTANT_CLASS = 7,
+            CONSTANT_METHOD = 10, CONSTANT_INTERFACE_METHOD = 11, CONSTANT_NAME_AND_TYPE = 12;
+
+    private final ByteArrayOutputStream poolBytes = new ByteArrayOutputStream();
+    private final DataOutputStream pool = new DataOutputStream(poolBytes);
+    private final Map<String, Integer> poolIndex = new HashMap<>();
+    private int poolCount = 1;
+    private final String name;
+    private final String superName;
+    private final List<String> interfaces;
+    private final List<byte[]> methods = new ArrayList<>();
+
+    ClassFileWriter(String name, String superName, List<String> interfaces) {
+        this.name = name;
+        this.superName = superName;
+        this.interfaces = interfaces;
+    }
+
+    private int entry(String key, IOWriter writer) {
+        Integer index = poolIndex.get(key);
+        if (index != null)
+            return index;
+        try {
+            writer.write();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        poolIndex.put(key, poolCount);
+        return poolCount++;
+    }
+
+    private interface IOWriter {
+        void write() throws IOException;
+    }
+
+    int utf8(String value) {
+        return entry("U" + value, () -> {
+            pool.writeByte(CONSTANT_UTF8);
+            pool.writeUTF(value);
+        });
+    }
+
+    int integer(int value) {
+        return entry("I" + value, () -> {
+            pool.writeByte(CONSTANT_INTEGER);
+            pool.writeInt(value);
+        });
+    }
+
+    int classReference(String internalName) {
+        int nameIndex = utf8(internalName);
+        return entry("C" + internalName, () -> {
+            pool.writeByte(CONSTANT_CLASS);
+            pool.writeShort(nameIndex);
+        });
+    }
+
+    private int nameAndType(String memberName, String descriptor) {
+        int nameIndex = utf8(memberName), descriptorIndex = utf8(descriptor);
+        return entry("N" + memberName + ":" + descriptor, () -> {
+            pool.writeByte(CONSTANT_NAME_AND_TYPE);
+            pool.writeShort(nameIndex);
+            pool.writeShort(descriptorIndex);
+        });
+    }
+
+    int methodReference(String owner, String memberName, String descriptor, boolean isInterface) {
+        int ownerIndex = classReference(owner), nameAndTypeIndex = nameAndType(memberName, descriptor);
+        return entry((isInterface ? "J" : "M") + owner + "." + memberName + ":" + descriptor, () -> {
+            pool.writeByte(isInterface ? CONSTANT_INTERFACE_METHOD : CONSTANT_METHOD);
+            pool.writeShort(ownerIndex);
+            pool.writeShort(nameAndTypeIndex);
+        });
+    }
+
+    void method(int access, String memberName, String descriptor, Code code) {
+        int nameIndex = utf8(memberName), descriptorIndex = utf8(descriptor), codeIndex = utf8("Code");
+        byte[] body = code.toBytes();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeShort(access);
+            output.writeShort(nameIndex);
+            output.writeShort(descriptorIndex);
+            output.writeShort(1);
+            output.writeShort(codeIndex);
+            output.writeInt(body.length);
+            output.write(body);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        methods.add(bytes.toByteArray());
+    }
+
+    byte[] toBytes() {
+        int thisIndex = classReference(name), superIndex = classReference(superName);
+        int[] interfaceIndexes = interfaces.stream().mapToInt(this::classReference).toArray();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeInt(MAGIC);
+            output.writeShort(0);
+            output.writeShort(VERSION);
+            output.writeShort(poolCount);
+            poolBytes.writeTo(output);
+            output.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+            output.writeShort(thisIndex);
+            output.writeShort(superIndex);
+            output.writeShort(interfaceIndexes.length);
+            for (int index : interfaceIndexes)
+                output.writeShort(index);
+            output.writeShort(0);
+            output.writeShort(methods.size());
+            for (byte[] method : methods)
+                output.write(method);
+            output.writeShort(0);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /// Bytecode of one method, with forward-referencable labels and a catch-all exception table
+    final class Code {
+        static final int ILOAD = 0x15, LLOAD = 0x16, ALOAD = 0x19, ISTORE = 0x36, LSTORE = 0x37, ASTORE = 0x3A,
+                LALOAD = 0x2F, IFEQ = 0x99, IFNE = 0x9A, GOTO = 0xA7, LOOKUPSWITCH = 0xAB, IRETURN = 0xAC, RETURN = 0xB1,
+                INVOKEVIRTUAL = 0xB6, INVOKESPECIAL = 0xB7, ATHROW = 0xBF;
+        static final int MAX_LENGTH = 0x7FFF;
+
+        private byte[] code = new byte[256];
+        private int length;
+        private final int maxStack, maxLocals;
+        private final List<int[]> fixups = new ArrayList<>();
+        private final List<int[]> handlers = new ArrayList<>();
+        private int[] labels = new int[16];
+        private int labelCount;
+
+        Code(int maxStack, int maxLocals) {
+            this.maxStack = maxStack;
+            this.maxLocals = maxLocals;
+        }
+
+        private void u1(int value) {
+            if (length == code.length)
+                code = Arrays.copyOf(code, code.length * 2);
+            code[length++] = (byte) value;
+        }
+
+        private void u2(int value) {
+            u1(value >> 8);
+            u1(value);
+        }
+
+        private void u4(int value) {
+            u2(value >> 16);
+            u2(value);
+        }
+
+        void op(int opcode) {
+            u1(opcode);
+        }
+
+        void local(int opcode, int local) {
+            if (local <= 3) {
+                // short forms come in runs of four, in the same type order as the long forms: iload_0..3, lload_0..3, ...
+                u1((opcode < ISTORE ? 0x1A + (opcode - ILOAD) * 4 : 0x3B + (opcode - ISTORE) * 4) + local);
+                return;
+            }
+            u1(opcode);
+            u1(local);
+        }
+
+        void constant(int value) {
+            if (value >= -1 && value <= 5)
+                u1(0x03 + value);
+            else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+                u1(0x10);
+                u1(value);
+            } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+                u1(0x11);
+                u2(value);
+            } else {
+                u1(0x13);
+                u2(integer(value));
+            }
+        }
+
+        void invoke(int opcode, String owner, String memberName, String descriptor) {
+            u1(opcode);
+            u2(methodReference(owner, memberName, descriptor, false));
+        }
+
+        int newLabel() {
+            if (labelCount == labels.length)
+                labels = Arrays.copyOf(labels, labelCount * 2);
+            labels[labelCount] = -1;
+            return labelCount++;
+        }
+
+        void bind(int label) {
+            labels[label] = length;
+        }
+
+        void jump(int opcode, int label) {
+            int at = length;
+            u1(opcode);
+            fixups.add(new int[]{at, length, label, 2});
+            u2(0);
+        }
+
+        /// Jumps to targets[index] when the int on the stack equals keys[index], to defaultLabel otherwise
+        void lookupSwitch(int[] keys, int[] targets, int defaultLabel) {
+            int at = length;
+            u1(LOOKUPSWITCH);
+            while (length % 4 != 0)
+                u1(0);
+            fixups.add(new int[]{at, length, defaultLabel, 4});
+            u4(0);
+            u4(keys.length);
+            for (int index = 0; index < keys.length; index++) {
+                u4(keys[index]);
+                fixups.add(new int[]{at, length, targets[index], 4});
+                u4(0);
+            }
+        }
+
+        void catchAll(int startLabel, int endLabel, int handlerLabel) {
+            handlers.add(new int[]{startLabel, endLabel, handlerLabel});
+        }
+
+        byte[] toBytes() {
+            if (length > MAX_LENGTH)
+                throw new IllegalStateException("Method too large -- %d bytes".formatted(length));
+            for (int[] fixup : fixups) {
+                int offset = labels[fixup[2]] - fixup[0], at = fixup[1];
+                if (fixup[3] == 4) {
+                    code[at] = (byte) (offset >> 24);
+                    code[at + 1] = (byte) (offset >> 16);
+                    at += 2;
+                }
+                code[at] = (byte) (offset >> 8);
+                code[at + 1] = (byte) offset;
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream output = new DataOutputStream(bytes)) {
+                output.writeShort(maxStack);
+                output.writeShort(maxLocals);
+                output.writeInt(length);
+                output.write(code, 0, length);
+                output.writeShort(handlers.size());
+                for (int[] handler : handlers) {
+                    output.writeShort(labels[handler[0]]);
+                    output.writeShort(labels[handler[1]]);
+                    output.writeShort(labels[handler[2]]);
+                    output.writeShort(0);
+                }
+                output.writeShort(0);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return bytes.toByteArray();
+        }
+    }
+}
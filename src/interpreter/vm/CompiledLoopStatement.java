@@ -0,0 +1,64 @@
+package interpreter.vm;
+
+import interpreter.model.exceptions.*;
+import interpreter.model.programstate.ProgramState;
+import interpreter.model.statements.Statement;
+import interpreter.model.symboltable.SymbolTable;
+import interpreter.model.type.Type;
+import interpreter.model.values.Value;
+
+/// A promoted loop in the middle of its execution: every step of the enclosing program is one step of the frame,
+/// until the loop exits and its variables are handed back to the tree walker
+class CompiledLoopStatement implements Statement {
+    private final VirtualMachineProgramState frame;
+    private final LoopSymbolTable symbolTable;
+
+    CompiledLoopStatement(CompiledProgram loop, ProgramState enclosing) throws SymbolTableException {
+        this.frame = VirtualMachineProgramState.enterLoop(loop, enclosing);
+        this.symbolTable = new LoopSymbolTable(enclosing.getSymbolTable(), frame);
+        enclosing.setSymbolTable(symbolTable);
+    }
+
+    @Override
+    public ProgramState execute(ProgramState state) throws StatementException, ValueException, ExpressionException, SymbolTableException, HeapException {
+        if (frame.isNotCompleted()) {
+            /// Back on the stack before stepping, so a failed step resumes at the frame's recovery point like any other statement
+            state.getExecutionStack().push(this);
+            frame.share(state);
+            ProgramState forked;
+            try {
+                forked = frame.takeOneStep();
+            } catch (ProgramStateException e) {
+                throw new StatementException(e.getMessage());
+            }
+            if (frame.isNotCompleted())
+                return forked;
+            state.getExecutionStack().pop();
+            leave(state);
+            return forked;
+        }
+        leave(state);
+        return null;
+    }
+
+    private void leave(ProgramState state) throws SymbolTableException {
+        SymbolTable<String, Value> enclosing = symbolTable.getEnclosing();
+        state.setSymbolTable(enclosing);
+        frame.leaveLoop(enclosing);
+    }
+
+    @Override
+    public SymbolTable<String, Type> typecheck(SymbolTable<String, Type> environment) throws TypecheckException {
+        return frame.getProgram().getSource().typecheck(environment);
+    }
+
+    @Override
+    public Statement deepCopy() throws ExpressionException {
+        return frame.getProgram().getSource().deepCopy();
+    }
+
+    @Override
+    public String toString() {
+        return frame.getProgram().getSource().toString();
+    }
+}
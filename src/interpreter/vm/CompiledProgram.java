@@ -0,0 +1,83 @@
+package interpreter.vm;
+
+import interpreter.model.statements.Statement;
+import interpreter.model.values.Value;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public final class CompiledProgram {
+    final Statement source;
+    final int[] code;
+    final Value[] constants;
+    final String[] slotNames;
+    final Map<String, Integer> slots;
+    final int registerCount;
+    final Statement[] delegates;
+    /// Statement each instruction was compiled from, shown as the execution stack of a running vm
+    final Statement[] origins;
+    /// Where execution resumes when an instruction throws, skipping the rest of the failed statement
+    final int[] recoveries;
+    /// JVM translation of the code, once one has been installed; used by every thread running this program
+    volatile GeneratedCode generatedCode;
+
+    CompiledProgram(Statement source, int[] code, Value[] constants, String[] slotNames, int registerCount, Statement[] delegates, Statement[] origins, int[] recoveries) {
+        this.source = source;
+        this.code = code;
+        this.constants = constants;
+        this.slotNames = slotNames;
+        this.registerCount = registerCount;
+        this.delegates = delegates;
+        this.origins = origins;
+        this.recoveries = recoveries;
+        this.slots = new HashMap<>();
+        for (int slot = 0; slot < slotNames.length; slot++)
+            slots.put(slotNames[slot], slot);
+    }
+
+    public Statement getSource() {
+        return source;
+    }
+
+    public boolean isGenerated() {
+        return generatedCode != null;
+    }
+
+    public int size() {
+        return code.length / OpCode.WIDTH;
+    }
+
+    private String operand(int operand) {
+        if (operand < slotNames.length)
+            return slotNames[operand];
+        if (operand < slotNames.length + constants.length)
+            return "#" + constants[operand - slotNames.length];
+        return "r" + operand;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (int pc = 0; pc < size(); pc++) {
+            int base = pc * OpCode.WIDTH, opCode = code[base] & OpCode.MASK;
+            boolean stepEnd = (code[base] & OpCode.STEP_END) != 0;
+            builder.append("%4d%s %s".formatted(pc, stepEnd ? "." : " ", OpCode.name(opCode)));
+            switch (opCode) {
+                case OpCode.DECLARE, OpCode.STORE, OpCode.HEAP_READ, OpCode.HEAP_ALLOC, OpCode.HEAP_WRITE ->
+                        builder.append(" %s %s".formatted(operand(code[base + 1]), operand(code[base + 2])));
+                case OpCode.PRINT -> builder.append(" ").append(operand(code[base + 2]));
+                case OpCode.JUMP, OpCode.FORK -> builder.append(" ").append(code[base + 1]);
+                case OpCode.JUMP_IF_FALSE -> builder.append(" %d %s".formatted(code[base + 1], operand(code[base + 2])));
+                case OpCode.AND_THEN, OpCode.OR_ELSE ->
+                        builder.append(" %s %s %d".formatted(operand(code[base + 1]), operand(code[base + 2]), code[base + 3]));
+                case OpCode.EXECUTE -> builder.append(" ").append(delegates[code[base + 1]]);
+                case OpCode.HALT, OpCode.NOP, OpCode.ENTER_SCOPE, OpCode.EXIT_SCOPE -> {
+                }
+                default ->
+                        builder.append(" %s %s %s".formatted(operand(code[base + 1]), operand(code[base + 2]), operand(code[base + 3])));
+            }
+            builder.append('\n');
+        }
+        return builder.toString();
+    }
+}
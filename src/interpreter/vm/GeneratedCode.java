@@ -0,0 +1,9 @@
+package interpreter.vm;
+
+import interpreter.model.exceptions.*;
+
+/// Implemented by the hidden classes JvmCompiler emits. Runs from programCounter up to the next safe point
+/// (a loop back-edge, a fork or the end of the program) and returns the instruction to resume at.
+interface GeneratedCode {
+    int run(VirtualMachineProgramState state, long[] registers, int programCounter) throws ProgramStateException, SymbolTableException, StatementException, ValueException, ExpressionException, HeapException;
+}
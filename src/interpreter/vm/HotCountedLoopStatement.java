@@ -0,0 +1,29 @@
+package interpreter.vm;
+
+import interpreter.model.exceptions.*;
+import interpreter.model.expressions.Expression;
+import interpreter.model.programstate.ProgramState;
+import interpreter.model.statements.CountedLoopStatement;
+import interpreter.model.statements.Statement;
+
+/// Counted loop that is promoted like a HotLoopStatement and runs fused until then. The fused step starts with the
+/// condition test, so the state before it is the one the plain loop promotes in.
+public class HotCountedLoopStatement extends CountedLoopStatement {
+    private final LoopPromotion promotion = new LoopPromotion();
+
+    public HotCountedLoopStatement(Expression condition, Statement body) {
+        super(condition, body);
+    }
+
+    public boolean isPromoted() {
+        return promotion.isPromoted();
+    }
+
+    @Override
+    public ProgramState execute(ProgramState state) throws StatementException, ValueException, ExpressionException, HeapException, SymbolTableException {
+        CompiledProgram loop = promotion.test(this);
+        if (loop == null)
+            return super.execute(state);
+        return new CompiledLoopStatement(loop, state).execute(state);
+    }
+}
@@ -0,0 +1,57 @@
+package interpreter.vm;
+
+import interpreter.model.exceptions.*;
+import interpreter.model.expressions.Expression;
+import interpreter.model.programstate.ProgramState;
+import interpreter.model.statements.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/// While loop that counts how often the tree walker tests its condition and, past PROMOTION_THRESHOLD, continues in compiled form.
+/// Promotion happens only when the condition is about to be tested -- on entry or at a back-edge -- where the symbol table
+/// is the loop's whole live state, so it can be moved into a vm frame mid-loop (on-stack replacement).
+/// The counter is per node and shared by the threads a fork makes, so once a loop is hot every later entry into it starts compiled.
+public class HotLoopStatement extends WhileStatement {
+    public static final int PROMOTION_THRESHOLD = 1000;
+    private final LoopPromotion promotion = new LoopPromotion();
+
+    public HotLoopStatement(Expression condition, Statement body) {
+        super(condition, body);
+    }
+
+    public boolean isPromoted() {
+        return promotion.isPromoted();
+    }
+
+    @Override
+    public ProgramState execute(ProgramState state) throws StatementException, ValueException, ExpressionException, HeapException, SymbolTableException {
+        CompiledProgram loop = promotion.test(this);
+        if (loop == null)
+            return super.execute(state);
+        return new CompiledLoopStatement(loop, state).execute(state);
+    }
+
+    /// Replaces every while loop of the program with a HotLoopStatement, and every counted loop with a HotCountedLoopStatement;
+    /// fused ifs stay fused
+    public static Statement instrument(Statement statement) {
+        return switch (statement) {
+            case SequenceStatement sequence -> {
+                List<Statement> instrumented = new ArrayList<>();
+                for (Statement inner : sequence.getStatements())
+                    instrumented.add(instrument(inner));
+                yield new SequenceStatement(instrumented);
+            }
+            case CompoundStatement compound ->
+                    new CompoundStatement(instrument(compound.getFirstStatement()), instrument(compound.getSecondStatement()));
+            case CountedLoopStatement loop -> new HotCountedLoopStatement(loop.getCondition(), instrument(loop.getBody()));
+            case WhileStatement loop -> new HotLoopStatement(loop.getCondition(), instrument(loop.getBody()));
+            case CompareAndBranchStatement branch ->
+                    new CompareAndBranchStatement(branch.getCondition(), instrument(branch.getBranchPositive()), instrument(branch.getBranchNegative()));
+            case IfStatement branch ->
+                    new IfStatement(branch.getCondition(), instrument(branch.getBranchPositive()), instrument(branch.getBranchNegative()));
+            case ForkStatement fork -> new ForkStatement(instrument(fork.getTargetStatement()));
+            default -> statement;
+        };
+    }
+}
@@ -0,0 +1,247 @@
+package interpreter.vm;
+
+import java.lang.invoke.MethodHandles;
+import java.util.List;
+import java.util.TreeSet;
+
+import static interpreter.vm.ClassFileWriter.Code.*;
+
+/// Translates the register code of a CompiledProgram into a hidden JVM class, so HotSpot can compile programs like Java code.
+/// The generated run method yields back to the controller only at loop back-edges, forks and halts; every other
+/// instruction falls through to the next one. Exceptions resume at the same recovery points as the interpreter loop.
+public class JvmCompiler {
+    private static final String STATE = "interpreter/vm/VirtualMachineProgramState",
+            WORD = "J",
+            BINARY = "(" + WORD + WORD + ")" + WORD;
+    private static final int THIS = 0, VM = 1, REGISTERS = 2, PROGRAM_COUNTER = 3, FAILURE = 4, MAX_LOCALS = 0xFF;
+
+    private final CompiledProgram program;
+    private final ClassFileWriter writer = new ClassFileWriter("interpreter/vm/GeneratedProgram", "java/lang/Object", List.of("interpreter/vm/GeneratedCode"));
+    private final ClassFileWriter.Code code;
+    private final int[] labels;
+    private final int temporaryBase;
+
+    private JvmCompiler(CompiledProgram program) {
+        this.program = program;
+        this.temporaryBase = program.slotNames.length + program.constants.length;
+        int temporaries = program.registerCount - temporaryBase;
+        if (FAILURE + 1 + 2 * temporaries > MAX_LOCALS)
+            throw new IllegalStateException("Too many temporaries -- %d".formatted(temporaries));
+        this.code = writer.new Code(8, FAILURE + 1 + 2 * temporaries);
+        this.labels = new int[program.size()];
+        for (int pc = 0; pc < labels.length; pc++)
+            labels[pc] = code.newLabel();
+    }
+
+    /// Returns false, leaving the program to the interpreter loop, when it cannot be translated (e.g. it is too large for one method)
+    public static boolean install(CompiledProgram program) {
+        if (program.generatedCode != null)
+            return true;
+        try {
+            program.generatedCode = new JvmCompiler(program).generate();
+            return true;
+        } catch (ReflectiveOperationException | IllegalStateException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private GeneratedCode generate() throws ReflectiveOperationException {
+        ClassFileWriter.Code constructor = writer.new Code(1, 1);
+        constructor.local(ALOAD, THIS);
+        constructor.invoke(INVOKESPECIAL, "java/lang/Object", "<init>", "()V");
+        constructor.op(RETURN);
+        writer.method(ClassFileWriter.ACC_PUBLIC, "<init>", "()V", constructor);
+        runMethod();
+        writer.method(ClassFileWriter.ACC_PUBLIC, "run", "(L" + STATE + ";[" + WORD + "I)I", code);
+        MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(writer.toBytes(), true);
+        return (GeneratedCode) lookup.lookupClass().getDeclaredConstructor().newInstance();
+    }
+
+    private void runMethod() {
+        int[] entries = entryPoints().stream().mapToInt(Integer::intValue).toArray();
+        int[] targets = new int[entries.length];
+        for (int index = 0; index < entries.length; index++)
+            targets[index] = labels[entries[index]];
+        int invalidEntry = code.newLabel(), end = code.newLabel(), handler = code.newLabel();
+        code.local(ILOAD, PROGRAM_COUNTER);
+        code.lookupSwitch(entries, targets, invalidEntry);
+        for (int pc = 0; pc < labels.length; pc++) {
+            code.bind(labels[pc]);
+            instruction(pc);
+        }
+        code.bind(end);
+        code.bind(invalidEntry);
+        code.local(ALOAD, VM);
+        code.local(ILOAD, PROGRAM_COUNTER);
+        code.invoke(INVOKEVIRTUAL, STATE, "invalidEntry", "(I)Ljava/lang/IllegalStateException;");
+        code.op(ATHROW);
+        code.bind(handler);
+        code.local(ASTORE, FAILURE);
+        code.local(ALOAD, VM);
+        code.local(ILOAD, PROGRAM_COUNTER);
+        code.invoke(INVOKEVIRTUAL, STATE, "recover", "(I)V");
+        code.local(ALOAD, FAILURE);
+        code.op(ATHROW);
+        code.catchAll(labels[0], end, handler);
+    }
+
+    /// Everywhere the run method may be entered: the start, the instruction after every step (so the interpreter loop
+    /// can hand over at any step boundary), jump and fork targets and recovery points
+    private TreeSet<Integer> entryPoints() {
+        TreeSet<Integer> entries = new TreeSet<>();
+        entries.add(0);
+        for (int pc = 0; pc < labels.length; pc++) {
+            int base = pc * OpCode.WIDTH, instruction = program.code[base];
+            if ((instruction & OpCode.STEP_END) != 0 && pc + 1 < labels.length)
+                entries.add(pc + 1);
+            switch (instruction & OpCode.MASK) {
+                case OpCode.JUMP, OpCode.JUMP_IF_FALSE, OpCode.FORK -> entries.add(program.code[base + 1]);
+                default -> {
+                }
+            }
+            if (program.recoveries[pc] < labels.length)
+                entries.add(program.recoveries[pc]);
+        }
+        return entries;
+    }
+
+    private void instruction(int pc) {
+        int base = pc * OpCode.WIDTH, opCode = program.code[base] & OpCode.MASK;
+        int a = program.code[base + 1], b = program.code[base + 2], c = program.code[base + 3];
+        if (opCode != OpCode.NOP && opCode != OpCode.JUMP && opCode != OpCode.HALT) {
+            code.constant(pc);
+            code.local(ISTORE, PROGRAM_COUNTER);
+        }
+        switch (opCode) {
+            case OpCode.HALT -> yieldAt(pc);
+            case OpCode.NOP -> {
+            }
+            case OpCode.DECLARE, OpCode.STORE -> {
+                code.local(ALOAD, VM);
+                code.constant(a);
+                operand(b);
+                code.invoke(INVOKEVIRTUAL, STATE, opCode == OpCode.DECLARE ? "declare" : "store", "(I" + WORD + ")V");
+            }
+            case OpCode.PRINT -> {
+                code.local(ALOAD, VM);
+                operand(b);
+                code.invoke(INVOKEVIRTUAL, STATE, "print", "(" + WORD + ")V");
+            }
+            case OpCode.HEAP_READ -> {
+                code.local(ALOAD, VM);
+                operand(b);
+                code.invoke(INVOKEVIRTUAL, STATE, "heapRead", "(" + WORD + ")" + WORD);
+                code.local(LSTORE, temporary(a));
+            }
+            case OpCode.HEAP_ALLOC -> {
+                code.local(ALOAD, VM);
+                code.constant(a);
+                operand(b);
+                code.invoke(INVOKEVIRTUAL, STATE, "heapAllocate", "(I" + WORD + ")V");
+            }
+            case OpCode.HEAP_WRITE -> {
+                code.local(ALOAD, VM);
+                operand(a);
+                operand(b);
+                code.invoke(INVOKEVIRTUAL, STATE, "heapWrite", "(" + WORD + WORD + ")V");
+            }
+            case OpCode.JUMP -> {
+                if (a <= pc)
+                    yieldAt(a);
+                else code.jump(GOTO, labels[a]);
+            }
+            case OpCode.JUMP_IF_FALSE -> {
+                code.local(ALOAD, VM);
+                operand(b);
+                code.invoke(INVOKEVIRTUAL, STATE, "isTrue", "(" + WORD + ")Z");
+                if (a > pc)
+                    code.jump(IFEQ, labels[a]);
+                else {
+                    code.jump(IFNE, labels[pc + 1]);
+                    yieldAt(a);
+                }
+            }
+            case OpCode.AND_THEN, OpCode.OR_ELSE -> {
+                // always a forward jump within the step, so its target is never an entry point
+                operand(b);
+                code.local(LSTORE, temporary(a));
+                code.local(ALOAD, VM);
+                code.local(LLOAD, temporary(a));
+                code.invoke(INVOKEVIRTUAL, STATE, "isTrue", "(" + WORD + ")Z");
+                code.jump(opCode == OpCode.AND_THEN ? IFEQ : IFNE, labels[c]);
+            }
+            case OpCode.ENTER_SCOPE, OpCode.EXIT_SCOPE -> {
+                code.local(ALOAD, VM);
+                code.invoke(INVOKEVIRTUAL, STATE, opCode == OpCode.ENTER_SCOPE ? "enterScope" : "leaveScope", "()V");
+            }
+            case OpCode.FORK -> {
+                code.local(ALOAD, VM);
+                code.constant(a);
+                code.invoke(INVOKEVIRTUAL, STATE, "fork", "(I)V");
+                yieldAt(pc + 1);
+            }
+            case OpCode.EXECUTE -> {
+                code.local(ALOAD, VM);
+                code.constant(a);
+                code.invoke(INVOKEVIRTUAL, STATE, "execute", "(I)V");
+            }
+            default -> {
+                code.local(ALOAD, VM);
+                operand(b);
+                operand(c);
+                code.invoke(INVOKEVIRTUAL, STATE, binary(opCode), BINARY);
+                code.local(LSTORE, temporary(a));
+            }
+        }
+    }
+
+    private static String binary(int opCode) {
+        return switch (opCode) {
+            case OpCode.ADD -> "add";
+            case OpCode.SUB -> "sub";
+            case OpCode.MUL -> "mul";
+            case OpCode.DIV -> "div";
+            case OpCode.EXP -> "exp";
+            case OpCode.AND -> "and";
+            case OpCode.OR -> "or";
+            case OpCode.EQUAL -> "equal";
+            case OpCode.NOT_EQUAL -> "notEqual";
+            case OpCode.LOWER -> "lower";
+            case OpCode.GREATER -> "greater";
+            case OpCode.LOWER_OR_EQUAL -> "lowerOrEqual";
+            case OpCode.GREATER_OR_EQUAL -> "greaterOrEqual";
+            default -> throw new IllegalStateException("Unknown instruction -- %d".formatted(opCode));
+        };
+    }
+
+    /// Temporaries never live across a step boundary, so they are kept in JVM locals rather than the register array;
+    /// this keeps array stores out of the generated code. Each tagged word takes two local slots
+    private int temporary(int register) {
+        if (register < temporaryBase)
+            throw new IllegalStateException("Expected a temporary register -- r%d".formatted(register));
+        return FAILURE + 1 + 2 * (register - temporaryBase);
+    }
+
+    /// Variable slots go through VirtualMachineProgramState.read for the undeclared-variable check;
+    /// constants are never null and are loaded straight from the register array
+    private void operand(int register) {
+        if (register < program.slotNames.length) {
+            code.local(ALOAD, VM);
+            code.constant(register);
+            code.invoke(INVOKEVIRTUAL, STATE, "read", "(I)" + WORD);
+            return;
+        }
+        if (register >= temporaryBase) {
+            code.local(LLOAD, temporary(register));
+            return;
+        }
+        code.local(ALOAD, REGISTERS);
+        code.constant(register);
+        code.op(LALOAD);
+    }
+
+    private void yieldAt(int pc) {
+        code.constant(pc);
+        code.op(IRETURN);
+    }
+}
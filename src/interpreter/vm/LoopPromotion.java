@@ -0,0 +1,39 @@
+package interpreter.vm;
+
+import interpreter.model.exceptions.StatementException;
+import interpreter.model.statements.WhileStatement;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/// The hotness counter and compiled form of one instrumented loop node, see HotLoopStatement.
+/// The counter is shared by the threads a fork makes, so once a loop is hot every later entry into it starts compiled.
+final class LoopPromotion {
+    private final AtomicInteger iterations = new AtomicInteger();
+    private volatile CompiledProgram compiled;
+    private volatile boolean uncompilable;
+
+    boolean isPromoted() {
+        return compiled != null;
+    }
+
+    /// Counts a test of the loop's condition; returns the compiled loop to continue in, or null to keep interpreting
+    CompiledProgram test(WhileStatement loop) {
+        CompiledProgram compiled = this.compiled;
+        if (compiled != null || uncompilable || iterations.incrementAndGet() < HotLoopStatement.PROMOTION_THRESHOLD)
+            return compiled;
+        return promote(loop);
+    }
+
+    private synchronized CompiledProgram promote(WhileStatement loop) {
+        if (compiled == null && !uncompilable) {
+            try {
+                CompiledProgram compiledLoop = BytecodeCompiler.compile(loop);
+                JvmCompiler.install(compiledLoop);
+                compiled = compiledLoop;
+            } catch (StatementException e) {
+                uncompilable = true;
+            }
+        }
+        return compiled;
+    }
+}
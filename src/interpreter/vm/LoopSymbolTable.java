@@ -0,0 +1,102 @@
+package interpreter.vm;
+
+import interpreter.model.exceptions.SymbolTableException;
+import interpreter.model.symboltable.SymbolTable;
+import interpreter.model.values.Value;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/// Symbol table of a tree-walking program while one of its loops runs compiled.
+/// Variables used by the loop live in the frame's registers, everything else stays in the enclosing table,
+/// so garbage collection and the views keep seeing every live value.
+class LoopSymbolTable implements SymbolTable<String, Value> {
+    private final SymbolTable<String, Value> enclosing;
+    private final VirtualMachineProgramState frameState;
+    private final SymbolTable<String, Value> frame;
+    private final Map<String, Integer> slots;
+
+    LoopSymbolTable(SymbolTable<String, Value> enclosing, VirtualMachineProgramState frame) {
+        this.enclosing = enclosing;
+        this.frameState = frame;
+        this.frame = frame.getSymbolTable();
+        this.slots = frame.getProgram().slots;
+    }
+
+    SymbolTable<String, Value> getEnclosing() {
+        return enclosing;
+    }
+
+    private SymbolTable<String, Value> owner(String identifier) {
+        return slots.containsKey(identifier) ? frame : enclosing;
+    }
+
+    private Stream<Map.Entry<String, Value>> enclosingEntries() {
+        return enclosing.stream().filter(entry -> !slots.containsKey(entry.getKey()));
+    }
+
+    @Override
+    public void put(String identifier, Value value) throws SymbolTableException {
+        owner(identifier).put(identifier, value);
+    }
+
+    @Override
+    public Value lookup(String identifier) throws SymbolTableException {
+        return owner(identifier).lookup(identifier);
+    }
+
+    @Override
+    public void update(String identifier, Value value) throws SymbolTableException {
+        owner(identifier).update(identifier, value);
+    }
+
+    @Override
+    public void incScope() throws SymbolTableException {
+        frame.incScope();
+    }
+
+    @Override
+    public void decScope() throws SymbolTableException {
+        frame.decScope();
+    }
+
+    @Override
+    public void removeOutOfScopeVariables() {
+        frame.removeOutOfScopeVariables();
+    }
+
+    @Override
+    public Collection<Value> getValues() {
+        List<Value> values = new ArrayList<>(frame.getValues());
+        enclosingEntries().forEach(entry -> values.add(entry.getValue()));
+        return values;
+    }
+
+    /// A copy of the enclosing table, with its scopes and bound, that also has the loop's variables and scopes
+    @Override
+    public SymbolTable<String, Value> deepCopy() {
+        SymbolTable<String, Value> copy = enclosing.deepCopy();
+        try {
+            frameState.declareIn(copy);
+        } catch (SymbolTableException e) {
+            throw new IllegalStateException(e);
+        }
+        return copy;
+    }
+
+    @Override
+    public Stream<Map.Entry<String, Value>> stream() {
+        return Stream.concat(enclosingEntries(), frame.stream());
+    }
+
+    @Override
+    public String toString() {
+        return stream().
+                map(entry -> entry.getKey() + " == " + entry.getValue() + " ; ").
+                collect(Collectors.joining());
+    }
+}
@@ -0,0 +1,54 @@
+package interpreter.vm;
+
+/// Instructions are four ints wide -- opcode followed by operands a, b, c.
+/// The STEP_END bit marks the last instruction of a step, so that vm threads interleave like tree-walking ones.
+final class OpCode {
+    static final int WIDTH = 4;
+    static final int MASK = 0xFF, STEP_END = 0x100;
+
+    static final int HALT = 0;
+    static final int NOP = 1;
+    static final int DECLARE = 2;       // declare register a with default b
+    static final int STORE = 3;         // a <- b, a must be declared
+    static final int PRINT = 4;         // output b
+    static final int ADD = 5;           // a <- b + c
+    static final int SUB = 6;
+    static final int MUL = 7;
+    static final int DIV = 8;
+    static final int EXP = 9;
+    static final int AND = 10;
+    static final int OR = 11;
+    static final int EQUAL = 12;
+    static final int NOT_EQUAL = 13;
+    static final int LOWER = 14;
+    static final int GREATER = 15;
+    static final int LOWER_OR_EQUAL = 16;
+    static final int GREATER_OR_EQUAL = 17;
+    static final int HEAP_READ = 18;    // a <- heap[b]
+    static final int HEAP_ALLOC = 19;   // a <- new reference to b
+    static final int HEAP_WRITE = 20;   // heap[a] <- b
+    static final int JUMP = 21;         // pc <- a
+    static final int JUMP_IF_FALSE = 22;// if !b then pc <- a
+    static final int ENTER_SCOPE = 23;
+    static final int EXIT_SCOPE = 24;
+    static final int FORK = 25;         // spawn a thread starting at a
+    static final int EXECUTE = 26;      // run delegated statement a against the vm state
+    static final int AND_THEN = 27;     // a <- b, then if !b pc <- c: skips the right operand of &&
+    static final int OR_ELSE = 28;      // a <- b, then if b pc <- c: skips the right operand of ||
+
+    private static final String[] NAMES = {
+            "halt", "nop", "declare", "store", "print",
+            "add", "sub", "mul", "div", "exp", "and", "or",
+            "eq", "ne", "lt", "gt", "le", "ge",
+            "heap_read", "heap_alloc", "heap_write",
+            "jump", "jump_if_false", "enter_scope", "exit_scope", "fork", "execute",
+            "and_then", "or_else"
+    };
+
+    private OpCode() {
+    }
+
+    static String name(int opCode) {
+        return NAMES[opCode];
+    }
+}
@@ -0,0 +1,147 @@
+package interpreter.vm;
+
+import interpreter.model.type.Type;
+import interpreter.model.values.BoolValue;
+import interpreter.model.values.IntValue;
+import interpreter.model.values.ReferenceValue;
+import interpreter.model.values.StringValue;
+import interpreter.model.values.Value;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/// Compact encoding of the values held in vm registers: a long whose top byte is a type tag.
+/// Ints and bools keep their payload in the low 32 bits; a reference keeps its address there and the index of its
+/// location type above it; a string is an index into the side table of strings. The word 0 stands for no value,
+/// which is how a register marks an undeclared variable.
+/// Every vm thread has a table of its own, which a forked thread starts as a copy of, so the strings no register of the
+/// thread refers to any more can be dropped between its steps.
+final class TaggedValues {
+    static final long NONE = 0;
+    static final int INT = 1, BOOL = 2, REFERENCE = 3, STRING = 4;
+    private static final int TAG_SHIFT = 56, TYPE_SHIFT = 32;
+    private static final long PAYLOAD = 0xFFFF_FFFFL, TYPE_MASK = 0xFF_FFFFL;
+    private static final int MIN_COLLECTED_STRINGS = 64;
+
+    private final List<StringValue> strings;
+    private final Map<String, Integer> stringIndices;
+    private final List<Type> types;
+    /// Types are interned singletons, so they are keyed by identity
+    private final Map<Type, Integer> typeIndices;
+    /// Size of the string table at which collectStrings next drops the unused strings
+    private int collectionSize = MIN_COLLECTED_STRINGS;
+
+    TaggedValues() {
+        this(new ArrayList<>(), new HashMap<>(), new ArrayList<>(), new HashMap<>());
+    }
+
+    private TaggedValues(List<StringValue> strings, Map<String, Integer> stringIndices, List<Type> types, Map<Type, Integer> typeIndices) {
+        this.strings = strings;
+        this.stringIndices = stringIndices;
+        this.types = types;
+        this.typeIndices = typeIndices;
+    }
+
+    /// The table of a forked thread, whose registers start as copies of its parent's
+    synchronized TaggedValues copy() {
+        TaggedValues copy = new TaggedValues(new ArrayList<>(strings), new HashMap<>(stringIndices), new ArrayList<>(types), new HashMap<>(typeIndices));
+        copy.collectionSize = collectionSize;
+        return copy;
+    }
+
+    static int tag(long word) {
+        return (int) (word >>> TAG_SHIFT);
+    }
+
+    static long ofInt(int value) {
+        return (long) INT << TAG_SHIFT | (value & PAYLOAD);
+    }
+
+    static long ofBool(boolean value) {
+        return (long) BOOL << TAG_SHIFT | (value ? 1 : 0);
+    }
+
+    static boolean isInt(long word) {
+        return tag(word) == INT;
+    }
+
+    static boolean isBool(long word) {
+        return tag(word) == BOOL;
+    }
+
+    static int intOf(long word) {
+        return (int) word;
+    }
+
+    static boolean boolOf(long word) {
+        return (word & 1) != 0;
+    }
+
+    static int addressOf(long word) {
+        return (int) word;
+    }
+
+    /// Converts a value entering the vm, e.g. a constant, a heap cell or a value stored through the symbol table view
+    synchronized long encode(Value value) {
+        return switch (value) {
+            case null -> NONE;
+            case IntValue intValue -> ofInt(intValue.getValue());
+            case BoolValue boolValue -> ofBool(boolValue.isTrue());
+            case ReferenceValue reference -> (long) REFERENCE << TAG_SHIFT
+                    | (long) index(types, typeIndices, reference.getLocationType(), reference.getLocationType()) << TYPE_SHIFT
+                    | (reference.getAddress() & PAYLOAD);
+            case StringValue string -> (long) STRING << TAG_SHIFT | index(strings, stringIndices, string.getValue(), string);
+            default -> throw new IllegalArgumentException("Value cannot be held in a register -- %s".formatted(value));
+        };
+    }
+
+    /// Converts a word leaving the vm, e.g. for output, the heap or the views
+    synchronized Value decode(long word) {
+        return switch (tag(word)) {
+            case INT -> IntValue.of(intOf(word));
+            case BOOL -> BoolValue.of(boolOf(word));
+            case REFERENCE -> new ReferenceValue(addressOf(word), types.get((int) (word >>> TYPE_SHIFT & TYPE_MASK)));
+            case STRING -> strings.get((int) (word & PAYLOAD));
+            default -> null;
+        };
+    }
+
+    /// Once the table has doubled since the last collection, keeps only the strings the registers refer to and renumbers
+    /// the registers' words to match, so a loop that keeps building new strings holds on to the live ones only.
+    /// Between steps the registers hold every word of the thread, which is when this runs
+    synchronized void collectStrings(long[] registers) {
+        if (strings.size() < collectionSize)
+            return;
+        int[] renumbered = new int[strings.size()];
+        Arrays.fill(renumbered, -1);
+        List<StringValue> live = new ArrayList<>();
+        for (int register = 0; register < registers.length; register++) {
+            if (tag(registers[register]) != STRING)
+                continue;
+            int index = (int) (registers[register] & PAYLOAD);
+            if (renumbered[index] < 0) {
+                renumbered[index] = live.size();
+                live.add(strings.get(index));
+            }
+            registers[register] = (long) STRING << TAG_SHIFT | renumbered[index];
+        }
+        strings.clear();
+        stringIndices.clear();
+        for (StringValue string : live)
+            index(strings, stringIndices, string.getValue(), string);
+        collectionSize = Math.max(MIN_COLLECTED_STRINGS, 2 * live.size());
+    }
+
+    private static <K, V> int index(List<V> table, Map<K, Integer> indices, K key, V entry) {
+        Integer index = indices.get(key);
+        if (index == null) {
+            index = table.size();
+            table.add(entry);
+            indices.put(key, index);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,633 @@
+package interpreter.vm;
+
+import interpreter.model.exceptions.*;
+import interpreter.model.executionstack.ExecutionStack;
+import interpreter.model.executionstack.ExecutionStackDeque;
+import interpreter.model.filetable.FileTable;
+import interpreter.model.filetable.FileTableMap;
+import interpreter.model.heaptable.HeapHashTable;
+import interpreter.model.heaptable.HeapTable;
+import interpreter.model.outputlist.OutputList;
+import interpreter.model.outputlist.OutputListArray;
+import interpreter.model.programstate.ProgramState;
+import interpreter.model.programstate.ProgramStateImplementation;
+import interpreter.model.statements.NoOperationStatement;
+import interpreter.model.statements.Statement;
+import interpreter.model.symboltable.SymbolTable;
+import interpreter.model.symboltable.SymbolTableHashMap;
+import interpreter.model.values.*;
+import interpreter.model.values.operationinterfaces.Additive;
+import interpreter.model.values.operationinterfaces.Comparable;
+import interpreter.model.values.operationinterfaces.Logical;
+import interpreter.model.values.operationinterfaces.Numeric;
+import interpreter.model.values.operationinterfaces.Testable;
+
+import java.text.MessageFormat;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class VirtualMachineProgramState implements ProgramState {
+    static final int MIN_SCOPE = 0;
+    private final int id;
+    private final CompiledProgram program;
+    /// Registers hold tagged words (see TaggedValues); slot registers hold NONE while their variable is not declared
+    private final long[] registers;
+    private final TaggedValues values;
+    private final int[] declarationScopes;
+    /// Slots in declaration order, so leaving a scope pops exactly the variables it declared
+    private int[] declarations;
+    private int declarationCount;
+    private final int maxScope;
+    private int currentScope;
+    /// Scope the state started in, and how many of the first declarations were taken over from an enclosing program
+    private int enteredScope = MIN_SCOPE, takenOver;
+    private int programCounter;
+    private ProgramState forkedThread;
+    private final SymbolTable<String, Value> symbolTable = new RegisterSymbolTable();
+    private OutputList<Value> outputList;
+    private FileTable fileTable;
+    private HeapTable heapTable;
+    /// The tree-walking state this one has been handed over to, see setExecutionStack
+    private ProgramState interpreted;
+
+    public VirtualMachineProgramState(CompiledProgram program) {
+        this(program, SymbolTableHashMap.DEFAULT_MAX_SCOPE);
+    }
+
+    public VirtualMachineProgramState(CompiledProgram program, int maxScope) {
+        this.id = ProgramStateImplementation.generateID();
+        this.program = program;
+        this.maxScope = maxScope;
+        this.registers = new long[program.registerCount];
+        this.values = new TaggedValues();
+        for (int constant = 0; constant < program.constants.length; constant++)
+            registers[program.slotNames.length + constant] = values.encode(program.constants[constant]);
+        this.declarationScopes = new int[program.slotNames.length];
+        this.declarations = new int[Math.max(4, program.slotNames.length)];
+        this.outputList = new OutputListArray<>();
+        this.fileTable = new FileTableMap();
+        this.heapTable = new HeapHashTable();
+    }
+
+    private VirtualMachineProgramState(VirtualMachineProgramState parent, int programCounter) {
+        this.id = ProgramStateImplementation.generateID();
+        this.program = parent.program;
+        this.registers = parent.registers.clone();
+        this.values = parent.values.copy();
+        this.declarationScopes = parent.declarationScopes.clone();
+        this.declarations = parent.declarations.clone();
+        this.declarationCount = parent.declarationCount;
+        this.maxScope = parent.maxScope;
+        this.currentScope = parent.currentScope;
+        this.programCounter = programCounter;
+        this.outputList = parent.outputList;
+        this.fileTable = parent.fileTable;
+        this.heapTable = parent.heapTable;
+    }
+
+    /// Frame for a compiled loop entered from a tree-walking program: the variables the loop uses are taken over from the
+    /// enclosing symbol table at scope 0, so only the loop's own declarations are dropped as it leaves its scopes.
+    /// The frame continues from the enclosing table's scope and bound, so it nests exactly as deep as the tree walker
+    static VirtualMachineProgramState enterLoop(CompiledProgram loop, ProgramState enclosing) throws SymbolTableException {
+        SymbolTable<String, Value> symbolTable = enclosing.getSymbolTable();
+        VirtualMachineProgramState frame = symbolTable instanceof SymbolTableHashMap<String, Value> scoped
+                ? new VirtualMachineProgramState(loop, scoped.getMaxScope()) : new VirtualMachineProgramState(loop);
+        frame.share(enclosing);
+        for (Map.Entry<String, Value> entry : symbolTable.stream().toList()) {
+            Integer slot = loop.slots.get(entry.getKey());
+            if (slot != null)
+                frame.declare(slot, frame.values.encode(entry.getValue()));
+        }
+        frame.takenOver = frame.declarationCount;
+        if (symbolTable instanceof SymbolTableHashMap<String, Value> scoped)
+            frame.currentScope = frame.enteredScope = scoped.getCurrentScope();
+        return frame;
+    }
+
+    /// Picks up tables the controller may have replaced since the last step, e.g. the heap after garbage collection
+    void share(ProgramState enclosing) {
+        this.heapTable = enclosing.getHeapTable();
+        this.fileTable = enclosing.getFileTable();
+        this.outputList = enclosing.getOutputList();
+    }
+
+    /// Writes the loop's variables back once it has finished; by then only the ones taken over are still declared
+    void leaveLoop(SymbolTable<String, Value> enclosing) throws SymbolTableException {
+        for (int index = 0; index < declarationCount; index++)
+            enclosing.update(program.slotNames[declarations[index]], values.decode(registers[declarations[index]]));
+    }
+
+    public CompiledProgram getProgram() {
+        return program;
+    }
+
+    @Override
+    public void setOutputList(OutputList<Value> outputList) {
+        if (interpreted != null)
+            interpreted.setOutputList(outputList);
+        this.outputList = outputList;
+    }
+
+    @Override
+    public OutputList<Value> getOutputList() {
+        return interpreted != null ? interpreted.getOutputList() : outputList;
+    }
+
+    /// Compiled code can only resume where it stopped, so a replaced execution stack hands the state over to the tree
+    /// walker: from then on it runs the given statements, with the variables, scopes and tables it has at that point
+    @Override
+    public void setExecutionStack(ExecutionStack<Statement> executionStack) {
+        if (interpreted == null) {
+            interpreted = new ProgramStateImplementation(new NoOperationStatement(), scopedSymbolTable());
+            interpreted.setOutputList(outputList);
+            interpreted.setFileTable(fileTable);
+            interpreted.setHeapTable(heapTable);
+        }
+        interpreted.setExecutionStack(executionStack);
+    }
+
+    @Override
+    public ExecutionStack<Statement> getExecutionStack() {
+        if (interpreted != null)
+            return interpreted.getExecutionStack();
+        ExecutionStack<Statement> view = new ExecutionStackDeque<>();
+        if (isNotCompleted())
+            view.push(program.origins[programCounter]);
+        return view;
+    }
+
+    /// The variables are moved into their slot registers at scope 0, like the ones a compiled loop takes over, since the
+    /// table does not tell the scopes they were declared in. Variables the program does not use have no register
+    @Override
+    public void setSymbolTable(SymbolTable<String, Value> symbolTable) {
+        if (interpreted != null) {
+            interpreted.setSymbolTable(symbolTable);
+            return;
+        }
+        List<Map.Entry<String, Value>> entries = symbolTable.stream().toList();
+        for (Map.Entry<String, Value> entry : entries)
+            if (!program.slots.containsKey(entry.getKey()))
+                throw new IllegalArgumentException("Variable was not compiled into the program -- %s".formatted(entry.getKey()));
+        while (declarationCount > 0)
+            registers[declarations[--declarationCount]] = TaggedValues.NONE;
+        try {
+            for (Map.Entry<String, Value> entry : entries) {
+                int slot = program.slots.get(entry.getKey());
+                declare(slot, values.encode(entry.getValue()));
+                declarationScopes[slot] = MIN_SCOPE;
+            }
+        } catch (SymbolTableException e) {
+            throw new IllegalArgumentException(e.getMessage());
+        }
+    }
+
+    @Override
+    public SymbolTable<String, Value> getSymbolTable() {
+        return interpreted != null ? interpreted.getSymbolTable() : symbolTable;
+    }
+
+    @Override
+    public void setFileTable(FileTable fileTable) {
+        if (interpreted != null)
+            interpreted.setFileTable(fileTable);
+        this.fileTable = fileTable;
+    }
+
+    @Override
+    public FileTable getFileTable() {
+        return interpreted != null ? interpreted.getFileTable() : fileTable;
+    }
+
+    @Override
+    public void setHeapTable(HeapTable heapTable) {
+        if (interpreted != null)
+            interpreted.setHeapTable(heapTable);
+        this.heapTable = heapTable;
+    }
+
+    @Override
+    public HeapTable getHeapTable() {
+        return interpreted != null ? interpreted.getHeapTable() : heapTable;
+    }
+
+    @Override
+    public boolean isNotCompleted() {
+        if (interpreted != null)
+            return interpreted.isNotCompleted();
+        return (program.code[programCounter * OpCode.WIDTH] & OpCode.MASK) != OpCode.HALT;
+    }
+
+    @Override
+    public ProgramState takeOneStep() throws ProgramStateException, SymbolTableException, StatementException, ValueException, ExpressionException, HeapException {
+        return takeSteps(1);
+    }
+
+    /// The interpreter loop runs the whole quantum without returning between steps. Generated code already runs up to
+    /// its next yield in one step, so there the quantum counts yields
+    @Override
+    public ProgramState takeSteps(int quantum) throws ProgramStateException, SymbolTableException, StatementException, ValueException, ExpressionException, HeapException {
+        if (interpreted != null)
+            return interpreted.takeSteps(quantum);
+        if (!isNotCompleted())
+            throw new ProgramStateException("Empty Stack when trying to take another step inside the program");
+        values.collectStrings(registers);
+        GeneratedCode generated = program.generatedCode;
+        if (generated == null)
+            interpret(quantum);
+        else for (int run = 0; run < quantum && forkedThread == null && isNotCompleted(); run++)
+            programCounter = generated.run(this, registers, programCounter);
+        ProgramState forked = forkedThread;
+        forkedThread = null;
+        return forked;
+    }
+
+    private void interpret(int quantum) throws ProgramStateException, SymbolTableException, StatementException, ValueException, ExpressionException, HeapException {
+        final int[] code = program.code;
+        final long[] registers = this.registers;
+        int pc = programCounter;
+        try {
+            while (true) {
+                int base = pc * OpCode.WIDTH, instruction = code[base];
+                int a = code[base + 1], b = code[base + 2], c = code[base + 3];
+                int next = pc + 1;
+                switch (instruction & OpCode.MASK) {
+                    case OpCode.HALT -> {
+                        programCounter = pc;
+                        return;
+                    }
+                    case OpCode.NOP -> {
+                    }
+                    case OpCode.DECLARE -> declare(a, read(b));
+                    case OpCode.STORE -> store(a, read(b));
+                    case OpCode.PRINT -> print(read(b));
+                    case OpCode.ADD -> registers[a] = add(read(b), read(c));
+                    case OpCode.SUB -> registers[a] = sub(read(b), read(c));
+                    case OpCode.MUL -> registers[a] = mul(read(b), read(c));
+                    case OpCode.DIV -> registers[a] = div(read(b), read(c));
+                    case OpCode.EXP -> registers[a] = exp(read(b), read(c));
+                    case OpCode.AND -> registers[a] = and(read(b), read(c));
+                    case OpCode.OR -> registers[a] = or(read(b), read(c));
+                    case OpCode.EQUAL -> registers[a] = equal(read(b), read(c));
+                    case OpCode.NOT_EQUAL -> registers[a] = notEqual(read(b), read(c));
+                    case OpCode.LOWER -> registers[a] = lower(read(b), read(c));
+                    case OpCode.GREATER -> registers[a] = greater(read(b), read(c));
+                    case OpCode.LOWER_OR_EQUAL -> registers[a] = lowerOrEqual(read(b), read(c));
+                    case OpCode.GREATER_OR_EQUAL -> registers[a] = greaterOrEqual(read(b), read(c));
+                    case OpCode.HEAP_READ -> registers[a] = heapRead(read(b));
+                    case OpCode.HEAP_ALLOC -> heapAllocate(a, read(b));
+                    case OpCode.HEAP_WRITE -> heapWrite(read(a), read(b));
+                    case OpCode.JUMP -> next = a;
+                    case OpCode.JUMP_IF_FALSE -> {
+                        if (!isTrue(read(b)))
+                            next = a;
+                    }
+                    case OpCode.AND_THEN -> {
+                        if (!isTrue(registers[a] = read(b)))
+                            next = c;
+                    }
+                    case OpCode.OR_ELSE -> {
+                        if (isTrue(registers[a] = read(b)))
+                            next = c;
+                    }
+                    case OpCode.ENTER_SCOPE -> enterScope();
+                    case OpCode.EXIT_SCOPE -> leaveScope();
+                    case OpCode.FORK -> fork(a);
+                    case OpCode.EXECUTE -> execute(a);
+                    default -> throw new ProgramStateException("Unknown instruction -- %d".formatted(instruction));
+                }
+                if ((instruction & OpCode.STEP_END) != 0 && (--quantum <= 0 || forkedThread != null)) {
+                    programCounter = next;
+                    return;
+                }
+                pc = next;
+            }
+        } catch (Exception e) {
+            recover(pc);
+            throw e;
+        }
+    }
+
+    /// Instruction semantics, shared by the interpreter loop and the generated JVM code.
+    /// Ints and bools are handled on their words; anything else is decoded and left to the Value operations,
+    /// which also raise the errors of ill-typed operands exactly like the tree walker does
+    long add(long first, long second) throws ValueException {
+        if (TaggedValues.isInt(first) && TaggedValues.isInt(second))
+            return TaggedValues.ofInt(TaggedValues.intOf(first) + TaggedValues.intOf(second));
+        return values.encode(additive(values.decode(first)).add(values.decode(second)));
+    }
+
+    long sub(long first, long second) throws ValueException {
+        if (TaggedValues.isInt(first) && TaggedValues.isInt(second))
+            return TaggedValues.ofInt(TaggedValues.intOf(first) - TaggedValues.intOf(second));
+        return values.encode(numeric(values.decode(first)).sub(values.decode(second)));
+    }
+
+    long mul(long first, long second) throws ValueException {
+        if (TaggedValues.isInt(first) && TaggedValues.isInt(second))
+            return TaggedValues.ofInt(TaggedValues.intOf(first) * TaggedValues.intOf(second));
+        return values.encode(numeric(values.decode(first)).mul(values.decode(second)));
+    }
+
+    long div(long first, long second) throws ValueException {
+        if (TaggedValues.isInt(first) && TaggedValues.isInt(second))
+            return TaggedValues.ofInt(IntValue.div(TaggedValues.intOf(first), TaggedValues.intOf(second)));
+        return values.encode(numeric(values.decode(first)).div(values.decode(second)));
+    }
+
+    long exp(long first, long second) throws ValueException {
+        if (TaggedValues.isInt(first) && TaggedValues.isInt(second))
+            return TaggedValues.ofInt(IntValue.exp(TaggedValues.intOf(first), TaggedValues.intOf(second)));
+        return values.encode(numeric(values.decode(first)).exp(values.decode(second)));
+    }
+
+    long and(long first, long second) throws ValueException {
+        if (TaggedValues.isBool(first) && TaggedValues.isBool(second))
+            return TaggedValues.ofBool(TaggedValues.boolOf(first) & TaggedValues.boolOf(second));
+        return values.encode(((Logical) values.decode(first)).and(values.decode(second)));
+    }
+
+    long or(long first, long second) throws ValueException {
+        if (TaggedValues.isBool(first) && TaggedValues.isBool(second))
+            return TaggedValues.ofBool(TaggedValues.boolOf(first) | TaggedValues.boolOf(second));
+        return values.encode(((Logical) values.decode(first)).or(values.decode(second)));
+    }
+
+    long equal(long first, long second) throws ValueException {
+        if (TaggedValues.isInt(first) && TaggedValues.isInt(second) || TaggedValues.isBool(first) && TaggedValues.isBool(second))
+            return TaggedValues.ofBool(first == second);
+        return values.encode(testable(values.decode(first)).equal(values.decode(second)));
+    }
+
+    long notEqual(long first, long second) throws ValueException {
+        if (TaggedValues.isInt(first) && TaggedValues.isInt(second) || TaggedValues.isBool(first) && TaggedValues.isBool(second))
+            return TaggedValues.ofBool(first != second);
+        return values.encode(testable(values.decode(first)).notEqual(values.decode(second)));
+    }
+
+    long lower(long first, long second) throws ValueException {
+        if (TaggedValues.isInt(first) && TaggedValues.isInt(second))
+            return TaggedValues.ofBool(TaggedValues.intOf(first) < TaggedValues.intOf(second));
+        return values.encode(comparable(values.decode(first)).lower(values.decode(second)));
+    }
+
+    long greater(long first, long second) throws ValueException {
+        if (TaggedValues.isInt(first) && TaggedValues.isInt(second))
+            return TaggedValues.ofBool(TaggedValues.intOf(first) > TaggedValues.intOf(second));
+        return values.encode(comparable(values.decode(first)).greater(values.decode(second)));
+    }
+
+    long lowerOrEqual(long first, long second) throws ValueException {
+        if (TaggedValues.isInt(first) && TaggedValues.isInt(second))
+            return TaggedValues.ofBool(TaggedValues.intOf(first) <= TaggedValues.intOf(second));
+        return values.encode(comparable(values.decode(first)).lowerOrEqual(values.decode(second)));
+    }
+
+    long greaterOrEqual(long first, long second) throws ValueException {
+        if (TaggedValues.isInt(first) && TaggedValues.isInt(second))
+            return TaggedValues.ofBool(TaggedValues.intOf(first) >= TaggedValues.intOf(second));
+        return values.encode(comparable(values.decode(first)).greaterOrEqual(values.decode(second)));
+    }
+
+    /// The operation interfaces are generic in the other operand, which values take as any Value, so these casts only
+    /// check the interface; a mismatched operand still fails inside the operation, as it does on the tree walker
+    @SuppressWarnings("unchecked")
+    private static Additive<Value> additive(Value value) {
+        return (Additive<Value>) value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Numeric<Value> numeric(Value value) {
+        return (Numeric<Value>) value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Testable<Value> testable(Value value) {
+        return (Testable<Value>) value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Value> comparable(Value value) {
+        return (Comparable<Value>) value;
+    }
+
+    boolean isTrue(long condition) {
+        if (TaggedValues.isBool(condition))
+            return TaggedValues.boolOf(condition);
+        return ((BoolValue) values.decode(condition)).isTrue();
+    }
+
+    void print(long value) {
+        outputList.append(values.decode(value));
+    }
+
+    long heapRead(long reference) throws HeapException {
+        return values.encode(heapTable.get(((ReferenceValue) values.decode(reference)).getAddress()));
+    }
+
+    void heapAllocate(int slot, long value) throws HeapException, SymbolTableException {
+        Value allocated = values.decode(value);
+        int address = heapTable.add(allocated);
+        store(slot, values.encode(new ReferenceValue(address, allocated.getType())));
+    }
+
+    void heapWrite(long reference, long value) throws HeapException {
+        heapTable.update(((ReferenceValue) values.decode(reference)).getAddress(), values.decode(value));
+    }
+
+    void fork(int target) {
+        forkedThread = new VirtualMachineProgramState(this, target);
+    }
+
+    void execute(int delegate) throws StatementException, ValueException, ExpressionException, HeapException, SymbolTableException {
+        program.delegates[delegate].execute(this);
+    }
+
+    void recover(int failedInstruction) {
+        programCounter = program.recoveries[failedInstruction];
+    }
+
+    IllegalStateException invalidEntry(int entry) {
+        return new IllegalStateException("Generated code cannot be entered at instruction %d".formatted(entry));
+    }
+
+    long read(int operand) throws SymbolTableException {
+        long value = registers[operand];
+        if (value == TaggedValues.NONE)
+            throw new SymbolTableException("Implicit declaration of variable -- %s ".formatted(program.slotNames[operand]));
+        return value;
+    }
+
+    void declare(int slot, long value) throws SymbolTableException {
+        if (registers[slot] != TaggedValues.NONE)
+            throw new SymbolTableException("Redeclaration of variable -- %s".formatted(program.slotNames[slot]));
+        registers[slot] = value;
+        declarationScopes[slot] = currentScope;
+        if (declarationCount == declarations.length)
+            declarations = Arrays.copyOf(declarations, declarationCount * 2);
+        declarations[declarationCount++] = slot;
+    }
+
+    void store(int slot, long value) throws SymbolTableException {
+        if (registers[slot] == TaggedValues.NONE)
+            throw new SymbolTableException("Use of an undeclared variable -- %s".formatted(program.slotNames[slot]));
+        registers[slot] = value;
+    }
+
+    void enterScope() throws SymbolTableException {
+        if (currentScope >= maxScope)
+            throw new SymbolTableException("Max scope depth exceeded -- %d/%d".formatted(currentScope, maxScope));
+        ++currentScope;
+    }
+
+    void leaveScope() throws SymbolTableException {
+        removeOutOfScopeVariables();
+        exitScope();
+    }
+
+    private void exitScope() throws SymbolTableException {
+        if (currentScope <= MIN_SCOPE)
+            throw new SymbolTableException("Minimum scope depth exceeded -- %d/%d".formatted(currentScope, MIN_SCOPE));
+        --currentScope;
+    }
+
+    private void removeOutOfScopeVariables() {
+        while (declarationCount > 0 && declarationScopes[declarations[declarationCount - 1]] >= currentScope)
+            registers[declarations[--declarationCount]] = TaggedValues.NONE;
+    }
+
+    @Override
+    public String toString() {
+        return MessageFormat.format(
+                """
+                        {0}
+                        Symbol Table : {1}
+                        Execution Stack : {2}
+                        File Table : {3}
+                        Heap : {4}
+                        Output List :
+                        {5}
+                        -----------------""",
+                getID().toString(),
+                getSymbolTable().toString(),
+                getExecutionStack().toString(),
+                getFileTable().toString(),
+                getHeapTable().toString(),
+                getOutputList().toString());
+    }
+
+    @Override
+    public Integer getID() {
+        return id;
+    }
+
+    /// The declared variables in a tree walker's symbol table, each at the scope it was declared in
+    private SymbolTable<String, Value> scopedSymbolTable() {
+        SymbolTable<String, Value> table = new SymbolTableHashMap<>(maxScope);
+        try {
+            declareIn(table);
+        } catch (SymbolTableException e) {
+            throw new IllegalStateException(e);
+        }
+        return table;
+    }
+
+    /// Adds the variables to a tree walker's table that is at the scope this state started in, entering the table's
+    /// scopes up to the ones they were declared in. The variables taken over from the table are in it already, and are updated
+    void declareIn(SymbolTable<String, Value> table) throws SymbolTableException {
+        int scope = enteredScope;
+        for (int index = 0; index < declarationCount; index++) {
+            int slot = declarations[index];
+            for (; scope < declarationScopes[slot]; scope++)
+                table.incScope();
+            if (index < takenOver)
+                table.update(program.slotNames[slot], values.decode(registers[slot]));
+            else table.put(program.slotNames[slot], values.decode(registers[slot]));
+        }
+        for (; scope < currentScope; scope++)
+            table.incScope();
+    }
+
+    /// Symbol table view over the slot registers, used by delegated statements, garbage collection and the views
+    private class RegisterSymbolTable implements SymbolTable<String, Value> {
+        private int slot(String identifier, String message) throws SymbolTableException {
+            Integer slot = program.slots.get(identifier);
+            if (slot == null || registers[slot] == TaggedValues.NONE)
+                throw new SymbolTableException(message.formatted(identifier));
+            return slot;
+        }
+
+        @Override
+        public void put(String identifier, Value value) throws SymbolTableException {
+            Integer slot = program.slots.get(identifier);
+            if (slot == null)
+                throw new SymbolTableException("Variable was not compiled into the program -- %s".formatted(identifier));
+            declare(slot, values.encode(value));
+        }
+
+        @Override
+        public Value lookup(String identifier) throws SymbolTableException {
+            return values.decode(registers[slot(identifier, "Implicit declaration of variable -- %s ")]);
+        }
+
+        @Override
+        public void update(String identifier, Value value) throws SymbolTableException {
+            registers[slot(identifier, "Use of an undeclared variable -- %s")] = values.encode(value);
+        }
+
+        @Override
+        public void incScope() throws SymbolTableException {
+            enterScope();
+        }
+
+        @Override
+        public void decScope() throws SymbolTableException {
+            exitScope();
+        }
+
+        @Override
+        public void removeOutOfScopeVariables() {
+            VirtualMachineProgramState.this.removeOutOfScopeVariables();
+        }
+
+        @Override
+        public Collection<Value> getValues() {
+            List<Value> declared = new ArrayList<>(declarationCount);
+            for (int index = 0; index < declarationCount; index++)
+                declared.add(values.decode(registers[declarations[index]]));
+            return declared;
+        }
+
+        @Override
+        public SymbolTable<String, Value> deepCopy() {
+            SymbolTable<String, Value> copy = new SymbolTableHashMap<>();
+            try {
+                for (int index = 0; index < declarationCount; index++)
+                    copy.put(program.slotNames[declarations[index]], values.decode(registers[declarations[index]]));
+            } catch (SymbolTableException e) {
+                throw new IllegalStateException(e);
+            }
+            return copy;
+        }
+
+        @Override
+        public Stream<Map.Entry<String, Value>> stream() {
+            List<Map.Entry<String, Value>> entries = new ArrayList<>(declarationCount);
+            for (int index = 0; index < declarationCount; index++)
+                entries.add(new AbstractMap.SimpleImmutableEntry<>(program.slotNames[declarations[index]], values.decode(registers[declarations[index]])));
+            return entries.stream();
+        }
+
+        @Override
+        public String toString() {
+            return stream().
+                    map(entry -> entry.getKey() + " == " + entry.getValue() + " ; ").
+                    collect(Collectors.joining());
+        }
+    }
+}
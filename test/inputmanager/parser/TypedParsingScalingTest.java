@@ -0,0 +1,58 @@
+package inputmanager.parser;
+
+import inputmanager.tokenizer.StreamingTokenSource;
+import interpreter.model.symboltable.PersistentSymbolTable;
+
+import java.io.StringReader;
+
+/// Typing a program while parsing it must take time linear in its size: every node is typed once, from the types its
+/// operands already have. A print of a chain of additions eight times longer may take no more than three times eight
+/// as long to parse typed, where typing each node's whole subtree again would take about sixty-four times as long.
+/// Each size is timed after warming up, and the least of several runs is taken
+public class TypedParsingScalingTest {
+    private static final int SHORT = 2000, LONG = 8 * SHORT, WARMUP = 20, RUNS = 10, ALLOWED_RATIO = 3 * LONG / SHORT;
+
+    public static void main(String[] args) throws Throwable {
+        /// The chains are as deep as they are long, and the statement typechecks them recursively
+        Throwable[] failure = new Throwable[1];
+        Thread thread = new Thread(null, () -> {
+            try {
+                check();
+            } catch (Throwable e) {
+                failure[0] = e;
+            }
+        }, "typed parsing", 1L << 28);
+        thread.start();
+        thread.join();
+        if (failure[0] != null)
+            throw failure[0];
+    }
+
+    private static void check() throws Exception {
+        String shortProgram = chain(SHORT), longProgram = chain(LONG);
+        for (int i = 0; i < WARMUP; i++) {
+            typedParseNanos(shortProgram);
+            typedParseNanos(longProgram);
+        }
+        long shortNanos = Long.MAX_VALUE, longNanos = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            shortNanos = Math.min(shortNanos, typedParseNanos(shortProgram));
+            longNanos = Math.min(longNanos, typedParseNanos(longProgram));
+        }
+        if (longNanos > ALLOWED_RATIO * shortNanos)
+            throw new AssertionError("Typed parsing of %d additions takes %d us, of %d additions %d us".formatted(
+                    SHORT, shortNanos / 1000, LONG, longNanos / 1000));
+        System.out.println("typed parsing scales linearly -- %d us for %d additions, %d us for %d".formatted(
+                shortNanos / 1000, SHORT, longNanos / 1000, LONG));
+    }
+
+    private static String chain(int additions) {
+        return "int x ; x <- 1 ; print(x" + " + x".repeat(additions) + ")";
+    }
+
+    private static long typedParseNanos(String source) throws Exception {
+        long before = System.nanoTime();
+        new PrattParser().typedProgram(new StreamingTokenSource(new StringReader(source)), new PersistentSymbolTable<>());
+        return System.nanoTime() - before;
+    }
+}
@@ -0,0 +1,81 @@
+package inputmanager.serialization;
+
+import inputmanager.StringAndStatementInputManager;
+import interpreter.model.expressions.Expression;
+import interpreter.model.statements.*;
+import interpreter.model.symboltable.PersistentSymbolTable;
+import interpreter.optimizer.Optimization;
+import interpreter.optimizer.Optimizer;
+import interpreter.view.utils.SourceGenerator;
+
+import java.util.Arrays;
+
+/// Every program of the SourceGenerator corpus must survive being written and read back, both as parsed and as
+/// optimized, which is how the program cache stores it: the loaded tree prints like the written one, has the same
+/// statement classes, fused ones included, carries static types, and encoding it again gives the same bytes
+public class ProgramRoundTripTest {
+    public static void main(String[] args) throws Exception {
+        StringAndStatementInputManager inputManager = new StringAndStatementInputManager();
+        int checked = 0;
+        for (String[] entry : SourceGenerator.makeList()) {
+            String name = entry[SourceGenerator.NAME];
+            Statement parsed = inputManager.parse(entry[SourceGenerator.CODE]);
+            roundTrip(name, parsed);
+            parsed.typecheck(new PersistentSymbolTable<>());
+            roundTrip(name + ", optimized", new Optimizer().optimize(parsed).program());
+            checked++;
+        }
+        System.out.println("%d programs round-tripped".formatted(checked));
+    }
+
+    private static void roundTrip(String name, Statement written) throws Exception {
+        byte[] bytes = ProgramWriter.toBytes(written);
+        Statement loaded = ProgramReader.fromBytes(bytes);
+        if (!written.toString().equals(loaded.toString()))
+            throw new AssertionError("%s prints differently after a round trip -- %s, %s".formatted(name, written, loaded));
+        if (!Arrays.equals(bytes, ProgramWriter.toBytes(loaded)))
+            throw new AssertionError("%s encodes differently after a round trip".formatted(name));
+        checkSameShape(name, fused(written), loaded);
+    }
+
+    /// The parsed tree is fused the same way the reader fuses the loaded one
+    private static Statement fused(Statement written) throws Exception {
+        written.typecheck(new PersistentSymbolTable<>());
+        return Optimizer.none().with(Optimization.STATEMENT_FUSION).optimize(written).program();
+    }
+
+    private static void checkSameShape(String name, Statement expected, Statement loaded) {
+        if (expected.getClass() != loaded.getClass())
+            throw new AssertionError("%s loads a %s as a %s -- %s".formatted(
+                    name, expected.getClass().getSimpleName(), loaded.getClass().getSimpleName(), expected));
+        switch (loaded) {
+            case SequenceStatement sequence -> {
+                for (int index = 0; index < sequence.getStatements().size(); index++)
+                    checkSameShape(name, ((SequenceStatement) expected).getStatements().get(index), sequence.getStatements().get(index));
+            }
+            case CompoundStatement compound -> {
+                checkSameShape(name, ((CompoundStatement) expected).getFirstStatement(), compound.getFirstStatement());
+                checkSameShape(name, ((CompoundStatement) expected).getSecondStatement(), compound.getSecondStatement());
+            }
+            case WhileStatement loop -> {
+                checkTyped(name, loop.getCondition());
+                checkSameShape(name, ((WhileStatement) expected).getBody(), loop.getBody());
+            }
+            case IfStatement branch -> {
+                checkTyped(name, branch.getCondition());
+                checkSameShape(name, ((IfStatement) expected).getBranchPositive(), branch.getBranchPositive());
+                checkSameShape(name, ((IfStatement) expected).getBranchNegative(), branch.getBranchNegative());
+            }
+            case ForkStatement fork -> checkSameShape(name, ((ForkStatement) expected).getTargetStatement(), fork.getTargetStatement());
+            case AssignStatement assignment -> checkTyped(name, assignment.getExpressionAssignedToVar());
+            case PrintStatement print -> checkTyped(name, print.getExpressionToPrint());
+            default -> {
+            }
+        }
+    }
+
+    private static void checkTyped(String name, Expression expression) {
+        if (expression.getStaticType() == null)
+            throw new AssertionError("%s loads %s without a static type".formatted(name, expression));
+    }
+}
@@ -0,0 +1,65 @@
+package interpreter.controller;
+
+import inputmanager.StringAndStatementInputManager;
+import interpreter.model.programstate.ProgramState;
+import interpreter.model.statements.Statement;
+import interpreter.model.symboltable.PersistentSymbolTable;
+import interpreter.optimizer.Optimizer;
+
+import java.lang.management.ManagementFactory;
+
+/// Steady-state loop iterations must not allocate on the engines that run the tree: a loop of 900 iterations must
+/// allocate as much as one of 100, give or take NOISE bytes, however many iterations apart they are. Each run is
+/// measured after warming up, and the least of several runs is taken, so that a stray allocation of the JVM itself
+/// does not count
+public class LoopAllocationTest {
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final int SHORT = 100, LONG = 900, WARMUP = 3000, RUNS = 20, NOISE = 64;
+    private static final String[] BODIES = {
+            "i <- (i + 1)",
+            "if((i > 50))((j <- (j + 1)))else((j <- (j - 1))) ; i <- (i + 1)",
+            "b <- (i < j) ; j <- (j - 1) ; i <- (i + 1)",
+    };
+
+    public static void main(String[] args) throws Exception {
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+        int checked = 0;
+        for (boolean optimized : new boolean[]{false, true})
+            for (String body : BODIES) {
+                Statement shortLoop = loop(body, SHORT, optimized), longLoop = loop(body, LONG, optimized);
+                for (ExecutionEngine engine : new ExecutionEngine[]{ExecutionEngine.TREE_WALKER, ExecutionEngine.SLOT_RESOLVED}) {
+                    for (int i = 0; i < WARMUP; i++) {
+                        allocatedBytes(shortLoop, engine);
+                        allocatedBytes(longLoop, engine);
+                    }
+                    long shortBytes = Long.MAX_VALUE, longBytes = Long.MAX_VALUE;
+                    for (int i = 0; i < RUNS; i++) {
+                        shortBytes = Math.min(shortBytes, allocatedBytes(shortLoop, engine));
+                        longBytes = Math.min(longBytes, allocatedBytes(longLoop, engine));
+                    }
+                    if (Math.abs(longBytes - shortBytes) > NOISE)
+                        throw new AssertionError("%s allocates %d bytes in %d extra iterations of %s%s".formatted(
+                                engine, longBytes - shortBytes, LONG - SHORT, body, optimized ? ", optimized" : ""));
+                    checked++;
+                }
+            }
+        System.out.println("%d loops allocation-free".formatted(checked));
+    }
+
+    private static Statement loop(String body, int iterations, boolean optimized) throws Exception {
+        Statement program = new StringAndStatementInputManager().parse(
+                "int i ; int j ; bool b ; i <- 0 ; while((i < %d))(%s)".formatted(iterations, body));
+        program.typecheck(new PersistentSymbolTable<>());
+        return optimized ? new Optimizer().optimize(program).program() : program;
+    }
+
+    private static long allocatedBytes(Statement program, ExecutionEngine engine) throws Exception {
+        ProgramState state = engine.load(program);
+        long thread = Thread.currentThread().threadId();
+        long before = THREADS.getThreadAllocatedBytes(thread);
+        while (state.isNotCompleted())
+            state.takeOneStep();
+        return THREADS.getThreadAllocatedBytes(thread) - before;
+    }
+}
@@ -0,0 +1,41 @@
+package interpreter.model.expressions;
+
+import interpreter.model.operands.Operand;
+import interpreter.model.programstate.ProgramState;
+import interpreter.model.programstate.ProgramStateImplementation;
+import interpreter.model.statements.NoOperationStatement;
+import interpreter.model.symboltable.PersistentSymbolTable;
+import interpreter.model.values.IntValue;
+
+/// Arithmetic on ints must give the same result whether it is evaluated boxed, as an expression that was never
+/// typechecked is, or unboxed, as a typechecked one is, and that result must combine the first operand with the second
+public class ArithmeticExpressionTest {
+    private static final int FIRST = 7, SECOND = 2;
+
+    public static void main(String[] args) throws Exception {
+        ProgramState state = new ProgramStateImplementation(new NoOperationStatement());
+        int checked = 0;
+        for (Operand operand : new Operand[]{Operand.ADD, Operand.SUB, Operand.MUL, Operand.DIV, Operand.EXP}) {
+            int expected = switch (operand) {
+                case ADD -> FIRST + SECOND;
+                case SUB -> FIRST - SECOND;
+                case MUL -> FIRST * SECOND;
+                case DIV -> FIRST / SECOND;
+                default -> FIRST * FIRST;
+            };
+            int boxed = ((IntValue) expression(operand).evaluate(state)).getValue();
+            Expression typed = expression(operand);
+            typed.typecheck(new PersistentSymbolTable<>());
+            int unboxed = ((IntValue) typed.evaluate(state)).getValue();
+            if (boxed != expected || unboxed != expected)
+                throw new AssertionError("%d%s%d gives %d boxed and %d unboxed, expected %d".formatted(
+                        FIRST, operand, SECOND, boxed, unboxed, expected));
+            checked++;
+        }
+        System.out.println("%d operands agree boxed and unboxed".formatted(checked));
+    }
+
+    private static Expression expression(Operand operand) {
+        return new ArithmeticExpression(operand, new ValueExpression(IntValue.of(FIRST)), new ValueExpression(IntValue.of(SECOND)));
+    }
+}